@@ -6,6 +6,7 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents the HTTP client with the CRUD operations for the /Authors endpoints
@@ -35,6 +36,9 @@ public interface AuthorClient {
     @PostMapping(BASE_AUTHORS_URL)
     Response createAuthorRaw(AuthorDto authorDto);
 
+    @PostMapping(BASE_AUTHORS_URL)
+    Response createAuthorRaw(Map<String, Object> authorJson);
+
     @PutMapping(AUTHOR_URL)
     AuthorDto updateAuthor(@PathVariable("id") int id, AuthorDto authorDto);
 
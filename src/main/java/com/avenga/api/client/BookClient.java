@@ -1,11 +1,13 @@
 package com.avenga.api.client;
 
 import com.avenga.api.dto.book.BookDto;
+import com.avenga.config.feign.streaming.LargePayload;
 import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents the HTTP client with the CRUD operations for the /Books endpoints
@@ -31,6 +33,12 @@ public interface BookClient {
     @PostMapping(BASE_BOOKS_URL)
     Response createBookRaw(BookDto bookDto);
 
+    @PostMapping(BASE_BOOKS_URL)
+    Response createBookRaw(Map<String, Object> bookJson);
+
+    @PostMapping(BASE_BOOKS_URL)
+    BookDto createLargeBook(LargePayload payload);
+
     @PutMapping(BOOK_URL)
     BookDto updateBook(@PathVariable("id") int id, BookDto bookDto);
 
@@ -13,6 +13,7 @@ import lombok.*;
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @ToString
+@EqualsAndHashCode
 public class AuthorDto {
 
     private Integer id;
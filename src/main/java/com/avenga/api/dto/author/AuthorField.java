@@ -1,5 +1,7 @@
 package com.avenga.api.dto.author;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 
 /**
  * Represents the set of fields of the {@link AuthorDto}:
@@ -10,9 +12,16 @@ package com.avenga.api.dto.author;
  *     <li>lastName</li>
  * </ul>
  */
+@Getter
+@RequiredArgsConstructor
 public enum AuthorField {
-    ID,
-    BOOK_ID,
-    FIRST_NAME,
-    LAST_NAME
+    ID("id"),
+    BOOK_ID("idBook"),
+    FIRST_NAME("firstName"),
+    LAST_NAME("lastName");
+
+    /**
+     * The name of the field in the JSON body
+     */
+    private final String jsonName;
 }
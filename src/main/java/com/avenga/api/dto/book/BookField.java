@@ -1,5 +1,8 @@
 package com.avenga.api.dto.book;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
 /**
  * Represents the set of fields of the {@link BookDto}:
  * <ul>
@@ -11,11 +14,18 @@ package com.avenga.api.dto.book;
  *     <li>publishDate</li>
  * </ul>
  */
+@Getter
+@RequiredArgsConstructor
 public enum BookField {
-    ID,
-    TITLE,
-    DESCRIPTION,
-    EXCERPT,
-    PAGE_COUNT,
-    PUBLISH_DATE
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    EXCERPT("excerpt"),
+    PAGE_COUNT("pageCount"),
+    PUBLISH_DATE("publishDate");
+
+    /**
+     * The name of the field in the JSON body
+     */
+    private final String jsonName;
 }
@@ -5,6 +5,7 @@ import com.avenga.api.dto.ErrorResponseDto;
 import com.avenga.api.dto.author.AuthorField;
 import com.avenga.api.dto.book.BookDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Response;
 import io.qameta.allure.Step;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.Charsets;
@@ -20,6 +21,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.avenga.api.dto.author.AuthorField.*;
 
@@ -32,8 +35,10 @@ import static com.avenga.api.dto.author.AuthorField.*;
 @Service
 public class AuthorService extends BaseService {
 
+    private static final String AUTHOR_DATA = "author";
+
     private final AuthorClient authorClient;
-    private int lastAuthorId;
+    private final AtomicInteger lastAuthorId = new AtomicInteger();
 
     @Autowired
     public AuthorService(AuthorClient authorClient) {
@@ -45,7 +50,7 @@ public class AuthorService extends BaseService {
         // we only get the last id once then we just calculate it
         // assuming that no one else adds objects as the regression execution is scheduled for the late night
         log.debug("Looking for the max id of the existing authors");
-        lastAuthorId = Collections.max(existingAuthorList, Comparator.comparing(AuthorDto::getId)).getId();
+        lastAuthorId.set(Collections.max(existingAuthorList, Comparator.comparing(AuthorDto::getId)).getId());
 
         log.debug("The max author id is {}", lastAuthorId);
     }
@@ -58,7 +63,7 @@ public class AuthorService extends BaseService {
      */
     @Step("Create a random author request body")
     public AuthorDto prepareRandomAuthorDto(BookDto book) {
-        return prepareRandomAuthorDto(++lastAuthorId, book, ID, BOOK_ID, FIRST_NAME, LAST_NAME);
+        return prepareRandomAuthorDto(lastAuthorId.incrementAndGet(), book, ID, BOOK_ID, FIRST_NAME, LAST_NAME);
     }
 
     /**
@@ -70,7 +75,7 @@ public class AuthorService extends BaseService {
      */
     @Step("Create a random author request body")
     public AuthorDto prepareRandomAuthorDto(BookDto book, AuthorField... authorFields) {
-        return prepareRandomAuthorDto(++lastAuthorId, book, authorFields);
+        return prepareRandomAuthorDto(lastAuthorId.incrementAndGet(), book, authorFields);
     }
 
     /**
@@ -87,6 +92,7 @@ public class AuthorService extends BaseService {
         log.info("Building an author dto with id {}, bookId {} and some random data for fields {}",
                 Arrays.toString(authorFields), authorId, bookId);
         var authorBuilder = AuthorDto.builder();
+        testDataRandom.select(AUTHOR_DATA, authorId);
 
         Arrays.stream(authorFields).forEach(authorField -> {
             switch (authorField) {
@@ -104,8 +110,9 @@ public class AuthorService extends BaseService {
      * <p>A single method to create a random {@link AuthorDto} object</p>
      * <p>First it prepares the {@link AuthorDto} object with the book id and some random data for the request.
      * Then it performs the request to actually create this object</p>
-     * <p>When the object is created the method adds this object the cleanup list based on the test class
-     * so that the {@link CleanUpService} could remove it after the test</p>
+     * <p>When the object is created the method adds this object the cleanup list of the test class bound to the current thread
+     * (see {@link com.avenga.config.TestOwnerContext}) so that the {@link CleanUpService} could remove it
+     * after the test</p>
      *
      * @param book the specific {@link BookDto} object related to the author
      * @return created {@link AuthorDto} object
@@ -113,17 +120,15 @@ public class AuthorService extends BaseService {
     @Step("Create a new random author")
     public AuthorDto createRandomAuthor(BookDto book) {
         var randomAuthorDto = prepareRandomAuthorDto(book);
-        var createdAuthorDto = createAuthor(randomAuthorDto);
-
-        testContext.addToCleanUpList(createdAuthorDto, stackWalker.getCallerClass().getSimpleName());
 
-        return createdAuthorDto;
+        return createAuthor(randomAuthorDto);
     }
 
     /**
      * <p>Creates a prepared {@link AuthorDto} object</p>
-     * <p>When the object is created the method adds this object the cleanup list based on the test class
-     * so that the {@link CleanUpService} could remove it after the test</p>
+     * <p>When the object is created the method adds this object the cleanup list of the test class bound to the current thread
+     * (see {@link com.avenga.config.TestOwnerContext}) so that the {@link CleanUpService} could remove it
+     * after the test</p>
      *
      * @param authorDto the prepared {@link AuthorDto} object to create
      * @return created {@link AuthorDto} object
@@ -134,9 +139,7 @@ public class AuthorService extends BaseService {
 
         var createdAuthorDto = authorClient.createAuthor(authorDto);
 
-        if (stackWalker.getCallerClass() != this.getClass()) {
-            testContext.addToCleanUpList(createdAuthorDto, stackWalker.getCallerClass().getSimpleName());
-        }
+        testContext.addToCleanUpList(createdAuthorDto);
 
         return createdAuthorDto;
     }
@@ -144,8 +147,9 @@ public class AuthorService extends BaseService {
     /**
      * <p>Creates a prepared {@link AuthorDto} object expecting an error response.
      * It attempts to deserialize the raw Feign HTTP response body into an {@link ErrorResponseDto}.</p>
-     * <p>If the object was created the method adds this object the cleanup list based on the test class
-     * so that the {@link CleanUpService} could remove it after the test</p>
+     * <p>If the object was created the method adds this object the cleanup list of the test class bound to the current thread
+     * (see {@link com.avenga.config.TestOwnerContext}) so that the {@link CleanUpService} could remove it
+     * after the test</p>
      *
      * @param authorDto the prepared {@link AuthorDto} object to create
      * @return an {@link ErrorResponseDto} object parsed from the HTTP response body
@@ -155,21 +159,26 @@ public class AuthorService extends BaseService {
     public ErrorResponseDto createAuthorRaw(AuthorDto authorDto) {
         log.info("Creating a new author");
 
-        var response = authorClient.createAuthorRaw(authorDto);
-
-        try {
-            // in case there was no error and the book was created make sure we add it to the cleanup list
-            if (response.status() == HttpStatus.OK.value()) {
-                var json = IOUtils.toString(response.body().asInputStream(), Charsets.UTF_8);
-                var author = new ObjectMapper().readValue(json, AuthorDto.class);
+        return readCreateAuthorResponse(authorClient.createAuthorRaw(authorDto));
+    }
 
-                testContext.addToCleanUpList(author, stackWalker.getCallerClass().getSimpleName());
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read/deserialize the response body into the AuthorDto object");
-        }
+    /**
+     * <p>Creates an author from the JSON fields expecting an error response, the fields may be of any type
+     * (e.g. a string in place of a number). It attempts to deserialize the raw Feign HTTP response body
+     * into an {@link ErrorResponseDto}.</p>
+     * <p>If the object was created the method adds this object the cleanup list of the test class bound to the current thread
+     * (see {@link com.avenga.config.TestOwnerContext}) so that the {@link CleanUpService} could remove it
+     * after the test</p>
+     *
+     * @param authorJson the JSON fields of the author by their names
+     * @return an {@link ErrorResponseDto} object parsed from the HTTP response body
+     * @throws RuntimeException if an I/O error occurs during response body reading or deserialization.
+     */
+    @Step("Create a new author from the JSON fields {0}")
+    public ErrorResponseDto createAuthorRaw(Map<String, Object> authorJson) {
+        log.info("Creating a new author from the JSON fields {}", authorJson.keySet());
 
-        return readErrorResponseBody(response);
+        return readCreateAuthorResponse(authorClient.createAuthorRaw(authorJson));
     }
 
     /**
@@ -235,7 +244,11 @@ public class AuthorService extends BaseService {
         var authorId = authorDto.getId();
         log.info("Updating the author with id {}", authorId);
 
-        return authorClient.updateAuthor(authorId, authorDto);
+        var updatedAuthorDto = authorClient.updateAuthor(authorId, authorDto);
+
+        testContext.updateCleanUpItem(updatedAuthorDto);
+
+        return updatedAuthorDto;
     }
 
     /**
@@ -254,11 +267,15 @@ public class AuthorService extends BaseService {
 
         var response = authorClient.updateAuthorRaw(authorId, authorDto);
 
+        if (response.status() == HttpStatus.OK.value()) {
+            testContext.updateCleanUpItem(authorDto);
+        }
+
         return readErrorResponseBody(response);
     }
 
     /**
-     * Deletes the specified {@link AuthorDto} object
+     * Deletes the specified {@link AuthorDto} object and removes it from the cleanup list
      *
      * @param authorDto the {@link AuthorDto} object to delete
      */
@@ -267,6 +284,7 @@ public class AuthorService extends BaseService {
         var authorId = authorDto.getId();
         log.info("Deleting the author with id {}", authorId);
         authorClient.deleteAuthor(authorId);
+        testContext.removeFromCleanUpList(authorDto);
     }
 
     /**
@@ -277,6 +295,22 @@ public class AuthorService extends BaseService {
     @Step("Get the last id of the existing authors")
     public int getLastAuthorId() {
         log.info("Returning the last author id ({})", lastAuthorId);
-        return lastAuthorId;
+        return lastAuthorId.get();
+    }
+
+    private ErrorResponseDto readCreateAuthorResponse(Response response) {
+        try {
+            // in case there was no error and the book was created make sure we add it to the cleanup list
+            if (response.status() == HttpStatus.OK.value()) {
+                var json = IOUtils.toString(response.body().asInputStream(), Charsets.UTF_8);
+                var author = new ObjectMapper().readValue(json, AuthorDto.class);
+
+                testContext.addToCleanUpList(author);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read/deserialize the response body into the AuthorDto object");
+        }
+
+        return readErrorResponseBody(response);
     }
 }
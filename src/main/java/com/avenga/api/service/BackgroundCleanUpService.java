@@ -0,0 +1,137 @@
+package com.avenga.api.service;
+
+import com.avenga.config.TestOwnerContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Runs the cleanup of the test classes in the background, so that the cleanup of a class
+ * overlaps with the execution of the next one</p>
+ * <p>The cleanups are executed by a small thread pool with a bounded queue. When the queue is full
+ * the test thread runs the cleanup itself, which keeps the memory and the server load under control.
+ * No lock is held while a cleanup runs or is awaited, so the other classes keep handing their cleanups over.
+ * {@link #awaitCleanUps()} is the suite-end barrier that waits for all the pending cleanups
+ * and reports the ones that did not finish in time or failed</p>
+ */
+@Slf4j
+@Service
+public class BackgroundCleanUpService {
+
+    private final CleanUpService cleanUpService;
+    private final boolean enabled;
+    private final Duration awaitTimeout;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Future<List<Object>>> pendingCleanUps = new LinkedHashMap<>();
+
+    public BackgroundCleanUpService(CleanUpService cleanUpService,
+                                    @Value("${app.cleanup.background.enabled:false}") boolean enabled,
+                                    @Value("${app.cleanup.background.threads:2}") int threads,
+                                    @Value("${app.cleanup.background.queue-size:4}") int queueSize,
+                                    @Value("${app.cleanup.background.await-timeout:5m}") Duration awaitTimeout) {
+        this.cleanUpService = cleanUpService;
+        this.enabled = enabled;
+        this.awaitTimeout = awaitTimeout;
+
+        var threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                task -> {
+                    var thread = new Thread(task, "cleanup-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Returns whether the cleanups are executed in the background
+     *
+     * @return true if the background cleanup is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Hands the cleanup of the test class over to the background executor
+     *
+     * @param className name of the class
+     */
+    public void submit(String className) {
+        submit(className, className, cleanUpService);
+    }
+
+    /**
+     * Hands the cleanup of the test class over to the background executor using a specific {@link CleanUpService}
+     *
+     * @param name the unique name the cleanup is reported by
+     * @param className name of the class
+     * @param cleanUpService the {@link CleanUpService} of the environment the class was executed against
+     */
+    public void submit(String name, String className, CleanUpService cleanUpService) {
+        log.info("Scheduling background cleanup for the {} class", name);
+        var cleanUp = new FutureTask<>(TestOwnerContext.wrap(() -> cleanUpService.cleanUp(className)));
+
+        synchronized (pendingCleanUps) {
+            pendingCleanUps.put(name, cleanUp);
+        }
+        // with the full queue the cleanup runs on the calling thread, the other classes must not wait for it
+        executor.execute(cleanUp);
+    }
+
+    /**
+     * Waits for all the scheduled cleanups and reports the ones that did not finish in time or failed
+     */
+    public void awaitCleanUps() {
+        Map<String, Future<List<Object>>> cleanUps;
+        synchronized (pendingCleanUps) {
+            cleanUps = new LinkedHashMap<>(pendingCleanUps);
+            pendingCleanUps.clear();
+        }
+        if (cleanUps.isEmpty()) {
+            return;
+        }
+
+        log.info("Waiting for {} background cleanups to finish", cleanUps.size());
+        var deadline = System.nanoTime() + awaitTimeout.toNanos();
+        var stragglers = new ArrayList<String>();
+        var failedItems = new ArrayList<>();
+
+        cleanUps.forEach((name, cleanUp) -> {
+            try {
+                failedItems.addAll(cleanUp.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                stragglers.add(name);
+            } catch (ExecutionException e) {
+                log.warn("The cleanup for the {} class failed", name, e.getCause());
+                stragglers.add(name);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stragglers.add(name);
+            }
+        });
+
+        if (!stragglers.isEmpty()) {
+            log.warn("The cleanup did not finish within {} for the classes: {}", awaitTimeout, stragglers);
+        }
+        if (!failedItems.isEmpty()) {
+            log.warn("{} items could not be deleted: {}", failedItems.size(), failedItems);
+        }
+        log.info("Background cleanups finished");
+    }
+}
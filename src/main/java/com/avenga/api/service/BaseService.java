@@ -2,6 +2,7 @@ package com.avenga.api.service;
 
 import com.avenga.api.dto.ErrorResponseDto;
 import com.avenga.config.TestContext;
+import com.avenga.config.TestDataRandom;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.javafaker.Faker;
 import feign.Response;
@@ -9,23 +10,37 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.io.IOException;
 
-import static java.lang.StackWalker.Option.RETAIN_CLASS_REFERENCE;
-
 /**
- * Represents an abstract parent service that contains some shared objects for other services
+ * <p>Represents an abstract parent service that contains some shared objects for other services</p>
+ * <p>The shared objects are set by the setters, so that the services created outside of the Spring context
+ * (e.g. per target environment) could be given their own {@link TestContext}</p>
  */
 public abstract class BaseService {
 
-    protected final StackWalker stackWalker = StackWalker.getInstance(RETAIN_CLASS_REFERENCE);
+    protected TestContext testContext;
+    protected Faker faker;
+    protected TestDataRandom testDataRandom;
+    protected ObjectMapper objectMapper;
 
     @Autowired
-    protected TestContext testContext;
+    public void setTestContext(TestContext testContext) {
+        this.testContext = testContext;
+    }
 
     @Autowired
-    protected Faker faker;
+    public void setFaker(Faker faker) {
+        this.faker = faker;
+    }
 
     @Autowired
-    protected ObjectMapper objectMapper;
+    public void setTestDataRandom(TestDataRandom testDataRandom) {
+        this.testDataRandom = testDataRandom;
+    }
+
+    @Autowired
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
 
     /**
      * <p>Reads and deserializes the error response body from a Feign {@link Response}
@@ -4,7 +4,10 @@ import com.avenga.api.client.BookClient;
 import com.avenga.api.dto.ErrorResponseDto;
 import com.avenga.api.dto.book.BookDto;
 import com.avenga.api.dto.book.BookField;
+import com.avenga.config.feign.streaming.ContentSource;
+import com.avenga.config.feign.streaming.LargePayload;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Response;
 import io.qameta.allure.Step;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
@@ -13,11 +16,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.avenga.api.dto.book.BookField.*;
 
@@ -30,8 +34,10 @@ import static com.avenga.api.dto.book.BookField.*;
 @Service
 public class BookService extends BaseService {
 
+    private static final String BOOK_DATA = "book";
+
     private final BookClient bookClient;
-    private int lastBookId;
+    private final AtomicInteger lastBookId = new AtomicInteger();
 
     @Autowired
     public BookService(BookClient bookClient) {
@@ -43,7 +49,7 @@ public class BookService extends BaseService {
         // we only get the last id once then we just calculate it
         // assuming that no one else adds objects as the regression execution is scheduled for the late night
         log.debug("Looking for the max id of the existing books");
-        lastBookId = Collections.max(existingBookList, Comparator.comparing(BookDto::getId)).getId();
+        lastBookId.set(Collections.max(existingBookList, Comparator.comparing(BookDto::getId)).getId());
 
         log.debug("The max book id is {}", lastBookId);
     }
@@ -55,7 +61,7 @@ public class BookService extends BaseService {
      */
     @Step("Create a random book request body")
     public BookDto prepareRandomBookDto() {
-        return prepareRandomBookDto(++lastBookId);
+        return prepareRandomBookDto(lastBookId.incrementAndGet());
     }
 
     /**
@@ -66,7 +72,7 @@ public class BookService extends BaseService {
      */
     @Step("Create a random book request body")
     public BookDto prepareRandomBookDto(BookField... bookFields) {
-        return prepareRandomBookDto(++lastBookId, bookFields);
+        return prepareRandomBookDto(lastBookId.incrementAndGet(), bookFields);
     }
 
     /**
@@ -92,6 +98,7 @@ public class BookService extends BaseService {
     public BookDto prepareRandomBookDto(int bookId, BookField... bookFields) {
         log.info("Building a book dto with random data for fields {}", Arrays.toString(bookFields));
         var bookDtoBuilder = BookDto.builder();
+        testDataRandom.select(BOOK_DATA, bookId);
 
         Arrays.stream(bookFields).forEach(bookField -> {
             switch (bookField) {
@@ -100,7 +107,7 @@ public class BookService extends BaseService {
                 case DESCRIPTION -> bookDtoBuilder.description(faker.lorem().sentence());
                 case EXCERPT -> bookDtoBuilder.excerpt(faker.lorem().paragraph(3));
                 case PAGE_COUNT -> bookDtoBuilder.pageCount(faker.random().nextInt(100, 1000));
-                case PUBLISH_DATE -> bookDtoBuilder.publishDate(LocalDateTime.now().toString());
+                case PUBLISH_DATE -> bookDtoBuilder.publishDate(testDataRandom.now().toString());
             }
         });
 
@@ -150,25 +157,24 @@ public class BookService extends BaseService {
      * <p>A single method to create a random {@link BookDto} object</p>
      * <p>First it prepares the {@link BookDto} object with some random data for the request.
      * Then it performs the request to actually create this object</p>
-     * <p>When the object is created the method adds this object the cleanup list based on the test class
-     * so that the {@link CleanUpService} could remove it after the test</p>
+     * <p>When the object is created the method adds this object the cleanup list of the test class bound to the current thread
+     * (see {@link com.avenga.config.TestOwnerContext}) so that the {@link CleanUpService} could remove it
+     * after the test</p>
      *
      * @return created {@link BookDto} object
      */
     @Step("Create a new random book")
     public BookDto createRandomBook() {
         var randomBookDto = prepareRandomBookDto();
-        var createdBookDto = createBook(randomBookDto);
-
-        testContext.addToCleanUpList(createdBookDto, stackWalker.getCallerClass().getSimpleName());
 
-        return createdBookDto;
+        return createBook(randomBookDto);
     }
 
     /**
      * <p>Creates a prepared {@link BookDto} object</p>
-     * <p>When the object is created the method adds this object the cleanup list based on the test class
-     * so that the {@link CleanUpService} could remove it after the test</p>
+     * <p>When the object is created the method adds this object the cleanup list of the test class bound to the current thread
+     * (see {@link com.avenga.config.TestOwnerContext}) so that the {@link CleanUpService} could remove it
+     * after the test</p>
      *
      * @param bookDto the prepared {@link BookDto} object to create
      * @return created {@link BookDto} object
@@ -179,9 +185,32 @@ public class BookService extends BaseService {
 
         var createdBookDto = bookClient.createBook(bookDto);
 
-        if (stackWalker.getCallerClass() != this.getClass()) {
-            testContext.addToCleanUpList(createdBookDto, stackWalker.getCallerClass().getSimpleName());
-        }
+        testContext.addToCleanUpList(createdBookDto);
+
+        return createdBookDto;
+    }
+
+    /**
+     * <p>Creates a prepared {@link BookDto} object with the large text fields written from the content sources,
+     * the fields are never held in memory as a whole (see {@link LargePayload})</p>
+     * <p>When the object is created the method adds this object the cleanup list of the test class bound to the current thread
+     * (see {@link com.avenga.config.TestOwnerContext}) so that the {@link CleanUpService} could remove it
+     * after the test</p>
+     *
+     * @param bookDto the prepared {@link BookDto} object to create
+     * @param largeFields the content of the fields replacing the ones of the {@link BookDto}
+     * @return created {@link BookDto} object
+     */
+    @Step("Create a new book with the large fields {1}")
+    public BookDto createLargeBook(BookDto bookDto, Map<BookField, ContentSource> largeFields) {
+        log.info("Creating a new book with the large fields {}", largeFields.keySet());
+
+        var payload = LargePayload.of(bookDto);
+        largeFields.forEach((bookField, content) -> payload.with(bookField.getJsonName(), content));
+
+        var createdBookDto = bookClient.createLargeBook(payload);
+
+        testContext.addToCleanUpList(createdBookDto);
 
         return createdBookDto;
     }
@@ -189,8 +218,9 @@ public class BookService extends BaseService {
     /**
      * <p>Creates a prepared {@link BookDto} object expecting an error response.
      * It attempts to deserialize the raw Feign HTTP response body into an {@link ErrorResponseDto}.</p>
-     * <p>If the object was created the method adds this object the cleanup list based on the test class
-     * so that the {@link CleanUpService} could remove it after the test</p>
+     * <p>If the object was created the method adds this object the cleanup list of the test class bound to the current thread
+     * (see {@link com.avenga.config.TestOwnerContext}) so that the {@link CleanUpService} could remove it
+     * after the test</p>
      *
      * @param bookDto the prepared {@link BookDto} object to create
      * @return an {@link ErrorResponseDto} object parsed from the HTTP response body
@@ -200,21 +230,26 @@ public class BookService extends BaseService {
     public ErrorResponseDto createBookRaw(BookDto bookDto) {
         log.info("Creating a new book");
 
-        var response = bookClient.createBookRaw(bookDto);
-
-        try {
-            // in case there was no error and the book was created make sure we add it to the cleanup list
-            if (response.status() == HttpStatus.OK.value()) {
-                var json = IOUtils.toString(response.body().asInputStream());
-                var book = new ObjectMapper().readValue(json, BookDto.class);
+        return readCreateBookResponse(bookClient.createBookRaw(bookDto));
+    }
 
-                testContext.addToCleanUpList(book, stackWalker.getCallerClass().getSimpleName());
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read/deserialize the response body into the BookDto object");
-        }
+    /**
+     * <p>Creates a book from the JSON fields expecting an error response, the fields may be of any type
+     * (e.g. a string in place of a number). It attempts to deserialize the raw Feign HTTP response body
+     * into an {@link ErrorResponseDto}.</p>
+     * <p>If the object was created the method adds this object the cleanup list of the test class bound to the current thread
+     * (see {@link com.avenga.config.TestOwnerContext}) so that the {@link CleanUpService} could remove it
+     * after the test</p>
+     *
+     * @param bookJson the JSON fields of the book by their names
+     * @return an {@link ErrorResponseDto} object parsed from the HTTP response body
+     * @throws RuntimeException if an I/O error occurs during response body reading or deserialization.
+     */
+    @Step("Create a new book from the JSON fields {0}")
+    public ErrorResponseDto createBookRaw(Map<String, Object> bookJson) {
+        log.info("Creating a new book from the JSON fields {}", bookJson.keySet());
 
-        return readErrorResponseBody(response);
+        return readCreateBookResponse(bookClient.createBookRaw(bookJson));
     }
 
     /**
@@ -228,7 +263,11 @@ public class BookService extends BaseService {
         var bookId = bookDto.getId();
         log.info("Updating the book with id {}", bookId);
 
-        return bookClient.updateBook(bookId, bookDto);
+        var updatedBookDto = bookClient.updateBook(bookId, bookDto);
+
+        testContext.updateCleanUpItem(updatedBookDto);
+
+        return updatedBookDto;
     }
 
     /**
@@ -247,11 +286,15 @@ public class BookService extends BaseService {
 
         var response = bookClient.updateBookRaw(bookId, bookDto);
 
+        if (response.status() == HttpStatus.OK.value()) {
+            testContext.updateCleanUpItem(bookDto);
+        }
+
         return readErrorResponseBody(response);
     }
 
     /**
-     * Deletes the specified {@link BookDto} object
+     * Deletes the specified {@link BookDto} object and removes it from the cleanup list
      *
      * @param bookDto the {@link BookDto} object to delete
      */
@@ -260,6 +303,7 @@ public class BookService extends BaseService {
         var bookId = bookDto.getId();
         log.info("Deleting the book with id {}", bookId);
         bookClient.deleteBook(bookId);
+        testContext.removeFromCleanUpList(bookDto);
     }
 
     /**
@@ -288,6 +332,22 @@ public class BookService extends BaseService {
     @Step("Get the last id of the existing books")
     public int getLastBookId() {
         log.info("Returning the last book id ({})", lastBookId);
-        return lastBookId;
+        return lastBookId.get();
+    }
+
+    private ErrorResponseDto readCreateBookResponse(Response response) {
+        try {
+            // in case there was no error and the book was created make sure we add it to the cleanup list
+            if (response.status() == HttpStatus.OK.value()) {
+                var json = IOUtils.toString(response.body().asInputStream());
+                var book = new ObjectMapper().readValue(json, BookDto.class);
+
+                testContext.addToCleanUpList(book);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read/deserialize the response body into the BookDto object");
+        }
+
+        return readErrorResponseBody(response);
     }
 }
@@ -1,34 +1,67 @@
 package com.avenga.api.service;
 
+import com.avenga.api.client.AuthorClient;
+import com.avenga.api.client.BookClient;
 import com.avenga.api.dto.author.AuthorDto;
 import com.avenga.api.dto.book.BookDto;
-import lombok.RequiredArgsConstructor;
+import com.avenga.config.cleanup.CleanUpJournal;
+import feign.FeignException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 /**
  * The cleanup service for removing all the test data created during the test execution
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CleanUpService extends BaseService {
 
     private final BookService bookService;
     private final AuthorService authorService;
+    private final BookClient bookClient;
+    private final AuthorClient authorClient;
+    private final CleanUpJournal cleanUpJournal;
+    private final int sweepThreads;
+
+    public CleanUpService(BookService bookService, AuthorService authorService, BookClient bookClient,
+                          AuthorClient authorClient, CleanUpJournal cleanUpJournal,
+                          @Value("${app.cleanup.journal.sweep-threads:4}") int sweepThreads) {
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.bookClient = bookClient;
+        this.authorClient = authorClient;
+        this.cleanUpJournal = cleanUpJournal;
+        this.sweepThreads = sweepThreads;
+    }
 
     /**
-     * Deletes all the objects created within a certain test class during the test run
+     * Deletes all the objects created within a certain test class during the test run.
+     * The deleted objects and the ones that were already deleted are removed from the cleanup list of the class,
+     * so that only the objects that could not be deleted are left in it
      * @param className name of the class
+     * @return list of the objects that could not be deleted
      */
-    public void cleanUp(String className) {
+    public List<Object> cleanUp(String className) {
         log.info("Starting cleanup for the {} class", className);
         var cleanUpList = testContext.getCleanUpList(className);
+        var failedItems = new ArrayList<>();
 
         if (cleanUpList == null || cleanUpList.isEmpty()) {
             log.info("Nothing to cleanup...");
         } else {
-            cleanUpList.forEach(item -> {
+            List<Object> items;
+            synchronized (cleanUpList) {
+                items = List.copyOf(cleanUpList);
+            }
+
+            items.forEach(item -> {
                 try {
                     switch (item) {
                         case BookDto bookDto -> bookService.deleteBook(bookDto);
@@ -36,11 +69,98 @@ public class CleanUpService extends BaseService {
                         default -> throw new IllegalStateException("Unexpected object: " + item
                                 + ". Expected either BookDto or the AuthorDto");
                     }
+                    testContext.removeFromCleanUpList(item, className);
+                } catch (FeignException.NotFound e) {
+                    log.debug("The item '{}' was already deleted", item);
+                    testContext.removeFromCleanUpList(item, className);
                 } catch (Exception e) {
                     log.warn("Could not delete an item '{}'. Skipping and continue with next one...", item);
+                    failedItems.add(item);
                 }
             });
         }
         log.info("Cleanup finished");
+        return failedItems;
+    }
+
+    /**
+     * <p>Deletes the objects left by the previous runs that were killed before their cleanup</p>
+     * <p>The pending entries of the {@link CleanUpJournal} are deleted concurrently: authors first,
+     * as a book assigned to an author can't be deleted, then books. The journal is compacted afterwards
+     * so that only the entries that still could not be deleted are kept</p>
+     * <p>The entries of another environment are kept for the run against that environment. The entries older than
+     * the {@code max-age} are dropped, as well as the ones whose id now belongs to another entity (the fetched title
+     * or name does not match the journaled one): those are never deleted</p>
+     */
+    public void cleanUpLeftovers() {
+        var leftovers = cleanUpJournal.getLeftovers().stream()
+                .filter(this::isOwnLeftover)
+                .toList();
+
+        if (leftovers.isEmpty()) {
+            log.info("No leftovers of the previous runs found");
+        } else {
+            log.info("Removing {} leftovers of the previous runs", leftovers.size());
+            var executor = Executors.newFixedThreadPool(sweepThreads);
+            try {
+                deleteLeftovers(leftovers, CleanUpJournal.Entry.Type.AUTHOR, executor);
+                deleteLeftovers(leftovers, CleanUpJournal.Entry.Type.BOOK, executor);
+            } finally {
+                executor.shutdown();
+            }
+        }
+        // the expired entries are dropped even when there is nothing to delete
+        cleanUpJournal.compact();
+    }
+
+    private boolean isOwnLeftover(CleanUpJournal.Leftover leftover) {
+        if (!cleanUpJournal.isOwnEnvironment(leftover)) {
+            log.debug("The leftover '{}' belongs to another environment, skipping", leftover.entry());
+            return false;
+        }
+        if (cleanUpJournal.isExpired(leftover)) {
+            log.warn("The leftover '{}' created at {} is too old to be deleted, dropping it from the journal",
+                    leftover.entry(), leftover.createdAt());
+            cleanUpJournal.markDeleted(leftover);
+            return false;
+        }
+        return true;
+    }
+
+    private void deleteLeftovers(List<CleanUpJournal.Leftover> leftovers, CleanUpJournal.Entry.Type type,
+                                 ExecutorService executor) {
+        var deletions = leftovers.stream()
+                .filter(leftover -> leftover.entry().type() == type)
+                .map(leftover -> CompletableFuture.runAsync(() -> deleteLeftover(leftover), executor))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(deletions).join();
+    }
+
+    private void deleteLeftover(CleanUpJournal.Leftover leftover) {
+        var entry = leftover.entry();
+        try {
+            Object item = switch (entry.type()) {
+                case BOOK -> bookClient.getBook(entry.id());
+                case AUTHOR -> authorClient.getAuthor(entry.id());
+                default -> throw new IllegalStateException("Unexpected journal entry: " + entry);
+            };
+            if (!leftover.isIdentityOf(item)) {
+                log.warn("The id of the leftover '{}' now belongs to '{}', dropping it from the journal", entry, item);
+                cleanUpJournal.markDeleted(leftover);
+                return;
+            }
+
+            switch (entry.type()) {
+                case BOOK -> bookClient.deleteBook(entry.id());
+                case AUTHOR -> authorClient.deleteAuthor(entry.id());
+                default -> throw new IllegalStateException("Unexpected journal entry: " + entry);
+            }
+            cleanUpJournal.markDeleted(leftover);
+        } catch (FeignException.NotFound e) {
+            cleanUpJournal.markDeleted(leftover);
+        } catch (Exception e) {
+            log.warn("Could not delete a leftover '{}'. It will be retried by the next run", entry);
+        }
     }
 }
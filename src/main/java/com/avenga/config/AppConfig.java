@@ -1,16 +1,40 @@
 package com.avenga.config;
 
+import com.avenga.config.feign.cassette.CassetteProperties;
+import com.avenga.config.feign.cassette.CassetteReader;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.javafaker.Faker;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.LocalDateTime;
+
 @Configuration
 public class AppConfig {
 
+    /**
+     * Defines the source of randomness of the test data. It is seeded with the cassette,
+     * so that the replayed run generates the request bodies of the recorded one
+     *
+     * @param cassetteProperties the record-and-replay settings
+     * @param cassetteReader the {@link CassetteReader} bean of the replay mode
+     * @return an instance of {@link TestDataRandom}
+     */
+    @Bean
+    public TestDataRandom testDataRandom(CassetteProperties cassetteProperties,
+                                         ObjectProvider<CassetteReader> cassetteReader) {
+        return switch (cassetteProperties.getMode()) {
+            case OFF -> TestDataRandom.unseeded();
+            case RECORD -> TestDataRandom.seeded(System.nanoTime(), LocalDateTime.now());
+            case REPLAY -> TestDataRandom.seeded(cassetteReader.getObject().getSeed(),
+                    cassetteReader.getObject().getStartTime());
+        };
+    }
+
     @Bean
-    public Faker faker() {
-        return new Faker();
+    public Faker faker(TestDataRandom testDataRandom) {
+        return new Faker(testDataRandom);
     }
 
     @Bean
@@ -1,22 +1,48 @@
 package com.avenga.config;
 
+import com.avenga.config.cleanup.CleanUpJournal;
+import com.avenga.config.telemetry.RunTelemetry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import javax.annotation.PostConstruct;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>Represents the test context.</p>
  * <p>Used for managing the cleanup list to make sure that there will be no test data leftovers after the test run</p>
+ * <p>Every item is also appended to the {@link CleanUpJournal} so that it could be removed by the next run
+ * if this one is killed before the cleanup</p>
+ * <p>The number of the items waiting for the cleanup is published by the {@link RunTelemetry}</p>
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class TestContext {
 
-    private final Map<String, List<Object>> cleanUpList = new HashMap<>();
+    private final Map<String, List<Object>> cleanUpList = new ConcurrentHashMap<>();
+    private final CleanUpJournal cleanUpJournal;
+
+    @PostConstruct
+    void publishBacklog() {
+        RunTelemetry.cleanUpBacklog(this::getCleanUpBacklog);
+    }
+
+    /**
+     * Adds objects to the cleanup list of the test class bound to the current thread
+     * (see {@link TestOwnerContext})
+     * @param item an object for removal
+     */
+    public void addToCleanUpList(Object item) {
+        var owner = TestOwnerContext.current();
+        log.debug("The item is owned by {}", owner);
+        addToCleanUpList(item, owner.testClassName());
+    }
 
     /**
      * Adds objects to the cleanup list for further removal based on the test class name
@@ -26,9 +52,44 @@ public class TestContext {
      */
     public void addToCleanUpList(Object item, String testClassName) {
         log.info("Adding item to the clean up list: {}", item);
-        var list = cleanUpList.computeIfAbsent(testClassName, l -> new LinkedList<>());
+        var list = cleanUpList.computeIfAbsent(testClassName,
+                l -> Collections.synchronizedList(new LinkedList<>()));
 
-        list.addFirst(item);
+        list.add(0, item);
+        cleanUpJournal.append(item);
+    }
+
+    /**
+     * Removes an object deleted by the test from the cleanup list of the test class bound to the current thread
+     * (see {@link TestOwnerContext}). The object is matched by its type and id
+     * @param item the deleted object
+     */
+    public void removeFromCleanUpList(Object item) {
+        removeFromCleanUpList(item, TestOwnerContext.current().testClassName());
+    }
+
+    /**
+     * Removes a deleted object from the cleanup list of the test class. The object is matched by its type and id
+     * @param item the deleted object
+     * @param testClassName name of the test class
+     */
+    public void removeFromCleanUpList(Object item, String testClassName) {
+        var list = cleanUpList.get(testClassName);
+        var entry = CleanUpJournal.Entry.of(item);
+
+        if (list != null && list.removeIf(listItem -> CleanUpJournal.Entry.of(listItem).equals(entry))) {
+            log.debug("Removed the deleted item from the clean up list: {}", item);
+        }
+        cleanUpJournal.markDeleted(item);
+    }
+
+    /**
+     * Records the updated state of an object in the {@link CleanUpJournal}, so that the next run still recognizes it
+     * as the journaled one
+     * @param item the updated object
+     */
+    public void updateCleanUpItem(Object item) {
+        cleanUpJournal.update(item);
     }
 
     /**
@@ -40,4 +101,12 @@ public class TestContext {
         log.info("Getting the clean up list for the {} class", testClassName);
         return cleanUpList.get(testClassName);
     }
+
+    /**
+     * Returns the number of the objects waiting for the removal in all the cleanup lists
+     * @return number of the objects
+     */
+    public long getCleanUpBacklog() {
+        return cleanUpList.values().stream().mapToLong(List::size).sum();
+    }
 }
@@ -0,0 +1,91 @@
+package com.avenga.config;
+
+import lombok.Getter;
+
+import java.io.Serial;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>The source of randomness of the test data generated by the {@link com.github.javafaker.Faker}</p>
+ * <p>A seeded instance makes the generated data reproducible: the data of every entity is drawn from its own
+ * sequence seeded with the run seed, the entity type, the entity id and the number of the entity data generated
+ * before (see {@link #select(String, int)}), so it does not depend on the order the concurrent threads generate
+ * the entities in. The run seed and the start time are recorded to the cassette and restored from it in the replay
+ * mode, so the replayed requests are the recorded ones</p>
+ * <p>An unseeded instance draws from the {@link ThreadLocalRandom} and does not keep any state</p>
+ */
+public class TestDataRandom extends Random {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final boolean seeded;
+    @Getter
+    private final long seed;
+    @Getter
+    private final LocalDateTime startTime;
+    private final transient Map<String, AtomicInteger> generations = new ConcurrentHashMap<>();
+    private final transient ThreadLocal<Random> sequence = ThreadLocal.withInitial(Random::new);
+
+    private TestDataRandom(boolean seeded, long seed, LocalDateTime startTime) {
+        this.seeded = seeded;
+        this.seed = seed;
+        this.startTime = startTime;
+    }
+
+    /**
+     * Creates the unseeded source, the test data differs in every run
+     *
+     * @return the {@link TestDataRandom}
+     */
+    public static TestDataRandom unseeded() {
+        return new TestDataRandom(false, 0, null);
+    }
+
+    /**
+     * Creates the seeded source, the test data is the same in the runs with the same seed and start time
+     *
+     * @param seed the run seed
+     * @param startTime the start time of the run, used as the current time of the test data
+     * @return the {@link TestDataRandom}
+     */
+    public static TestDataRandom seeded(long seed, LocalDateTime startTime) {
+        return new TestDataRandom(true, seed, startTime);
+    }
+
+    /**
+     * Switches the current thread to the sequence of the next data of an entity
+     *
+     * @param type the entity type
+     * @param id the entity id
+     */
+    public void select(String type, int id) {
+        if (!seeded) {
+            return;
+        }
+
+        var key = type + "#" + id;
+        var generation = generations.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        sequence.get().setSeed(seed ^ (31L * key.hashCode() + generation) * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Returns the current time of the test data: the start time of the seeded run or the current time
+     *
+     * @return the {@link LocalDateTime}
+     */
+    public LocalDateTime now() {
+        return seeded ? startTime : LocalDateTime.now();
+    }
+
+    @Override
+    protected int next(int bits) {
+        var value = seeded ? sequence.get().nextInt() : ThreadLocalRandom.current().nextInt();
+        return value >>> (32 - bits);
+    }
+}
@@ -0,0 +1,21 @@
+package com.avenga.config;
+
+/**
+ * Represents the owner of the test data: the test class and the test (or configuration) method
+ * that was running when the data was created
+ *
+ * @param testClassName simple name of the test class
+ * @param testMethodName name of the test or configuration method
+ */
+public record TestOwner(String testClassName, String testMethodName) {
+
+    /**
+     * The owner returned when nothing is bound to the current thread (e.g. during the Spring context start)
+     */
+    public static final TestOwner UNBOUND = new TestOwner("Unbound", "none");
+
+    @Override
+    public String toString() {
+        return testClassName + "#" + testMethodName;
+    }
+}
@@ -0,0 +1,91 @@
+package com.avenga.config;
+
+import java.util.concurrent.Callable;
+
+/**
+ * <p>Holds the {@link TestOwner} of the current thread.</p>
+ * <p>The owner is bound once per test/configuration method by the
+ * {@link com.avenga.config.listener.TestNGExecutionListener} so that the services can attribute the created
+ * test data without walking the stack. The value is inherited by the threads started from the test thread;
+ * tasks submitted to thread pools should be wrapped with {@link #wrap(Runnable)} or {@link #wrap(Callable)}</p>
+ */
+public final class TestOwnerContext {
+
+    private static final InheritableThreadLocal<TestOwner> CURRENT_OWNER = new InheritableThreadLocal<>();
+
+    private TestOwnerContext() {
+    }
+
+    /**
+     * Binds the owner to the current thread
+     *
+     * @param owner the {@link TestOwner} to bind
+     */
+    public static void bind(TestOwner owner) {
+        CURRENT_OWNER.set(owner);
+    }
+
+    /**
+     * Removes the owner from the current thread
+     */
+    public static void clear() {
+        CURRENT_OWNER.remove();
+    }
+
+    /**
+     * Returns the owner bound to the current thread
+     *
+     * @return the bound {@link TestOwner} or {@link TestOwner#UNBOUND} if there is none
+     */
+    public static TestOwner current() {
+        var owner = CURRENT_OWNER.get();
+        return owner == null ? TestOwner.UNBOUND : owner;
+    }
+
+    /**
+     * Captures the owner of the calling thread and returns a task that runs under this owner
+     *
+     * @param task the task to wrap
+     * @return the wrapped {@link Runnable}
+     */
+    public static Runnable wrap(Runnable task) {
+        var owner = current();
+        return () -> {
+            var previousOwner = CURRENT_OWNER.get();
+            bind(owner);
+            try {
+                task.run();
+            } finally {
+                restore(previousOwner);
+            }
+        };
+    }
+
+    /**
+     * Captures the owner of the calling thread and returns a task that runs under this owner
+     *
+     * @param task the task to wrap
+     * @param <T> the result type of the task
+     * @return the wrapped {@link Callable}
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        var owner = current();
+        return () -> {
+            var previousOwner = CURRENT_OWNER.get();
+            bind(owner);
+            try {
+                return task.call();
+            } finally {
+                restore(previousOwner);
+            }
+        };
+    }
+
+    private static void restore(TestOwner previousOwner) {
+        if (previousOwner == null) {
+            clear();
+        } else {
+            bind(previousOwner);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.avenga.config.allure;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.FileSystemResultsWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IExecutionListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * <p>Replaces the results writer of the Allure lifecycle with the {@link BatchingResultsWriter}</p>
+ * <p>The Allure TestNG listener takes the lifecycle once it is created by the {@link java.util.ServiceLoader},
+ * so the writer must be installed before that. The listener is passed to TestNG with the {@code listener} option
+ * of surefire (or {@code -listener} of the TestNG command line), such listeners are created when TestNG is
+ * configured, before the ones of the {@link java.util.ServiceLoader}. The runs without it use the default writer.
+ * The settings are the system properties, as the listeners start before the Spring context:</p>
+ * <ul>
+ *     <li>{@code app.allure.batching.enabled} - writes the results from the background thread
+ *     ({@code true} by default)</li>
+ *     <li>{@code app.allure.batch-size} and {@code app.allure.queue-size} - the size of the batches
+ *     and of the queue</li>
+ *     <li>{@code app.allure.bundle.enabled} - writes all the results into the single {@link ResultsBundle}</li>
+ * </ul>
+ */
+@Slf4j
+public class AllureResultsWriterInstaller implements IExecutionListener {
+
+    private static final boolean BATCHING = Boolean.parseBoolean(
+            System.getProperty("app.allure.batching.enabled", "true"));
+    private static final boolean BUNDLE = Boolean.getBoolean("app.allure.bundle.enabled");
+    private static final int BATCH_SIZE = Integer.getInteger("app.allure.batch-size", 256);
+    private static final int QUEUE_SIZE = Integer.getInteger("app.allure.queue-size", 8192);
+
+    private static BatchingResultsWriter batchingWriter;
+    private static BundleResultsWriter bundleWriter;
+
+    public AllureResultsWriterInstaller() {
+        install();
+    }
+
+    @Override
+    public void onExecutionFinish() {
+        close();
+    }
+
+    private static synchronized void install() {
+        if (!BATCHING || batchingWriter != null) {
+            return;
+        }
+
+        var resultsDirectory = ResultsBundle.defaultPath().getParent();
+        if (BUNDLE) {
+            bundleWriter = new BundleResultsWriter(resultsDirectory.resolve(ResultsBundle.FILE_NAME));
+        }
+        batchingWriter = new BatchingResultsWriter(bundleWriter != null ? bundleWriter
+                : new FileSystemResultsWriter(resultsDirectory), QUEUE_SIZE, BATCH_SIZE);
+
+        Allure.setLifecycle(new AllureLifecycle(batchingWriter));
+        Runtime.getRuntime().addShutdownHook(new Thread(AllureResultsWriterInstaller::close, "allure-writer-close"));
+        log.debug("Installed the batching Allure results writer, the bundle is {}", BUNDLE ? "enabled" : "disabled");
+    }
+
+    private static synchronized void close() {
+        if (batchingWriter == null) {
+            return;
+        }
+
+        batchingWriter.close();
+        if (bundleWriter != null) {
+            try {
+                bundleWriter.close();
+            } catch (IOException e) {
+                log.warn("Failed to close the Allure results bundle", e);
+            }
+        }
+        batchingWriter = null;
+    }
+}
@@ -0,0 +1,154 @@
+package com.avenga.config.allure;
+
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * <p>An {@link AllureResultsWriter} that queues the results and writes them to the delegate writer
+ * from a background thread in batches, so that the test threads are not blocked on the file system</p>
+ * <p>The results and containers are queued as they are, as Allure does not change them once they are written.
+ * The attachment streams are read into memory on the calling thread, as the caller may close them.
+ * The queue is bounded: when the writer falls far behind, the callers wait for the free space.
+ * The writes issued after the writer is closed go directly to the delegate</p>
+ */
+@Slf4j
+public class BatchingResultsWriter implements AllureResultsWriter, AutoCloseable {
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final long CLOSE_TIMEOUT_MILLIS = 60_000;
+
+    private final AllureResultsWriter delegate;
+    private final BlockingQueue<Consumer<AllureResultsWriter>> queue;
+    private final int batchSize;
+    private final Thread writerThread;
+    private volatile boolean closed;
+    private long writes;
+    private long batches;
+
+    public BatchingResultsWriter(AllureResultsWriter delegate, int queueSize, int batchSize) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.batchSize = batchSize;
+        this.writerThread = new Thread(this::writeBatches, "allure-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void write(TestResult testResult) {
+        enqueue(writer -> writer.write(testResult));
+    }
+
+    @Override
+    public void write(TestResultContainer testResultContainer) {
+        enqueue(writer -> writer.write(testResultContainer));
+    }
+
+    @Override
+    public void write(String source, InputStream attachment) {
+        byte[] content;
+        try (attachment) {
+            content = attachment.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the attachment " + source, e);
+        }
+        enqueue(writer -> writer.write(source, new ByteArrayInputStream(content)));
+    }
+
+    /**
+     * Writes all the queued results and stops the background thread
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        try {
+            writerThread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (writerThread.isAlive()) {
+            log.warn("The Allure results writer did not finish in time, {} results are not written", queue.size());
+        } else {
+            log.info("The Allure results writer wrote {} results in {} batches", writes, batches);
+        }
+    }
+
+    private void enqueue(Consumer<AllureResultsWriter> write) {
+        if (closed) {
+            write.accept(delegate);
+            flush();
+            return;
+        }
+
+        try {
+            queue.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write.accept(delegate);
+        }
+    }
+
+    private void writeBatches() {
+        var batch = new ArrayList<Consumer<AllureResultsWriter>>(batchSize);
+
+        while (!closed || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                // the thread is stopped by the close flag only, the remaining results still have to be written
+                log.debug("The Allure results writer was interrupted");
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(ArrayList<Consumer<AllureResultsWriter>> batch) {
+        batch.forEach(write -> {
+            try {
+                write.accept(delegate);
+                writes++;
+            } catch (RuntimeException e) {
+                log.warn("Failed to write an Allure result", e);
+            }
+        });
+
+        flush();
+        batches++;
+    }
+
+    private void flush() {
+        if (delegate instanceof Flushable flushable) {
+            try {
+                flushable.flush();
+            } catch (IOException e) {
+                log.warn("Failed to flush the Allure results", e);
+            }
+        }
+    }
+}
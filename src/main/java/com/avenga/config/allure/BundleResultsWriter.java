@@ -0,0 +1,93 @@
+package com.avenga.config.allure;
+
+import io.qameta.allure.AllureResultsWriteException;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.internal.Allure2ModelJackson;
+import io.qameta.allure.internal.shadowed.jackson.databind.ObjectMapper;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+/**
+ * <p>An {@link AllureResultsWriter} that appends all the results, containers and attachments to a single
+ * {@link ResultsBundle} file instead of writing a file per result</p>
+ * <p>The results are serialized the same way as the Allure file system writer does it.
+ * The bundle is expanded into the separate files by {@link ResultsBundle#expand(Path)}
+ * before the report is generated</p>
+ */
+public class BundleResultsWriter implements AllureResultsWriter, Flushable, Closeable {
+
+    private final Path path;
+    private final ObjectMapper mapper = Allure2ModelJackson.createMapper();
+    private DataOutputStream output;
+
+    public BundleResultsWriter(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public void write(TestResult testResult) {
+        append(testResult.getUuid() + "-result.json", testResult);
+    }
+
+    @Override
+    public void write(TestResultContainer testResultContainer) {
+        append(testResultContainer.getUuid() + "-container.json", testResultContainer);
+    }
+
+    @Override
+    public void write(String source, InputStream attachment) {
+        try (attachment) {
+            append(source, attachment.readAllBytes());
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not write the Allure attachment " + source, e);
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (output != null) {
+            output.flush();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (output != null) {
+            output.close();
+            output = null;
+        }
+    }
+
+    private void append(String name, Object result) {
+        try {
+            append(name, mapper.writeValueAsBytes(result));
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not write the Allure result " + name, e);
+        }
+    }
+
+    private synchronized void append(String name, byte[] content) {
+        try {
+            if (output == null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+                output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path, CREATE, APPEND),
+                        64 * 1024));
+            }
+            ResultsBundle.writeEntry(output, name, content);
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not write to the Allure results bundle " + path, e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.avenga.config.allure;
+
+import io.qameta.allure.util.PropertiesUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * <p>The compact file holding all the Allure results of the run (see {@link BundleResultsWriter})</p>
+ * <p>Every entry is the file name ({@link DataOutputStream#writeUTF(String) modified UTF-8}), the content length
+ * (4 bytes) and the content. The bundle is expanded into the regular results files next to it, so that
+ * {@code allure:report} could read them. The expansion is bound to the {@code test} phase after the tests
+ * (the {@code expand-allure-results} execution of the exec plugin):</p>
+ * <pre>
+ * mvn exec:java@expand-allure-results
+ * </pre>
+ */
+@Slf4j
+public final class ResultsBundle {
+
+    public static final String FILE_NAME = "results.bundle";
+
+    private ResultsBundle() {
+    }
+
+    /**
+     * Expands the bundle of the results directory configured in {@code allure.properties}
+     * or the bundle passed as the first argument
+     *
+     * @param args optional path of the bundle
+     * @throws IOException if the bundle can't be read or the files can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        var bundle = args.length > 0 ? Path.of(args[0]) : defaultPath();
+
+        if (Files.notExists(bundle)) {
+            log.info("There is no Allure results bundle {}", bundle);
+            return;
+        }
+        log.info("Expanded {} Allure results from {}", expand(bundle), bundle);
+    }
+
+    /**
+     * Returns the path of the bundle in the results directory configured in {@code allure.properties}
+     *
+     * @return the bundle {@link Path}
+     */
+    public static Path defaultPath() {
+        var resultsDirectory = PropertiesUtils.loadAllureProperties()
+                .getProperty("allure.results.directory", "allure-results");
+        return Path.of(resultsDirectory, FILE_NAME);
+    }
+
+    /**
+     * Writes every entry of the bundle into a separate file next to it and deletes the bundle
+     *
+     * @param bundle the bundle {@link Path}
+     * @return the number of the written files
+     * @throws IOException if the bundle can't be read or the files can't be written
+     */
+    public static int expand(Path bundle) throws IOException {
+        var directory = bundle.toAbsolutePath().getParent();
+        var files = 0;
+
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(bundle), 64 * 1024))) {
+            while (true) {
+                String name;
+                try {
+                    name = input.readUTF();
+                } catch (EOFException e) {
+                    break;
+                }
+
+                var content = new byte[input.readInt()];
+                input.readFully(content);
+                Files.write(directory.resolve(name), content);
+                files++;
+            }
+        }
+
+        Files.delete(bundle);
+        return files;
+    }
+
+    static void writeEntry(DataOutputStream output, String name, byte[] content) throws IOException {
+        output.writeUTF(name);
+        output.writeInt(content.length);
+        output.write(content);
+    }
+}
@@ -0,0 +1,459 @@
+package com.avenga.config.cleanup;
+
+import com.avenga.api.dto.author.AuthorDto;
+import com.avenga.api.dto.book.BookDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * <p>A persistent, memory-mapped journal of the test data created during the run.</p>
+ * <p>Every created entity is appended as a fixed-size record and marked as deleted once the
+ * {@link com.avenga.api.service.CleanUpService} removes it. The records live in the OS page cache,
+ * so they survive a killed JVM and the entries that are still pending can be removed at the next start.</p>
+ * <p>The journal file is locked by the run for its whole duration, so the runs started concurrently from the same
+ * checkout never write into the same file nor remove the data of each other: a run takes the first journal of
+ * the configured path, {@code cleanup.journal}, {@code cleanup.2.journal}, ..., that no running run holds.
+ * The lock is released by the OS when the JVM is killed, so the leftovers of a journal are removed by the next run
+ * taking it</p>
+ * <p>The ids are reused by the other runs once an entity is deleted, so every record also keeps the environment
+ * the entity was created in, the creation time and a fingerprint of the entity (the title of a book, the name
+ * of an author). A leftover is only removed from the environment it was created in, while it is younger than
+ * the {@code max-age} and as long as the entity found by its id still has the recorded fingerprint</p>
+ * <p>Header layout (8 bytes): magic (4 bytes), process id of the run holding the journal (4 bytes)</p>
+ * <p>Record layout (32 bytes): entity type (1 byte, 0 marks the end of the journal), state (1 byte),
+ * 2 reserved bytes, entity id (4 bytes), creation time in epoch milliseconds (8 bytes),
+ * environment fingerprint (8 bytes), entity fingerprint (8 bytes). A record with an unknown type or state
+ * (e.g. torn by a crash) is treated as the end of the journal</p>
+ */
+@Slf4j
+@Component
+public class CleanUpJournal {
+
+    private static final int MAGIC = 0x434A5232;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = 32;
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    private static final int MAX_JOURNALS = 16;
+
+    // the journals held by this JVM: a second channel must not be opened on them, as closing it releases the lock
+    private static final Set<Path> HELD_JOURNALS = ConcurrentHashMap.newKeySet();
+
+    private static final byte PENDING = 0;
+    private static final byte DELETED = 1;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final boolean enabled;
+    private final Path configuredPath;
+    private final long environment;
+    private final Duration maxAge;
+    // the pending records of the environment of this journal, the ones of the other environments are never updated
+    private final Map<Entry, Integer> positions = new HashMap<>();
+
+    private Path path;
+    private FileChannel channel;
+    private FileLock lock;
+    private MappedByteBuffer buffer;
+    private int writePosition;
+
+    public CleanUpJournal(@Value("${app.cleanup.journal.enabled:true}") boolean enabled,
+                          @Value("${app.cleanup.journal.path:.cleanup/cleanup.journal}") String path,
+                          @Value("${app.url}") String environmentUrl,
+                          @Value("${app.cleanup.journal.max-age:7d}") Duration maxAge) {
+        this.enabled = enabled;
+        this.configuredPath = Path.of(path);
+        this.environment = fnv1a(environmentUrl.replaceAll("/+$", ""));
+        this.maxAge = maxAge;
+    }
+
+    @PostConstruct
+    public synchronized void open() {
+        if (!enabled) {
+            log.info("The cleanup journal is disabled");
+            return;
+        }
+
+        try {
+            if (configuredPath.getParent() != null) {
+                Files.createDirectories(configuredPath.getParent());
+            }
+            lock();
+            map(Math.max(channel.size(), HEADER_SIZE + (long) INITIAL_CAPACITY * RECORD_SIZE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open the cleanup journal " + configuredPath, e);
+        }
+
+        if (buffer.getInt(0) != MAGIC) {
+            log.info("Initializing a new cleanup journal {}", path);
+            clear(buffer.capacity());
+            buffer.putInt(0, MAGIC);
+        }
+        var previousOwner = buffer.getInt(4);
+        buffer.putInt(4, (int) ProcessHandle.current().pid());
+
+        writePosition = HEADER_SIZE;
+        while (writePosition + RECORD_SIZE <= buffer.capacity() && buffer.get(writePosition) != 0) {
+            if (!isValid(writePosition)) {
+                log.warn("The cleanup journal {} has a corrupt record at {}, the records from it on are dropped",
+                        path, writePosition);
+                clear(writePosition, buffer.capacity());
+                break;
+            }
+            index(writePosition);
+            writePosition += RECORD_SIZE;
+        }
+        log.debug("The cleanup journal {} left by the run {} contains {} records", path, previousOwner,
+                (writePosition - HEADER_SIZE) / RECORD_SIZE);
+    }
+
+    /**
+     * Returns whether the journal is enabled
+     *
+     * @return true if the created entities are journaled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Appends a created entity to the journal
+     *
+     * @param item the created {@link BookDto} or {@link AuthorDto}
+     */
+    public synchronized void append(Object item) {
+        if (!enabled) {
+            return;
+        }
+
+        var entry = Entry.of(item);
+        if (writePosition + RECORD_SIZE > buffer.capacity()) {
+            grow();
+        }
+
+        // the type byte is written last as a non-zero type marks a complete record
+        buffer.putInt(writePosition + 4, entry.id());
+        buffer.putLong(writePosition + 8, System.currentTimeMillis());
+        buffer.putLong(writePosition + 16, environment);
+        buffer.putLong(writePosition + 24, fingerprint(item));
+        buffer.put(writePosition + 1, PENDING);
+        buffer.put(writePosition, (byte) entry.type().ordinal());
+        positions.put(entry, writePosition);
+        writePosition += RECORD_SIZE;
+    }
+
+    /**
+     * Records the new fingerprint of an updated entity, so that the entity is still recognized as the journaled one
+     *
+     * @param item the updated {@link BookDto} or {@link AuthorDto}
+     */
+    public synchronized void update(Object item) {
+        if (!enabled) {
+            return;
+        }
+
+        var position = positions.get(Entry.of(item));
+        if (position != null) {
+            buffer.putLong(position + 24, fingerprint(item));
+        }
+    }
+
+    /**
+     * Marks a journaled entity as deleted
+     *
+     * @param item the deleted {@link BookDto} or {@link AuthorDto}
+     */
+    public synchronized void markDeleted(Object item) {
+        if (!enabled) {
+            return;
+        }
+
+        // the position is not needed any more, the map holds only the pending entries
+        var position = positions.remove(Entry.of(item));
+        if (position != null) {
+            buffer.put(position + 1, DELETED);
+        }
+    }
+
+    /**
+     * Marks a leftover as deleted. The record is found by its position, as the leftovers of several environments
+     * may have the same type and id
+     *
+     * @param leftover the deleted or dropped {@link Leftover}
+     */
+    public synchronized void markDeleted(Leftover leftover) {
+        if (!enabled) {
+            return;
+        }
+
+        var position = leftover.position();
+        if (buffer.get(position + 1) != PENDING || !readEntry(position).equals(leftover.entry())) {
+            return;
+        }
+        buffer.put(position + 1, DELETED);
+        positions.remove(leftover.entry(), position);
+    }
+
+    /**
+     * Returns the entries that were not marked as deleted
+     *
+     * @return list of pending {@link Leftover}
+     */
+    public synchronized List<Leftover> getLeftovers() {
+        var leftovers = new ArrayList<Leftover>();
+        if (!enabled) {
+            return leftovers;
+        }
+
+        for (var position = HEADER_SIZE; position < writePosition; position += RECORD_SIZE) {
+            if (buffer.get(position + 1) == PENDING) {
+                leftovers.add(new Leftover(position, readEntry(position),
+                        Instant.ofEpochMilli(buffer.getLong(position + 8)), buffer.getLong(position + 16),
+                        buffer.getLong(position + 24)));
+            }
+        }
+        return leftovers;
+    }
+
+    /**
+     * Returns whether the leftover was created in the environment of this journal
+     *
+     * @param leftover the journaled {@link Leftover}
+     * @return true if the environment fingerprints match
+     */
+    public boolean isOwnEnvironment(Leftover leftover) {
+        return leftover.environment() == environment;
+    }
+
+    /**
+     * Returns whether the leftover is older than the {@code app.cleanup.journal.max-age}
+     *
+     * @param leftover the journaled {@link Leftover}
+     * @return true if the leftover is too old to be removed
+     */
+    public boolean isExpired(Leftover leftover) {
+        return leftover.createdAt().plus(maxAge).isBefore(Instant.now());
+    }
+
+    /**
+     * Rewrites the journal keeping only the pending entries
+     */
+    public synchronized void compact() {
+        if (!enabled) {
+            return;
+        }
+
+        var record = new byte[RECORD_SIZE];
+        var limit = writePosition;
+        positions.clear();
+        writePosition = HEADER_SIZE;
+        for (var position = HEADER_SIZE; position < limit; position += RECORD_SIZE) {
+            if (buffer.get(position + 1) == PENDING) {
+                buffer.get(position, record);
+                buffer.put(writePosition, record);
+                index(writePosition);
+                writePosition += RECORD_SIZE;
+            }
+        }
+        clear(writePosition, limit);
+        buffer.force();
+        log.info("The cleanup journal is compacted, {} pending entries left",
+                (writePosition - HEADER_SIZE) / RECORD_SIZE);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            buffer.force();
+            // closing the channel releases the lock
+            channel.close();
+            HELD_JOURNALS.remove(path);
+            channel = null;
+            lock = null;
+        }
+    }
+
+    /**
+     * Takes the first journal of the configured path that is not held by another run
+     */
+    private void lock() throws IOException {
+        for (var number = 1; number <= MAX_JOURNALS; number++) {
+            var candidate = journalPath(number).toAbsolutePath().normalize();
+            if (!HELD_JOURNALS.add(candidate)) {
+                log.debug("The cleanup journal {} is held by this run", candidate);
+                continue;
+            }
+
+            var candidateChannel = FileChannel.open(candidate, CREATE, READ, WRITE);
+            var candidateLock = candidateChannel.tryLock();
+            if (candidateLock != null) {
+                path = candidate;
+                channel = candidateChannel;
+                lock = candidateLock;
+                return;
+            }
+            candidateChannel.close();
+            HELD_JOURNALS.remove(candidate);
+            log.debug("The cleanup journal {} is held by another run", candidate);
+        }
+        throw new IllegalStateException("All the " + MAX_JOURNALS + " cleanup journals of " + configuredPath
+                + " are held by the running runs");
+    }
+
+    private Path journalPath(int number) {
+        if (number == 1) {
+            return configuredPath;
+        }
+
+        var fileName = configuredPath.getFileName().toString();
+        var extension = fileName.lastIndexOf('.');
+        return configuredPath.resolveSibling(extension < 0
+                ? fileName + "." + number
+                : fileName.substring(0, extension) + "." + number + fileName.substring(extension));
+    }
+
+    private void grow() {
+        try {
+            map(HEADER_SIZE + 2L * (buffer.capacity() - HEADER_SIZE));
+            log.debug("The cleanup journal is extended to {} bytes", buffer.capacity());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to extend the cleanup journal " + path, e);
+        }
+    }
+
+    private void map(long size) throws IOException {
+        if (buffer != null) {
+            buffer.force();
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private void clear(int limit) {
+        clear(HEADER_SIZE, limit);
+    }
+
+    private void clear(int from, int limit) {
+        for (var position = from; position < limit; position++) {
+            buffer.put(position, (byte) 0);
+        }
+    }
+
+    private void index(int position) {
+        if (buffer.get(position + 1) == PENDING && buffer.getLong(position + 16) == environment) {
+            positions.put(readEntry(position), position);
+        }
+    }
+
+    private boolean isValid(int position) {
+        var type = buffer.get(position);
+        var state = buffer.get(position + 1);
+        return type > 0 && type < Entry.Type.values().length && (state == PENDING || state == DELETED);
+    }
+
+    private Entry readEntry(int position) {
+        return new Entry(Entry.Type.values()[buffer.get(position)], buffer.getInt(position + 4));
+    }
+
+    /**
+     * Returns the fingerprint of an entity: the title of a book or the full name of an author
+     *
+     * @param item the {@link BookDto} or {@link AuthorDto}
+     * @return the 64-bit fingerprint
+     */
+    public static long fingerprint(Object item) {
+        return switch (item) {
+            case BookDto bookDto -> fnv1a(String.valueOf(bookDto.getTitle()));
+            case AuthorDto authorDto -> fnv1a(authorDto.getFirstName() + " " + authorDto.getLastName());
+            default -> throw new IllegalArgumentException("Unexpected object: " + item
+                    + ". Expected either BookDto or the AuthorDto");
+        };
+    }
+
+    // 64-bit FNV-1a of the UTF-8 bytes
+    private static long fnv1a(String value) {
+        var hash = FNV_OFFSET_BASIS;
+        for (var b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Represents a pending entry read from the journal
+     *
+     * @param position the position of the record in the journal
+     * @param entry the journaled entity
+     * @param createdAt the time the entity was journaled
+     * @param environment fingerprint of the environment the entity was created in
+     * @param identity fingerprint of the entity (see {@link CleanUpJournal#fingerprint(Object)})
+     */
+    public record Leftover(int position, Entry entry, Instant createdAt, long environment, long identity) {
+
+        /**
+         * Returns whether the entity found by the id of the leftover is the journaled one
+         *
+         * @param item the fetched {@link BookDto} or {@link AuthorDto}
+         * @return true if the fingerprints match
+         */
+        public boolean isIdentityOf(Object item) {
+            return identity == fingerprint(item);
+        }
+    }
+
+    /**
+     * Represents a journaled entity
+     *
+     * @param type type of the entity
+     * @param id id of the entity
+     */
+    public record Entry(Type type, int id) {
+
+        /**
+         * The entity types. The ordinal is stored in the journal, 0 is reserved for the end of the journal
+         */
+        public enum Type {
+            NONE,
+            BOOK,
+            AUTHOR
+        }
+
+        /**
+         * Creates the journal entry of a {@link BookDto} or {@link AuthorDto}
+         *
+         * @param item the entity
+         * @return the {@link Entry}
+         */
+        public static Entry of(Object item) {
+            return switch (item) {
+                case BookDto bookDto -> new Entry(Type.BOOK, bookDto.getId());
+                case AuthorDto authorDto -> new Entry(Type.AUTHOR, authorDto.getId());
+                default -> throw new IllegalArgumentException("Unexpected object: " + item
+                        + ". Expected either BookDto or the AuthorDto");
+            };
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.avenga.config.cleanup;
+
+import com.avenga.api.service.CleanUpService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Removes the leftovers of the previous runs recorded in the {@link CleanUpJournal}
+ * once the application context is started, i.e. before the first test class is executed.
+ * Runs before the other runners, so that they start with a clean state
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class LeftoverCleanUpRunner implements ApplicationRunner {
+
+    private final CleanUpJournal cleanUpJournal;
+    private final CleanUpService cleanUpService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (cleanUpJournal.isEnabled()) {
+            cleanUpService.cleanUpLeftovers();
+        }
+    }
+}
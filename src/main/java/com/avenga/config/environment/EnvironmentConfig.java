@@ -0,0 +1,12 @@
+package com.avenga.config.environment;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the target environments
+ */
+@Configuration
+@EnableConfigurationProperties(EnvironmentProperties.class)
+public class EnvironmentConfig {
+}
@@ -0,0 +1,22 @@
+package com.avenga.config.environment;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The target environments the suite could be fanned out to
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app")
+public class EnvironmentProperties {
+
+    /**
+     * The base URLs of the target environments by the environment name
+     */
+    private Map<String, String> environments = new LinkedHashMap<>();
+}
@@ -0,0 +1,25 @@
+package com.avenga.config.environment;
+
+import com.avenga.api.service.AuthorService;
+import com.avenga.api.service.BookService;
+import com.avenga.api.service.CleanUpService;
+import com.avenga.config.TestContext;
+import com.avenga.config.cleanup.CleanUpJournal;
+import com.avenga.fixture.FixturePool;
+
+/**
+ * The services bound to a single target environment
+ *
+ * @param name name of the environment
+ * @param url base URL of the environment
+ * @param bookService the {@link BookService} calling the environment
+ * @param authorService the {@link AuthorService} calling the environment
+ * @param cleanUpService the {@link CleanUpService} removing the test data from the environment
+ * @param testContext the cleanup lists of the environment
+ * @param cleanUpJournal the journal of the test data created in the environment
+ * @param fixturePool the fixtures of the environment
+ */
+public record TargetEnvironment(String name, String url, BookService bookService, AuthorService authorService,
+                                CleanUpService cleanUpService, TestContext testContext,
+                                CleanUpJournal cleanUpJournal, FixturePool fixturePool) {
+}
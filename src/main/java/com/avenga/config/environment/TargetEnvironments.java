@@ -0,0 +1,176 @@
+package com.avenga.config.environment;
+
+import com.avenga.api.client.AuthorClient;
+import com.avenga.api.client.BookClient;
+import com.avenga.api.service.AuthorService;
+import com.avenga.api.service.BaseService;
+import com.avenga.api.service.BookService;
+import com.avenga.api.service.CleanUpService;
+import com.avenga.config.TestContext;
+import com.avenga.config.TestDataRandom;
+import com.avenga.config.cleanup.CleanUpJournal;
+import com.avenga.config.feign.Endpoints;
+import com.avenga.fixture.FixturePool;
+import com.avenga.fixture.FixtureProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javafaker.Faker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.FeignClientBuilder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * <p>Creates the clients and the services of the target environments configured in {@link EnvironmentProperties}</p>
+ * <p>The clients of every environment are built by the {@link FeignClientBuilder} on top of the same application
+ * context, so they share the pooled HTTP client and all the client capabilities (logging, accounting, tracing etc.).
+ * The client names are tagged with the environment (e.g. {@code book-client@staging}), so the per-endpoint
+ * statistics are tagged as well (see {@link Endpoints#of(feign.Request)})</p>
+ * <p>Every environment has its own {@link TestContext} and {@link CleanUpJournal}, so the test data is always
+ * removed from the environment it was created in, and its own {@link FixturePool}.
+ * The environments are created lazily on the first use. The map only holds a {@link FutureTask} per environment,
+ * the clients are built and the leftovers are removed outside of it, so creating one environment never blocks
+ * the others</p>
+ */
+@Slf4j
+@Component
+public class TargetEnvironments {
+
+    private final ApplicationContext applicationContext;
+    private final EnvironmentProperties environmentProperties;
+    private final Faker faker;
+    private final TestDataRandom testDataRandom;
+    private final ObjectMapper objectMapper;
+    private final FixtureProperties fixtureProperties;
+    private final boolean journalEnabled;
+    private final Path journalPath;
+    private final Duration journalMaxAge;
+    private final int sweepThreads;
+    private final Map<String, FutureTask<TargetEnvironment>> environments = new ConcurrentHashMap<>();
+
+    public TargetEnvironments(ApplicationContext applicationContext, EnvironmentProperties environmentProperties,
+                              Faker faker, TestDataRandom testDataRandom, ObjectMapper objectMapper,
+                              FixtureProperties fixtureProperties,
+                              @Value("${app.cleanup.journal.enabled:true}") boolean journalEnabled,
+                              @Value("${app.cleanup.journal.path:.cleanup/cleanup.journal}") String journalPath,
+                              @Value("${app.cleanup.journal.max-age:7d}") Duration journalMaxAge,
+                              @Value("${app.cleanup.journal.sweep-threads:4}") int sweepThreads) {
+        this.applicationContext = applicationContext;
+        this.environmentProperties = environmentProperties;
+        this.faker = faker;
+        this.testDataRandom = testDataRandom;
+        this.objectMapper = objectMapper;
+        this.fixtureProperties = fixtureProperties;
+        this.journalEnabled = journalEnabled;
+        this.journalPath = Path.of(journalPath);
+        this.journalMaxAge = journalMaxAge;
+        this.sweepThreads = sweepThreads;
+    }
+
+    /**
+     * Returns the services of the target environment, creating them on the first call
+     *
+     * @param name name of the environment as configured in {@code app.environments}
+     * @return the {@link TargetEnvironment}
+     */
+    public TargetEnvironment get(String name) {
+        var creation = environments.computeIfAbsent(name, key -> new FutureTask<>(() -> create(key)));
+        // the first caller creates the environment, the concurrent ones wait for it
+        creation.run();
+        try {
+            return creation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while creating the " + name + " environment", e);
+        } catch (ExecutionException e) {
+            // a failed creation is not cached, the next call tries again
+            environments.remove(name, creation);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Could not create the " + name + " environment", e.getCause());
+        }
+    }
+
+    /**
+     * Returns the environments created so far
+     *
+     * @return collection of {@link TargetEnvironment}
+     */
+    public Collection<TargetEnvironment> created() {
+        return environments.values().stream()
+                .filter(creation -> creation.state() == Future.State.SUCCESS)
+                .map(Future::resultNow)
+                .toList();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        for (var environment : created()) {
+            environment.cleanUpJournal().close();
+        }
+    }
+
+    private TargetEnvironment create(String name) {
+        var url = environmentProperties.getEnvironments().get(name);
+        if (url == null) {
+            throw new IllegalArgumentException("Unknown target environment: " + name
+                    + ". Configured environments: " + environmentProperties.getEnvironments().keySet());
+        }
+
+        log.info("Creating the clients of the {} environment: {}", name, url);
+        var bookClient = client(BookClient.class, "book-client", name, url);
+        var authorClient = client(AuthorClient.class, "author-client", name, url);
+
+        var cleanUpJournal = new CleanUpJournal(journalEnabled, journalPath(name).toString(), url, journalMaxAge);
+        cleanUpJournal.open();
+        var testContext = new TestContext(cleanUpJournal);
+
+        var bookService = inject(new BookService(bookClient), testContext);
+        var authorService = inject(new AuthorService(authorClient), testContext);
+        var cleanUpService = inject(new CleanUpService(bookService, authorService, bookClient, authorClient,
+                cleanUpJournal, sweepThreads), testContext);
+
+        if (cleanUpJournal.isEnabled()) {
+            cleanUpService.cleanUpLeftovers();
+        }
+
+        var fixturePool = new FixturePool(bookService, authorService, testContext, fixtureProperties);
+        return new TargetEnvironment(name, url, bookService, authorService, cleanUpService, testContext,
+                cleanUpJournal, fixturePool);
+    }
+
+    private <T> T client(Class<T> type, String clientName, String environment, String url) {
+        return new FeignClientBuilder(applicationContext)
+                .forType(type, clientName + Endpoints.ENVIRONMENT_SEPARATOR + environment)
+                .url(url)
+                .build();
+    }
+
+    private <T extends BaseService> T inject(T service, TestContext testContext) {
+        service.setTestContext(testContext);
+        service.setFaker(faker);
+        service.setTestDataRandom(testDataRandom);
+        service.setObjectMapper(objectMapper);
+        return service;
+    }
+
+    private Path journalPath(String environment) {
+        var fileName = journalPath.getFileName().toString();
+        var extension = fileName.lastIndexOf('.');
+        return journalPath.resolveSibling(extension < 0
+                ? fileName + "-" + environment
+                : fileName.substring(0, extension) + "-" + environment + fileName.substring(extension));
+    }
+}
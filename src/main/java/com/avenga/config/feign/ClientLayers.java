@@ -0,0 +1,24 @@
+package com.avenga.config.feign;
+
+/**
+ * <p>The order of the {@link feign.Client} decorators contributed by the {@link feign.Capability} beans</p>
+ * <p>The capabilities are applied in ascending order, so the lower the value the closer the decorator
+ * is to the wire</p>
+ */
+public final class ClientLayers {
+
+    public static final int STREAMING = 50;
+    public static final int PHASE_TIMING = 75;
+    public static final int COMPRESSION = 100;
+    public static final int RECORDING = 200;
+    public static final int FAULT_INJECTION = 300;
+    public static final int BASELINE = 350;
+    public static final int TELEMETRY = 375;
+    public static final int RATE_LIMIT = 400;
+    public static final int ACCOUNTING = 500;
+    public static final int TRACING = 600;
+    public static final int JFR = 700;
+
+    private ClientLayers() {
+    }
+}
@@ -1,14 +1,20 @@
 package com.avenga.config.feign;
 
+import com.avenga.config.feign.compression.CompressingClient;
+import com.avenga.config.feign.streaming.StreamingBodies;
 import feign.Logger;
 import feign.Request;
 import feign.Response;
+import io.qameta.allure.Allure;
 import io.qameta.allure.Attachment;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.IOUtils;
 import org.springframework.http.HttpHeaders;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.util.List;
 
 /**
  * Custom logger for the Feign HTTP clients. Makes the request/response logging more readable
@@ -16,11 +22,18 @@ import java.io.IOException;
 @Slf4j
 public class CustomFeignLogger extends Logger {
 
+    /**
+     * The number of the bytes of a body that are logged and attached, the rest is truncated
+     */
+    private static final int MAX_LOGGED_BODY = 64 * 1024;
+
     /**
      * Logs the HTTP request in a more readable way
      *
      * <p>This method overrides the standard behavior of {@code feign.Logger#logRequest}
-     * to output the formatted request to logs and create an Allure attachment
+     * to output the formatted request to logs and create an Allure attachment.
+     * The request line is logged at INFO, the headers and the body at DEBUG. The body is turned into a string
+     * only if it is logged or attached, the large bodies are truncated and the streamed ones are not logged
      *
      * @param configKey The unique configuration key for the Feign client (typically the class name)
      * @param logLevel The logging level applicable to this specific request
@@ -28,29 +41,44 @@ public class CustomFeignLogger extends Logger {
      */
     @Override
     protected void logRequest(String configKey, Level logLevel, Request request) {
-        var requestBody = request.charset() == null ? "<No Content>" : new String(request.body(), request.charset());
-        var authHeader = request.headers().get(HttpHeaders.AUTHORIZATION) == null
-                ? "<No Authentication header>"
-                : request.headers()
-                .get(HttpHeaders.AUTHORIZATION)
-                .stream()
-                .findFirst()
-                .orElse("<No Authentication header>");
-
-        log.info("__________ REQUEST __________");
-        log.info("{} {}", request.httpMethod().name(), request.url());
-        log.info("Authorization: {}", authHeader);
-        log.info("Body: {}", requestBody);
-        log.info("__________   END   __________");
-
-        attachBody(requestBody);
+        log.info("--> {} {}", request.httpMethod().name(), request.url());
+
+        var attach = isTestRunning();
+        if (!log.isDebugEnabled() && !attach) {
+            return;
+        }
+
+        var requestBody = StreamingBodies.isStreamed(request)
+                ? "<Streamed JSON body>"
+                : request.charset() == null || request.body() == null
+                ? "<No Content>"
+                : loggedText(request.body(), request.body().length, request.charset());
+
+        if (log.isDebugEnabled()) {
+            var authHeader = request.headers().getOrDefault(HttpHeaders.AUTHORIZATION, List.of()).stream()
+                    .findFirst()
+                    .orElse("<No Authentication header>");
+
+            log.debug("__________ REQUEST __________");
+            log.debug("{} {}", request.httpMethod().name(), request.url());
+            log.debug("Authorization: {}", authHeader);
+            log.debug("Body: {}", requestBody);
+            log.debug("__________   END   __________");
+        }
+        if (attach) {
+            attachBody(requestBody);
+        }
     }
 
     /**
      * Logs the HTTP response in a more readable way
      *
      * <p>This overrides the standard {@code feign.Logger#logAndRebufferResponse}
-     * to provide custom logging and Allure attachment functionality
+     * to provide custom logging and Allure attachment functionality.
+     * A compressed ({@code gzip}/{@code deflate}) body is decoded before logging.
+     * The status line is logged at INFO, the body at DEBUG. The body is read and re-buffered only if it is
+     * logged or attached, otherwise the response is passed on as a stream. Of the large bodies only the logged
+     * beginning is buffered, the rest is passed on as a stream
      *
      * @param configKey The unique configuration key for the Feign client (typically the class name)
      * @param logLevel The logging level applicable to this specific response
@@ -62,18 +90,53 @@ public class CustomFeignLogger extends Logger {
     @Override
     protected Response logAndRebufferResponse(String configKey, Level logLevel, Response response, long elapsedTime)
             throws IOException {
-        var responseBody = response.body() == null
-                ? "<No Content>"
-                : IOUtils.toString(response.body().asInputStream(), response.charset());
+        log.info("<-- {} {} ({} ms)", response.status(), response.request().url(), elapsedTime);
+
+        // the body is still encoded if the compressed transfer was not negotiated by the CompressingClient
+        var encoding = CompressingClient.contentEncoding(response.headers());
+        var attach = isTestRunning();
+
+        if (!log.isDebugEnabled() && !attach) {
+            return encoding == null || response.body() == null
+                    ? response
+                    : response.toBuilder()
+                    .body(CompressingClient.decode(response.body().asInputStream(), encoding), null)
+                    .headers(CompressingClient.withoutEncodingHeaders(response.headers()))
+                    .build();
+        }
 
-        log.info("__________ RESPONSE _________");
-        log.info("Status: {}", response.status());
-        log.info("Body: {}", responseBody);
-        log.info("__________   END   __________");
+        var body = response.body() == null
+                ? null
+                : encoding == null
+                ? response.body().asInputStream()
+                : CompressingClient.decode(response.body().asInputStream(), encoding);
+        var beginning = body == null ? null : body.readNBytes(MAX_LOGGED_BODY + 1);
+        var responseBody = beginning == null
+                ? "<No Content>"
+                : loggedText(beginning, beginning.length, response.charset());
 
-        attachBody(responseBody);
+        if (log.isDebugEnabled()) {
+            log.debug("__________ RESPONSE _________");
+            log.debug("Status: {}", response.status());
+            if (encoding != null) {
+                log.debug("Content-Encoding: {}", encoding);
+            }
+            log.debug("Body: {}", responseBody);
+            log.debug("__________   END   __________");
+        }
+        if (attach) {
+            attachBody(responseBody);
+        }
 
-        return response.toBuilder().body(responseBody, response.charset()).build();
+        var responseBuilder = beginning == null
+                ? response.toBuilder()
+                : beginning.length <= MAX_LOGGED_BODY
+                ? response.toBuilder().body(beginning)
+                : response.toBuilder().body(new SequenceInputStream(new ByteArrayInputStream(beginning), body),
+                        encoding == null ? response.body().length() : null);
+        return encoding == null
+                ? responseBuilder.build()
+                : responseBuilder.headers(CompressingClient.withoutEncodingHeaders(response.headers())).build();
     }
 
     @Override
@@ -81,6 +144,20 @@ public class CustomFeignLogger extends Logger {
         // Intentionally left blank to prevent default logging if custom logRequest/logAndRebufferResponse are used
     }
 
+    /**
+     * Decodes the logged beginning of a body
+     *
+     * @param body the body or its beginning
+     * @param length the number of the bytes of the body
+     * @param charset the charset of the body
+     * @return the text to log
+     */
+    private String loggedText(byte[] body, int length, Charset charset) {
+        return length <= MAX_LOGGED_BODY
+                ? new String(body, 0, length, charset)
+                : new String(body, 0, MAX_LOGGED_BODY, charset) + "... <truncated>";
+    }
+
     /**
      * Attaches the given string content as an attachment to the Allure report
      *
@@ -91,4 +168,13 @@ public class CustomFeignLogger extends Logger {
     private String attachBody(String body) {
         return body;
     }
+
+    /**
+     * Checks whether the current thread runs an Allure test, the bodies are attached only to the tests
+     *
+     * @return {@code true} if there is a test case to attach to
+     */
+    private boolean isTestRunning() {
+        return Allure.getLifecycle().getCurrentTestCase().isPresent();
+    }
 }
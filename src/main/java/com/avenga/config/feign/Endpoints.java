@@ -0,0 +1,66 @@
+package com.avenga.config.feign;
+
+import feign.Request;
+
+/**
+ * Resolves the endpoint names used for the per-endpoint statistics and configuration
+ */
+public final class Endpoints {
+
+    /**
+     * Separates the client name from the target environment name, e.g. {@code book-client@staging}
+     */
+    public static final String ENVIRONMENT_SEPARATOR = "@";
+
+    private Endpoints() {
+    }
+
+    /**
+     * Returns the endpoint name tagged with the target environment if the request was issued by
+     * an environment client, e.g. {@code BookClient#getBooks@staging}, otherwise the plain {@link #method(Request)}
+     *
+     * @param request the Feign {@link Request}
+     * @return the endpoint name
+     */
+    public static String of(Request request) {
+        var environment = environment(request);
+        return environment == null ? method(request) : method(request) + ENVIRONMENT_SEPARATOR + environment;
+    }
+
+    /**
+     * Returns the name of the client method that issued the request, e.g. {@code BookClient#getBooks}.
+     * Falls back to the HTTP method and URL if the request was not built from a client method
+     *
+     * @param request the Feign {@link Request}
+     * @return the endpoint name
+     */
+    public static String method(Request request) {
+        var template = request.requestTemplate();
+
+        if (template == null || template.methodMetadata() == null) {
+            return request.httpMethod().name() + " " + request.url();
+        }
+
+        var configKey = template.methodMetadata().configKey();
+        var parametersStart = configKey.indexOf('(');
+        return parametersStart < 0 ? configKey : configKey.substring(0, parametersStart);
+    }
+
+    /**
+     * Returns the name of the target environment the request was issued to
+     *
+     * @param request the Feign {@link Request}
+     * @return the environment name or null if the request was issued by a default client
+     */
+    public static String environment(Request request) {
+        var template = request.requestTemplate();
+
+        if (template == null || template.feignTarget() == null) {
+            return null;
+        }
+
+        var clientName = template.feignTarget().name();
+        var separator = clientName.indexOf(ENVIRONMENT_SEPARATOR);
+        return separator < 0 ? null : clientName.substring(separator + 1);
+    }
+}
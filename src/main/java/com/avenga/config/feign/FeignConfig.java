@@ -1,13 +1,57 @@
 package com.avenga.config.feign;
 
+import com.avenga.config.TestDataRandom;
+import com.avenga.config.feign.accounting.AccountingCapability;
+import com.avenga.config.feign.accounting.CallAccounting;
+import com.avenga.config.feign.baseline.BaselineCapability;
+import com.avenga.config.feign.baseline.BaselineProperties;
+import com.avenga.config.feign.baseline.LatencyBaseline;
+import com.avenga.config.feign.cassette.CassetteProperties;
+import com.avenga.config.feign.cassette.CassetteReader;
+import com.avenga.config.feign.cassette.CassetteWriter;
+import com.avenga.config.feign.cassette.RecordingCapability;
+import com.avenga.config.feign.cassette.ReplayClient;
+import com.avenga.config.feign.cassette.RequestMatcher;
+import com.avenga.config.feign.coalescing.CoalescingCapability;
+import com.avenga.config.feign.coalescing.CoalescingProperties;
+import com.avenga.config.feign.coalescing.RequestCoalescer;
+import com.avenga.config.feign.compression.CompressionCapability;
+import com.avenga.config.feign.compression.TransferStats;
+import com.avenga.config.feign.fault.FaultInjectionCapability;
+import com.avenga.config.feign.fault.FaultProperties;
+import com.avenga.config.feign.phases.PhaseStats;
+import com.avenga.config.feign.phases.PhaseTimingCapability;
+import com.avenga.config.feign.ratelimit.RateLimitCapability;
+import com.avenga.config.feign.ratelimit.RateLimitProperties;
+import com.avenga.config.feign.ratelimit.RateLimiter;
+import com.avenga.config.feign.streaming.StreamingCapability;
+import com.avenga.config.feign.streaming.StreamingProperties;
+import com.avenga.config.jfr.JfrCapability;
+import com.avenga.config.telemetry.TelemetryCapability;
+import com.avenga.config.trace.TracingCapability;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Client;
 import feign.Logger;
+import feign.httpclient.ApacheHttpClient;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.nio.file.Path;
+
 /**
  * Feign configuration class responsible for defining and setting up beans related to Feign client behavior
  */
 @Configuration
+@EnableConfigurationProperties({CassetteProperties.class, FaultProperties.class, BaselineProperties.class,
+        RateLimitProperties.class, StreamingProperties.class, CoalescingProperties.class})
 public class FeignConfig {
 
     /**
@@ -29,4 +73,304 @@ public class FeignConfig {
     Logger.Level feignLoggerLevel() {
         return Logger.Level.BASIC;
     }
+
+    /**
+     * Defines the connection pool shared by all the Feign clients, configured by
+     * {@code spring.cloud.openfeign.httpclient} (see {@link PooledHttpClients})
+     *
+     * @param httpClientProperties the Spring Cloud OpenFeign HTTP client settings
+     * @param phaseTimings whether the phases of the HTTP exchanges are measured
+     * @return an instance of {@link PoolingHttpClientConnectionManager}
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager httpConnectionManager(
+            FeignHttpClientProperties httpClientProperties,
+            @Value("${app.feign.phases.enabled:false}") boolean phaseTimings) {
+        return PooledHttpClients.connectionManager(httpClientProperties, phaseTimings);
+    }
+
+    /**
+     * Defines the Apache HTTP client used as the Feign transport (see {@link PooledHttpClients})
+     *
+     * @param httpConnectionManager the shared {@link PoolingHttpClientConnectionManager}
+     * @param httpClientProperties the Spring Cloud OpenFeign HTTP client settings
+     * @param phaseTimings whether the phases of the HTTP exchanges are measured
+     * @return an instance of {@link CloseableHttpClient}
+     */
+    @Bean
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager,
+                                          FeignHttpClientProperties httpClientProperties,
+                                          @Value("${app.feign.phases.enabled:false}") boolean phaseTimings) {
+        return PooledHttpClients.httpClient(httpConnectionManager, httpClientProperties, phaseTimings);
+    }
+
+    /**
+     * Defines the Feign transport {@link Client} shared by all the Feign clients.
+     * In the replay mode the responses are served from the cassette instead of the network
+     *
+     * @param httpClient the {@link CloseableHttpClient} bean
+     * @param cassetteProperties the record-and-replay settings
+     * @param cassetteReader the {@link CassetteReader} bean of the replay mode
+     * @return an instance of {@link ApacheHttpClient} or {@link ReplayClient}
+     */
+    @Bean
+    public Client feignClient(CloseableHttpClient httpClient, CassetteProperties cassetteProperties,
+                              ObjectProvider<CassetteReader> cassetteReader) {
+        if (cassetteProperties.getMode() == CassetteProperties.Mode.REPLAY) {
+            return new ReplayClient(new RequestMatcher(cassetteProperties.getMatch()), cassetteReader.getObject(),
+                    cassetteProperties.isFallbackWithoutBody());
+        }
+        return new ApacheHttpClient(httpClient);
+    }
+
+    /**
+     * Defines the cassette the responses are served from in the replay mode
+     *
+     * @param cassetteProperties the record-and-replay settings
+     * @return an instance of {@link CassetteReader}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.feign.cassette.mode", havingValue = "replay")
+    public CassetteReader cassetteReader(CassetteProperties cassetteProperties) {
+        return new CassetteReader(Path.of(cassetteProperties.getPath()));
+    }
+
+    /**
+     * Defines the cassette the exchanges are recorded to in the record mode.
+     * The index of the cassette is written when the application context is closed
+     *
+     * @param cassetteProperties the record-and-replay settings
+     * @param testDataRandom the seeded source of the test data, its seed is recorded to the cassette
+     * @return an instance of {@link CassetteWriter}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.feign.cassette.mode", havingValue = "record")
+    public CassetteWriter cassetteWriter(CassetteProperties cassetteProperties, TestDataRandom testDataRandom) {
+        return new CassetteWriter(Path.of(cassetteProperties.getPath()), testDataRandom.getSeed(),
+                testDataRandom.getStartTime());
+    }
+
+    /**
+     * Enables the recording of the exchanges to the cassette
+     *
+     * @param cassetteProperties the record-and-replay settings
+     * @param cassetteWriter the {@link CassetteWriter} bean
+     * @return an instance of {@link RecordingCapability}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.feign.cassette.mode", havingValue = "record")
+    public RecordingCapability recordingCapability(CassetteProperties cassetteProperties,
+                                                   CassetteWriter cassetteWriter) {
+        return new RecordingCapability(new RequestMatcher(cassetteProperties.getMatch()), cassetteWriter);
+    }
+
+    /**
+     * Enables the streaming of the large request bodies straight to the connection.
+     * The streamed bodies are not recorded, so the streaming is enabled only without the cassette
+     *
+     * @param httpClient the {@link CloseableHttpClient} bean
+     * @param objectMapper the {@link ObjectMapper} serializing the streamed bodies
+     * @param streamingProperties the streaming settings
+     * @return an instance of {@link StreamingCapability}
+     */
+    @Bean
+    @ConditionalOnExpression("${app.feign.streaming.enabled:false} and '${app.feign.cassette.mode:off}' == 'off'")
+    public StreamingCapability streamingCapability(CloseableHttpClient httpClient, ObjectMapper objectMapper,
+                                                   StreamingProperties streamingProperties) {
+        return new StreamingCapability(httpClient, objectMapper, streamingProperties.getThreshold().toBytes());
+    }
+
+    /**
+     * Defines the {@link TransferStats} gathering the response bytes per endpoint
+     *
+     * @return an instance of {@link TransferStats}
+     */
+    @Bean
+    public TransferStats transferStats() {
+        return new TransferStats();
+    }
+
+    /**
+     * Enables the compressed transfer of the response bodies
+     *
+     * @param transferStats the {@link TransferStats} bean
+     * @return an instance of {@link CompressionCapability}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.feign.compression.enabled", havingValue = "true")
+    public CompressionCapability compressionCapability(TransferStats transferStats) {
+        return new CompressionCapability(transferStats);
+    }
+
+    /**
+     * Enables the latency and fault injection configured with the {@link FaultProperties}
+     *
+     * @param faultProperties the fault injection settings
+     * @return an instance of {@link FaultInjectionCapability}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.feign.faults.enabled", havingValue = "true")
+    public FaultInjectionCapability faultInjectionCapability(FaultProperties faultProperties) {
+        return new FaultInjectionCapability(faultProperties);
+    }
+
+    /**
+     * Defines the {@link RateLimiter} holding the token buckets
+     *
+     * @param rateLimitProperties the rate limiting settings
+     * @return an instance of {@link RateLimiter}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.feign.rate-limit.enabled", havingValue = "true")
+    public RateLimiter rateLimiter(RateLimitProperties rateLimitProperties) {
+        return new RateLimiter(rateLimitProperties);
+    }
+
+    /**
+     * Enables the client-side rate limiting and the retries of the throttled requests
+     *
+     * @param rateLimiter the {@link RateLimiter} bean
+     * @param rateLimitProperties the rate limiting settings
+     * @return an instance of {@link RateLimitCapability}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.feign.rate-limit.enabled", havingValue = "true")
+    public RateLimitCapability rateLimitCapability(RateLimiter rateLimiter, RateLimitProperties rateLimitProperties) {
+        return new RateLimitCapability(rateLimiter, rateLimitProperties);
+    }
+
+    /**
+     * Defines the {@link CallAccounting} gathering the HTTP calls per test
+     *
+     * @param top number of the worst tests listed in the report
+     * @param reportPath the CSV file with the calls per test and endpoint
+     * @return an instance of {@link CallAccounting}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.feign.accounting.enabled", havingValue = "true")
+    public CallAccounting callAccounting(@Value("${app.feign.accounting.top:10}") int top,
+                                         @Value("${app.feign.accounting.report-path:target/http-calls.csv}")
+                                         String reportPath) {
+        return new CallAccounting(top, Path.of(reportPath));
+    }
+
+    /**
+     * Enables the accounting of the HTTP calls per test
+     *
+     * @param callAccounting the {@link CallAccounting} bean
+     * @return an instance of {@link AccountingCapability}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.feign.accounting.enabled", havingValue = "true")
+    public AccountingCapability accountingCapability(CallAccounting callAccounting) {
+        return new AccountingCapability(callAccounting);
+    }
+
+    /**
+     * Defines the {@link PhaseStats} gathering the phase timings of the HTTP calls per endpoint
+     *
+     * @param reportPath the CSV file with the phase percentiles per endpoint
+     * @return an instance of {@link PhaseStats}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.feign.phases.enabled", havingValue = "true")
+    public PhaseStats phaseStats(@Value("${app.feign.phases.report-path:target/http-phases.csv}") String reportPath) {
+        return new PhaseStats(Path.of(reportPath));
+    }
+
+    /**
+     * Enables the measurement of the phases of the HTTP calls
+     *
+     * @param phaseStats the {@link PhaseStats} bean
+     * @return an instance of {@link PhaseTimingCapability}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.feign.phases.enabled", havingValue = "true")
+    public PhaseTimingCapability phaseTimingCapability(PhaseStats phaseStats) {
+        return new PhaseTimingCapability(phaseStats);
+    }
+
+    /**
+     * Defines the {@link LatencyBaseline} comparing the latencies of the run with the previous runs
+     *
+     * @param baselineProperties the regression detection settings
+     * @return an instance of {@link LatencyBaseline}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.feign.baseline.enabled", havingValue = "true")
+    public LatencyBaseline latencyBaseline(BaselineProperties baselineProperties) {
+        return new LatencyBaseline(baselineProperties);
+    }
+
+    /**
+     * Enables the recording of the HTTP call latencies for the regression detection
+     *
+     * @param latencyBaseline the {@link LatencyBaseline} bean
+     * @return an instance of {@link BaselineCapability}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.feign.baseline.enabled", havingValue = "true")
+    public BaselineCapability baselineCapability(LatencyBaseline latencyBaseline) {
+        return new BaselineCapability(latencyBaseline);
+    }
+
+    /**
+     * Enables the recording of the HTTP call spans to the {@link com.avenga.config.trace.TraceRecorder}
+     *
+     * @return an instance of {@link TracingCapability}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.trace.enabled", havingValue = "true")
+    public TracingCapability tracingCapability() {
+        return new TracingCapability();
+    }
+
+    /**
+     * Enables the counting of the HTTP calls in the {@link com.avenga.config.telemetry.RunTelemetry}
+     *
+     * @return an instance of {@link TelemetryCapability}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.telemetry.enabled", havingValue = "true")
+    public TelemetryCapability telemetryCapability() {
+        return new TelemetryCapability();
+    }
+
+    /**
+     * Enables the emission of the {@link com.avenga.config.jfr.HttpExchangeEvent}s.
+     * The events are recorded only while a flight recording is running
+     *
+     * @return an instance of {@link JfrCapability}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.jfr.events.enabled", havingValue = "true")
+    public JfrCapability jfrCapability() {
+        return new JfrCapability();
+    }
+
+    /**
+     * Defines the {@link RequestCoalescer} sharing the in-flight calls between the identical concurrent calls
+     *
+     * @param objectMapper the {@link ObjectMapper} buffering the shared results
+     * @return an instance of {@link RequestCoalescer}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.feign.coalescing.enabled", havingValue = "true")
+    public RequestCoalescer requestCoalescer(ObjectMapper objectMapper) {
+        return new RequestCoalescer(objectMapper);
+    }
+
+    /**
+     * Enables the request coalescing for the client methods listed in {@code app.feign.coalescing.endpoints}
+     *
+     * @param requestCoalescer the {@link RequestCoalescer} bean
+     * @param coalescingProperties the request coalescing settings
+     * @return an instance of {@link CoalescingCapability}
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.feign.coalescing.enabled", havingValue = "true")
+    public CoalescingCapability coalescingCapability(RequestCoalescer requestCoalescer,
+                                                     CoalescingProperties coalescingProperties) {
+        return new CoalescingCapability(requestCoalescer, coalescingProperties.getEndpoints());
+    }
 }
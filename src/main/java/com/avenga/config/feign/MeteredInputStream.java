@@ -0,0 +1,81 @@
+package com.avenga.config.feign;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * An {@link InputStream} counting the bytes read through it. The count is reported once,
+ * when the end of the stream is reached or the stream is closed, whatever happens first
+ */
+public class MeteredInputStream extends FilterInputStream {
+
+    private final LongConsumer onFinish;
+    private long count;
+    private boolean finished;
+
+    public MeteredInputStream(InputStream in, LongConsumer onFinish) {
+        super(in);
+        this.onFinish = onFinish;
+    }
+
+    @Override
+    public int read() throws IOException {
+        var value = super.read();
+        if (value < 0) {
+            finish();
+        } else {
+            count++;
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        var read = super.read(buffer, offset, length);
+        if (read < 0) {
+            finish();
+        } else {
+            count += read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        var skipped = super.skip(n);
+        count += skipped;
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            finish();
+        }
+    }
+
+    /**
+     * Returns the number of bytes read so far
+     *
+     * @return number of bytes
+     */
+    public long getCount() {
+        return count;
+    }
+
+    private void finish() {
+        if (!finished) {
+            finished = true;
+            onFinish.accept(count);
+        }
+    }
+}
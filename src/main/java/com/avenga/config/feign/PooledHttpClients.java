@@ -0,0 +1,104 @@
+package com.avenga.config.feign;
+
+import com.avenga.config.feign.phases.TimingDnsResolver;
+import com.avenga.config.feign.phases.TimingRequestExecutor;
+import com.avenga.config.feign.phases.TimingSocketFactory;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.conn.ssl.TrustAllStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.ssl.SSLContexts;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+
+import java.security.GeneralSecurityException;
+
+/**
+ * <p>Builds the pooled Apache HTTP client used as the Feign transport from the
+ * {@code spring.cloud.openfeign.httpclient} settings, as the Spring Cloud OpenFeign client it replaces does:
+ * the pool sizes, the time to live of the connections, the connect timeout, the redirects and the disabled
+ * SSL validation</p>
+ * <p>With the phase timings the host name resolution, the connect and the TLS handshake of the new connections,
+ * the time to the response headers and the reuse of the connections are measured</p>
+ */
+public final class PooledHttpClients {
+
+    private PooledHttpClients() {
+    }
+
+    /**
+     * Creates the connection pool
+     *
+     * @param properties the Spring Cloud OpenFeign HTTP client settings
+     * @param phaseTimings whether the phases of the HTTP exchanges are measured
+     * @return a new {@link PoolingHttpClientConnectionManager}
+     */
+    public static PoolingHttpClientConnectionManager connectionManager(FeignHttpClientProperties properties,
+                                                                       boolean phaseTimings) {
+        ConnectionSocketFactory plainSocketFactory = PlainConnectionSocketFactory.getSocketFactory();
+        ConnectionSocketFactory sslSocketFactory = sslSocketFactory(properties.isDisableSslValidation());
+
+        if (phaseTimings) {
+            plainSocketFactory = new TimingSocketFactory(plainSocketFactory);
+            sslSocketFactory = new TimingSocketFactory(sslSocketFactory);
+        }
+
+        var connectionManager = new PoolingHttpClientConnectionManager(RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", plainSocketFactory)
+                .register("https", sslSocketFactory)
+                .build(), null, null, phaseTimings ? new TimingDnsResolver() : null, properties.getTimeToLive(),
+                properties.getTimeToLiveUnit());
+
+        connectionManager.setMaxTotal(properties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+        return connectionManager;
+    }
+
+    /**
+     * Creates the HTTP client on the connection pool.
+     * The transparent content decompression is disabled, the compressed transfer is handled by the
+     * {@link com.avenga.config.feign.compression.CompressingClient} which measures the bytes on the wire.
+     * The expired connections are evicted from the pool in the background
+     *
+     * @param connectionManager the connection pool
+     * @param properties the Spring Cloud OpenFeign HTTP client settings
+     * @param phaseTimings whether the phases of the HTTP exchanges are measured
+     * @return a new {@link CloseableHttpClient}
+     */
+    public static CloseableHttpClient httpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                 FeignHttpClientProperties properties, boolean phaseTimings) {
+        var builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(properties.getConnectionTimeout())
+                        .setRedirectsEnabled(properties.isFollowRedirects())
+                        .build())
+                .evictExpiredConnections()
+                .disableContentCompression()
+                .disableCookieManagement();
+
+        if (phaseTimings) {
+            builder.setRequestExecutor(new TimingRequestExecutor());
+        }
+        return builder.build();
+    }
+
+    private static SSLConnectionSocketFactory sslSocketFactory(boolean disableSslValidation) {
+        if (!disableSslValidation) {
+            return SSLConnectionSocketFactory.getSocketFactory();
+        }
+
+        try {
+            return new SSLConnectionSocketFactory(SSLContexts.custom()
+                    .loadTrustMaterial(TrustAllStrategy.INSTANCE)
+                    .build(), NoopHostnameVerifier.INSTANCE);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to create the SSL context trusting all the certificates", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.avenga.config.feign.accounting;
+
+import com.avenga.config.feign.ClientLayers;
+import feign.Capability;
+import feign.Client;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+
+/**
+ * Feign {@link Capability} wrapping the transport with the {@link AccountingClient}
+ */
+@RequiredArgsConstructor
+public class AccountingCapability implements Capability, Ordered {
+
+    private final CallAccounting callAccounting;
+
+    @Override
+    public Client enrich(Client client) {
+        return new AccountingClient(client, callAccounting);
+    }
+
+    @Override
+    public int getOrder() {
+        return ClientLayers.ACCOUNTING;
+    }
+}
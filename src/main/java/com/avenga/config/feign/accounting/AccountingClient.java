@@ -0,0 +1,47 @@
+package com.avenga.config.feign.accounting;
+
+import com.avenga.config.TestOwnerContext;
+import com.avenga.config.feign.Endpoints;
+import com.avenga.config.feign.MeteredInputStream;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * A {@link Client} decorator attributing every call to the test bound to the calling thread
+ * (see {@link TestOwnerContext}) in the {@link CallAccounting}
+ */
+@RequiredArgsConstructor
+public class AccountingClient implements Client {
+
+    private final Client delegate;
+    private final CallAccounting callAccounting;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        var testCalls = callAccounting.of(TestOwnerContext.current());
+        var endpointCalls = testCalls.endpoint(Endpoints.of(request));
+
+        endpointCalls.calls.increment();
+        endpointCalls.requestBytes.add(request.body() == null ? 0 : request.body().length);
+        if (request.httpMethod() == Request.HttpMethod.GET) {
+            testCalls.recordGet(request.url());
+        }
+
+        var start = System.nanoTime();
+        try {
+            var response = delegate.execute(request, options);
+
+            if (response.body() == null) {
+                return response;
+            }
+            var body = new MeteredInputStream(response.body().asInputStream(), endpointCalls.responseBytes::add);
+            return response.toBuilder().body(body, response.body().length()).build();
+        } finally {
+            endpointCalls.nanos.add(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.avenga.config.feign.accounting;
+
+import com.avenga.config.TestOwner;
+import com.avenga.config.report.SuiteReport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Gathers the HTTP calls, bytes and time per test and endpoint</p>
+ * <p>At the end of the suite the tests making the most calls and the tests repeating identical GET requests
+ * are logged, and the complete statistics are written to a CSV file</p>
+ */
+@Slf4j
+public class CallAccounting implements SuiteReport {
+
+    private final Map<TestOwner, TestCalls> testCalls = new ConcurrentHashMap<>();
+    private final int top;
+    private final Path reportPath;
+
+    public CallAccounting(int top, Path reportPath) {
+        this.top = top;
+        this.reportPath = reportPath;
+    }
+
+    /**
+     * Returns the calls of the test
+     *
+     * @param owner the test
+     * @return the {@link TestCalls}
+     */
+    public TestCalls of(TestOwner owner) {
+        return testCalls.computeIfAbsent(owner, o -> new TestCalls());
+    }
+
+    public Map<TestOwner, TestCalls> getTestCalls() {
+        return testCalls;
+    }
+
+    @Override
+    public void report() {
+        var tests = new ArrayList<>(testCalls.entrySet());
+
+        tests.sort(Comparator.comparingLong((Map.Entry<TestOwner, TestCalls> test) -> test.getValue().getCalls())
+                .reversed());
+        log.info("Tests making the most HTTP calls:");
+        tests.stream().limit(top).forEach(test -> log.info("  {}: {} calls, {} bytes",
+                test.getKey(), test.getValue().getCalls(), test.getValue().getBytes()));
+
+        tests.sort(Comparator.comparingLong((Map.Entry<TestOwner, TestCalls> test) ->
+                test.getValue().getRepeatedGets()).reversed());
+        var redundantTests = tests.stream().filter(test -> test.getValue().getRepeatedGets() > 0).limit(top).toList();
+        if (!redundantTests.isEmpty()) {
+            log.warn("Tests repeating identical GET requests:");
+            redundantTests.forEach(test -> log.warn("  {}: {} repeated requests {}",
+                    test.getKey(), test.getValue().getRepeatedGets(), test.getValue().getRepeatedGetUrls()));
+        }
+
+        writeCsv();
+    }
+
+    private void writeCsv() {
+        var lines = new ArrayList<String>();
+        lines.add("test_class,test_method,endpoint,calls,request_bytes,response_bytes,millis");
+        testCalls.forEach((owner, calls) -> calls.getEndpointCalls().forEach((endpoint, endpointCalls) ->
+                lines.add(String.join(",", owner.testClassName(), owner.testMethodName(), endpoint,
+                        String.valueOf(endpointCalls.getCalls()), String.valueOf(endpointCalls.getRequestBytes()),
+                        String.valueOf(endpointCalls.getResponseBytes()), String.valueOf(endpointCalls.getMillis())))));
+
+        try {
+            if (reportPath.getParent() != null) {
+                Files.createDirectories(reportPath.getParent());
+            }
+            Files.write(reportPath, lines);
+            log.info("The HTTP calls per test are written to {}", reportPath);
+        } catch (IOException e) {
+            log.warn("Failed to write the HTTP calls report to {}", reportPath, e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.avenga.config.feign.accounting;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The HTTP calls made by one test (or configuration) method
+ */
+public class TestCalls {
+
+    private final Map<String, EndpointCalls> endpointCalls = new ConcurrentSkipListMap<>();
+    private final Map<String, AtomicInteger> getRequests = new ConcurrentHashMap<>();
+    private final LongAdder repeatedGets = new LongAdder();
+
+    EndpointCalls endpoint(String endpoint) {
+        return endpointCalls.computeIfAbsent(endpoint, e -> new EndpointCalls());
+    }
+
+    void recordGet(String url) {
+        if (getRequests.computeIfAbsent(url, u -> new AtomicInteger()).incrementAndGet() > 1) {
+            repeatedGets.increment();
+        }
+    }
+
+    public Map<String, EndpointCalls> getEndpointCalls() {
+        return endpointCalls;
+    }
+
+    public long getCalls() {
+        return endpointCalls.values().stream().mapToLong(EndpointCalls::getCalls).sum();
+    }
+
+    public long getBytes() {
+        return endpointCalls.values().stream().mapToLong(calls -> calls.getRequestBytes() + calls.getResponseBytes())
+                .sum();
+    }
+
+    /**
+     * Returns the number of the GET requests that repeated an earlier GET request with the same URL
+     *
+     * @return number of the repeated GET requests
+     */
+    public long getRepeatedGets() {
+        return repeatedGets.sum();
+    }
+
+    /**
+     * Returns the URLs requested with GET more than once
+     *
+     * @return map of the URL to the number of requests
+     */
+    public Map<String, Integer> getRepeatedGetUrls() {
+        var repeatedUrls = new ConcurrentSkipListMap<String, Integer>();
+        getRequests.forEach((url, count) -> {
+            if (count.get() > 1) {
+                repeatedUrls.put(url, count.get());
+            }
+        });
+        return repeatedUrls;
+    }
+
+    /**
+     * The calls of one endpoint
+     */
+    public static class EndpointCalls {
+
+        final LongAdder calls = new LongAdder();
+        final LongAdder requestBytes = new LongAdder();
+        final LongAdder responseBytes = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        public long getRequestBytes() {
+            return requestBytes.sum();
+        }
+
+        public long getResponseBytes() {
+            return responseBytes.sum();
+        }
+
+        public long getMillis() {
+            return nanos.sum() / 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.avenga.config.feign.baseline;
+
+import com.avenga.config.feign.ClientLayers;
+import feign.Capability;
+import feign.Client;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+
+/**
+ * Feign {@link Capability} wrapping the transport with the {@link BaselineClient}
+ */
+@RequiredArgsConstructor
+public class BaselineCapability implements Capability, Ordered {
+
+    private final LatencyBaseline latencyBaseline;
+
+    @Override
+    public Client enrich(Client client) {
+        return new BaselineClient(client, latencyBaseline);
+    }
+
+    @Override
+    public int getOrder() {
+        return ClientLayers.BASELINE;
+    }
+}
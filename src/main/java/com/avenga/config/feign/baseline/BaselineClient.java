@@ -0,0 +1,35 @@
+package com.avenga.config.feign.baseline;
+
+import com.avenga.config.TestOwnerContext;
+import com.avenga.config.feign.Endpoints;
+import com.avenga.load.LoadWorkers;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * <p>A {@link Client} decorator recording the latency of every successful call (until the response headers
+ * are received) in the {@link LatencyBaseline}</p>
+ * <p>The calls of the load workers are not recorded, as their latencies depend on the load level</p>
+ */
+@RequiredArgsConstructor
+public class BaselineClient implements Client {
+
+    private final Client delegate;
+    private final LatencyBaseline latencyBaseline;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (LoadWorkers.isWorker()) {
+            return delegate.execute(request, options);
+        }
+
+        var start = System.nanoTime();
+        var response = delegate.execute(request, options);
+        latencyBaseline.record(Endpoints.of(request), TestOwnerContext.current(), System.nanoTime() - start);
+        return response;
+    }
+}
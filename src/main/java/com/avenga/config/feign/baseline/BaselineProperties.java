@@ -0,0 +1,57 @@
+package com.avenga.config.feign.baseline;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * The settings of the latency regression detection against the baseline of the previous runs
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.feign.baseline")
+public class BaselineProperties {
+
+    /**
+     * The baseline file the run is compared with and (see {@link #update}) saved to
+     */
+    private String path = ".baseline/latency.baseline";
+
+    /**
+     * The significance level of the Mann-Whitney test. It is divided by the number of the compared series
+     * (the Bonferroni correction), so the chance of a false alarm stays the same for any number of endpoints
+     */
+    private double alpha = 0.01;
+
+    /**
+     * The minimal relative increase of the median latency that is reported as a regression,
+     * the smaller statistically significant shifts are ignored
+     */
+    private double maxMedianIncrease = 0.2;
+
+    /**
+     * The minimal number of the samples in both the baseline and the run for a series to be compared
+     */
+    private int minSamples = 10;
+
+    /**
+     * The maximal number of the samples kept per series, the samples over it are reservoir-sampled
+     */
+    private int maxSamples = 1000;
+
+    /**
+     * Whether the run is failed when a regression is found, otherwise the regressions are only reported
+     */
+    private boolean failOnRegression;
+
+    /**
+     * When the samples of the run replace the baseline
+     */
+    private Update update = Update.ON_PASS;
+
+    public enum Update {
+        ALWAYS,
+        ON_PASS,
+        NEVER
+    }
+}
@@ -0,0 +1,88 @@
+package com.avenga.config.feign.baseline;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * <p>Reads and writes the latency baseline file</p>
+ * <p>Layout: magic (4 bytes), version (2 bytes), number of series (4 bytes), then per series the name
+ * ({@link DataOutputStream#writeUTF(String) modified UTF-8}), the number of samples (4 bytes)
+ * and the samples in milliseconds (4-byte floats)</p>
+ */
+public final class BaselineStore {
+
+    private static final int MAGIC = 0x4C415442;
+    private static final short VERSION = 1;
+
+    private BaselineStore() {
+    }
+
+    /**
+     * Reads the baseline
+     *
+     * @param path the baseline file
+     * @return the samples by the series name, empty if there is no baseline yet
+     * @throws IOException if the file can't be read or is not a baseline
+     */
+    public static Map<String, float[]> read(Path path) throws IOException {
+        var series = new TreeMap<String, float[]>();
+        if (Files.notExists(path)) {
+            return series;
+        }
+
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC || input.readShort() != VERSION) {
+                throw new IOException("Not a latency baseline file of version " + VERSION + ": " + path);
+            }
+
+            var count = input.readInt();
+            for (var i = 0; i < count; i++) {
+                var name = input.readUTF();
+                var samples = new float[input.readInt()];
+                for (var j = 0; j < samples.length; j++) {
+                    samples[j] = input.readFloat();
+                }
+                series.put(name, samples);
+            }
+        }
+        return series;
+    }
+
+    /**
+     * Writes the baseline replacing the existing one
+     *
+     * @param path the baseline file
+     * @param series the samples by the series name
+     * @throws IOException if the file can't be written
+     */
+    public static void write(Path path, Map<String, float[]> series) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        var temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            output.writeInt(series.size());
+            for (var entry : series.entrySet()) {
+                output.writeUTF(entry.getKey());
+                output.writeInt(entry.getValue().length);
+                for (var sample : entry.getValue()) {
+                    output.writeFloat(sample);
+                }
+            }
+        }
+        Files.move(temporary, path, REPLACE_EXISTING, ATOMIC_MOVE);
+    }
+}
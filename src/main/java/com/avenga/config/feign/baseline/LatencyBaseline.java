@@ -0,0 +1,157 @@
+package com.avenga.config.feign.baseline;
+
+import com.avenga.config.TestOwner;
+import com.avenga.config.report.SuiteReport;
+import io.qameta.allure.Allure;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Gathers the latencies of the HTTP calls per endpoint and per test and compares them
+ * with the baseline saved by the previous runs</p>
+ * <p>A series is a regression if the {@link MannWhitney} test finds the run significantly slower than
+ * the baseline and the median latency grew more than allowed. The regressions are logged and attached
+ * to the Allure report at the end of the suite, the run is failed by {@link #verify()}.
+ * The samples of the run replace the baseline according to {@link BaselineProperties#getUpdate()}</p>
+ */
+@Slf4j
+public class LatencyBaseline implements SuiteReport {
+
+    static final String ENDPOINT_SERIES = "endpoint ";
+    static final String TEST_SERIES = "test ";
+
+    private final BaselineProperties baselineProperties;
+    private final Map<String, LatencySamples> series = new ConcurrentHashMap<>();
+    private volatile List<Regression> regressions = List.of();
+
+    public LatencyBaseline(BaselineProperties baselineProperties) {
+        this.baselineProperties = baselineProperties;
+    }
+
+    /**
+     * Records the latency of an HTTP call
+     *
+     * @param endpoint the endpoint name
+     * @param owner the test that made the call
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(String endpoint, TestOwner owner, long nanos) {
+        var millis = nanos / 1_000_000f;
+        samples(ENDPOINT_SERIES + endpoint).record(millis);
+        if (owner != TestOwner.UNBOUND) {
+            samples(TEST_SERIES + owner).record(millis);
+        }
+    }
+
+    /**
+     * Returns the regressions found by the last {@link #report()}
+     *
+     * @return list of {@link Regression}
+     */
+    public List<Regression> getRegressions() {
+        return regressions;
+    }
+
+    @Override
+    public void report() {
+        var path = Path.of(baselineProperties.getPath());
+        var current = new TreeMap<String, float[]>();
+        series.forEach((name, samples) -> current.put(name, samples.toArray()));
+
+        Map<String, float[]> baseline;
+        try {
+            baseline = BaselineStore.read(path);
+        } catch (IOException e) {
+            log.warn("Failed to read the latency baseline {}, the run is not compared", path, e);
+            baseline = Map.of();
+        }
+
+        if (baseline.isEmpty()) {
+            log.info("There is no latency baseline {} yet", path);
+        } else {
+            regressions = compare(baseline, current);
+            if (regressions.isEmpty()) {
+                log.info("No latency regressions against the baseline {}", path);
+            } else {
+                var text = String.join(System.lineSeparator(), regressions.stream().map(Regression::toString).toList());
+                log.warn("Latency regressions against the baseline {}:{}{}", path, System.lineSeparator(), text);
+                Allure.addAttachment("Latency regressions", "text/plain", text);
+            }
+        }
+
+        var update = baselineProperties.getUpdate();
+        if (update == BaselineProperties.Update.ALWAYS
+                || update == BaselineProperties.Update.ON_PASS && regressions.isEmpty()) {
+            save(path, current);
+        }
+    }
+
+    /**
+     * Fails the run if a regression was found and {@link BaselineProperties#isFailOnRegression()} is set
+     */
+    public void verify() {
+        if (baselineProperties.isFailOnRegression() && !regressions.isEmpty()) {
+            throw new AssertionError("%d latency regressions against the baseline, e.g. %s"
+                    .formatted(regressions.size(), regressions.get(0)));
+        }
+    }
+
+    private List<Regression> compare(Map<String, float[]> baseline, Map<String, float[]> current) {
+        var minSamples = baselineProperties.getMinSamples();
+        var comparable = current.entrySet().stream()
+                .filter(entry -> entry.getValue().length >= minSamples)
+                .filter(entry -> baseline.getOrDefault(entry.getKey(), new float[0]).length >= minSamples)
+                .toList();
+        if (comparable.isEmpty()) {
+            return List.of();
+        }
+
+        var alpha = baselineProperties.getAlpha() / comparable.size();
+        var found = new ArrayList<Regression>();
+        comparable.forEach(entry -> {
+            var baselineSamples = baseline.get(entry.getKey());
+            var baselineMedian = median(baselineSamples);
+            var currentMedian = median(entry.getValue());
+
+            if (currentMedian <= baselineMedian * (1 + baselineProperties.getMaxMedianIncrease())) {
+                return;
+            }
+
+            var pValue = MannWhitney.pValueGreater(baselineSamples, entry.getValue());
+            if (pValue < alpha) {
+                found.add(new Regression(entry.getKey(), baselineMedian, currentMedian, pValue));
+            }
+        });
+        log.debug("Compared {} latency series with the baseline at the significance level {}",
+                comparable.size(), alpha);
+        return found;
+    }
+
+    private void save(Path path, Map<String, float[]> current) {
+        try {
+            BaselineStore.write(path, current);
+            log.info("The latency baseline is saved to {} ({} series)", path, current.size());
+        } catch (IOException e) {
+            log.warn("Failed to save the latency baseline to {}", path, e);
+        }
+    }
+
+    private LatencySamples samples(String name) {
+        return series.computeIfAbsent(name, n -> new LatencySamples(baselineProperties.getMaxSamples()));
+    }
+
+    private static double median(float[] samples) {
+        var sorted = Arrays.copyOf(samples, samples.length);
+        Arrays.sort(sorted);
+        var middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+    }
+}
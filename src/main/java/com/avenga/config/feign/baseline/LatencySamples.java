@@ -0,0 +1,45 @@
+package com.avenga.config.feign.baseline;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>A bounded sample of the latencies (in milliseconds) of a series</p>
+ * <p>Once the sample is full, the new latencies replace the random ones (reservoir sampling),
+ * so the sample stays uniform over all the recorded latencies</p>
+ */
+public class LatencySamples {
+
+    private final float[] samples;
+    private long recorded;
+
+    public LatencySamples(int maxSamples) {
+        this.samples = new float[maxSamples];
+    }
+
+    /**
+     * Records a latency
+     *
+     * @param millis the latency in milliseconds
+     */
+    public synchronized void record(float millis) {
+        if (recorded < samples.length) {
+            samples[(int) recorded] = millis;
+        } else {
+            var slot = ThreadLocalRandom.current().nextLong(recorded + 1);
+            if (slot < samples.length) {
+                samples[(int) slot] = millis;
+            }
+        }
+        recorded++;
+    }
+
+    /**
+     * Returns a copy of the sample
+     *
+     * @return the latencies in milliseconds
+     */
+    public synchronized float[] toArray() {
+        return Arrays.copyOf(samples, (int) Math.min(recorded, samples.length));
+    }
+}
@@ -0,0 +1,81 @@
+package com.avenga.config.feign.baseline;
+
+import java.util.Arrays;
+
+/**
+ * <p>The one-sided Mann-Whitney U test: whether the latencies of the run tend to be greater than
+ * the latencies of the baseline</p>
+ * <p>The test makes no assumptions about the shape of the distributions, which suits the skewed latencies.
+ * The p-value is computed with the normal approximation corrected for ties and continuity,
+ * which is accurate for the sample sizes used (10 and more)</p>
+ */
+public final class MannWhitney {
+
+    private MannWhitney() {
+    }
+
+    /**
+     * Tests whether the current latencies are stochastically greater than the baseline ones
+     *
+     * @param baseline the baseline sample
+     * @param current the sample of the run
+     * @return the p-value of the one-sided test
+     */
+    public static double pValueGreater(float[] baseline, float[] current) {
+        var n1 = (double) current.length;
+        var n2 = (double) baseline.length;
+        var n = current.length + baseline.length;
+
+        var values = new float[n];
+        var isCurrent = new boolean[n];
+        var order = new Integer[n];
+        for (var i = 0; i < n; i++) {
+            values[i] = i < current.length ? current[i] : baseline[i - current.length];
+            isCurrent[i] = i < current.length;
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Float.compare(values[a], values[b]));
+
+        var currentRankSum = 0.0;
+        var tieCorrection = 0.0;
+        for (var start = 0; start < n; ) {
+            var end = start;
+            while (end + 1 < n && values[order[end + 1]] == values[order[start]]) {
+                end++;
+            }
+
+            var rank = (start + end) / 2.0 + 1;
+            for (var i = start; i <= end; i++) {
+                if (isCurrent[order[i]]) {
+                    currentRankSum += rank;
+                }
+            }
+
+            var ties = end - start + 1.0;
+            tieCorrection += ties * ties * ties - ties;
+            start = end + 1;
+        }
+
+        var u = currentRankSum - n1 * (n1 + 1) / 2;
+        var mean = n1 * n2 / 2;
+        var variance = n1 * n2 / 12 * ((n + 1) - tieCorrection / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 1;
+        }
+
+        var z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 0.5 * erfc(z / Math.sqrt(2));
+    }
+
+    /**
+     * The complementary error function with the fractional error below 1.2e-7 (Numerical Recipes)
+     */
+    private static double erfc(double x) {
+        var z = Math.abs(x);
+        var t = 1 / (1 + 0.5 * z);
+        var result = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? result : 2 - result;
+    }
+}
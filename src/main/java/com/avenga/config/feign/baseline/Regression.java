@@ -0,0 +1,18 @@
+package com.avenga.config.feign.baseline;
+
+/**
+ * A latency series that is significantly slower than in the baseline
+ *
+ * @param series name of the series
+ * @param baselineMedian median latency of the baseline in milliseconds
+ * @param currentMedian median latency of the run in milliseconds
+ * @param pValue p-value of the {@link MannWhitney} test
+ */
+public record Regression(String series, double baselineMedian, double currentMedian, double pValue) {
+
+    @Override
+    public String toString() {
+        return "%s: median %.1f ms -> %.1f ms (%+.0f%%, p = %.2g)".formatted(series, baselineMedian, currentMedian,
+                (currentMedian / baselineMedian - 1) * 100, pValue);
+    }
+}
@@ -0,0 +1,52 @@
+package com.avenga.config.feign.cassette;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The record-and-replay settings of the Feign clients
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.feign.cassette")
+public class CassetteProperties {
+
+    /**
+     * {@code off} - the requests go to the server, {@code record} - the exchanges are also written to the cassette,
+     * {@code replay} - the responses are served from the cassette without network
+     */
+    private Mode mode = Mode.OFF;
+
+    /**
+     * The cassette file
+     */
+    private String path = "cassettes/suite.cassette";
+
+    /**
+     * The request parts used for matching a request with a recorded exchange
+     */
+    private Set<MatchField> match = EnumSet.of(MatchField.METHOD, MatchField.PATH, MatchField.QUERY, MatchField.BODY);
+
+    /**
+     * Whether a request whose body matches none of the recorded ones is served the exchanges of the same method
+     * and path in the recording order. Off by default: such a request fails
+     */
+    private boolean fallbackWithoutBody;
+
+    public enum Mode {
+        OFF,
+        RECORD,
+        REPLAY
+    }
+
+    public enum MatchField {
+        METHOD,
+        PATH,
+        QUERY,
+        BODY
+    }
+}
@@ -0,0 +1,186 @@
+package com.avenga.config.feign.cassette;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.avenga.config.feign.cassette.CassetteWriter.MAGIC;
+import static com.avenga.config.feign.cassette.CassetteWriter.VERSION;
+
+/**
+ * <p>Reads a cassette written by the {@link CassetteWriter} from a memory-mapped file</p>
+ * <p>The seed and the start time of the test data of the recording run are restored from the cassette header,
+ * so that the replaying run generates the recorded request bodies (see {@link com.avenga.config.TestDataRandom})</p>
+ * <p>Only the index is read upfront, the recordings are decoded on demand. A cassette without the index
+ * (e.g. the recording run was killed) is indexed by scanning the entries</p>
+ */
+@Slf4j
+public class CassetteReader {
+
+    private final ByteBuffer buffer;
+    private final Map<String, List<Integer>> index = new HashMap<>();
+    private final Map<String, List<Integer>> fallbackIndex = new HashMap<>();
+    private final long seed;
+    private final LocalDateTime startTime;
+    private final int entriesOffset;
+
+    public CassetteReader(Path path) {
+        try (var channel = FileChannel.open(path)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open the cassette " + path, e);
+        }
+
+        if (buffer.limit() < 8 || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("The file " + path + " is not a cassette of version " + VERSION
+                    + ", record it again");
+        }
+
+        var header = buffer.duplicate().position(8);
+        seed = header.getLong();
+        startTime = LocalDateTime.parse(readString(header));
+        entriesOffset = header.position();
+
+        if (buffer.limit() >= 16 && buffer.getInt(buffer.limit() - 4) == MAGIC) {
+            readIndex(buffer.getInt(buffer.limit() - 8));
+        } else {
+            log.warn("The cassette {} has no index, scanning the entries", path);
+            scanEntries();
+        }
+        log.info("Loaded the cassette {} with {} distinct requests", path, index.size());
+    }
+
+    /**
+     * Returns the offsets of the recordings matching the key in the recording order
+     *
+     * @param key the request matching key
+     * @return list of the offsets, empty if there is no match
+     */
+    public List<Integer> find(String key) {
+        return index.getOrDefault(key, List.of());
+    }
+
+    /**
+     * Returns the offsets of the recordings matching the key without the request body in the recording order
+     *
+     * @param fallbackKey the request matching key without the body
+     * @return list of the offsets, empty if there is no match
+     */
+    public List<Integer> findFallback(String fallbackKey) {
+        return fallbackIndex.getOrDefault(fallbackKey, List.of());
+    }
+
+    /**
+     * Returns the seed of the test data of the recording run
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the start time of the test data of the recording run
+     *
+     * @return the {@link LocalDateTime}
+     */
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Reads the recording at the given offset
+     *
+     * @param offset offset of the entry
+     * @return the {@link Recording}
+     */
+    public Recording read(int offset) {
+        var entry = buffer.duplicate().position(offset);
+
+        readString(entry);
+        readString(entry);
+        var status = entry.getInt();
+        var reason = readString(entry);
+        var headerCount = entry.getInt();
+        var headers = new TreeMap<String, Collection<String>>(String.CASE_INSENSITIVE_ORDER);
+        for (var i = 0; i < headerCount; i++) {
+            var name = readString(entry);
+            var valueCount = entry.getInt();
+            var values = new ArrayList<String>(valueCount);
+            for (var j = 0; j < valueCount; j++) {
+                values.add(readString(entry));
+            }
+            headers.put(name, values);
+        }
+
+        var bodyLength = entry.getInt();
+        byte[] body = null;
+        if (bodyLength >= 0) {
+            body = new byte[bodyLength];
+            entry.get(body);
+        }
+        return new Recording(status, reason, headers, body);
+    }
+
+    private void readIndex(int indexOffset) {
+        var entries = buffer.duplicate().position(indexOffset);
+        var count = entries.getInt();
+
+        for (var i = 0; i < count; i++) {
+            var key = readString(entries);
+            var fallbackKey = readString(entries);
+            add(key, fallbackKey, entries.getInt());
+        }
+    }
+
+    private void scanEntries() {
+        var entries = buffer.duplicate().position(entriesOffset);
+
+        try {
+            while (entries.hasRemaining()) {
+                var offset = entries.position();
+                var key = readString(entries);
+                var fallbackKey = readString(entries);
+                entries.getInt();
+                readString(entries);
+                var headerCount = entries.getInt();
+                for (var i = 0; i < headerCount; i++) {
+                    readString(entries);
+                    var valueCount = entries.getInt();
+                    for (var j = 0; j < valueCount; j++) {
+                        readString(entries);
+                    }
+                }
+                var bodyLength = entries.getInt();
+                entries.position(entries.position() + Math.max(0, bodyLength));
+                add(key, fallbackKey, offset);
+            }
+        } catch (RuntimeException e) {
+            // the last entry was not completely written
+            log.warn("The cassette ends with an incomplete entry, it is ignored");
+        }
+    }
+
+    private void add(String key, String fallbackKey, int offset) {
+        index.computeIfAbsent(key, k -> new ArrayList<>()).add(offset);
+        fallbackIndex.computeIfAbsent(fallbackKey, k -> new ArrayList<>()).add(offset);
+    }
+
+    private static String readString(ByteBuffer entry) {
+        var bytes = new byte[entry.getInt()];
+        entry.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,124 @@
+package com.avenga.config.feign.cassette;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Writes the recorded exchanges to a binary cassette file</p>
+ * <p>Format: {@code MAGIC VERSION seed startTime entry* index indexOffset MAGIC}, where the seed and the start time
+ * are the ones of the test data of the recording run (see {@link com.avenga.config.TestDataRandom}), an entry is
+ * {@code key fallbackKey status reason headers bodyLength body} and the index is the list of
+ * {@code key fallbackKey offset} triples. The fallback key is the key without the request body.
+ * Strings are written as the length followed by the UTF-8 bytes, a missing body has the length -1</p>
+ */
+@Slf4j
+public class CassetteWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x43535354;
+    static final int VERSION = 2;
+
+    private final Path path;
+    private final DataOutputStream output;
+    private final List<IndexEntry> index = new ArrayList<>();
+    private boolean closed;
+
+    public CassetteWriter(Path path, long seed, LocalDateTime startTime) {
+        this.path = path;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(seed);
+            writeString(startTime.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create the cassette " + path, e);
+        }
+    }
+
+    /**
+     * Appends a recorded exchange to the cassette
+     *
+     * @param key the request matching key
+     * @param fallbackKey the request matching key without the body
+     * @param recording the recorded response
+     */
+    public synchronized void write(String key, String fallbackKey, Recording recording) {
+        if (closed) {
+            log.warn("The cassette {} is already closed, the exchange '{}' is not recorded", path, key);
+            return;
+        }
+
+        try {
+            index.add(new IndexEntry(key, fallbackKey, output.size()));
+            writeString(key);
+            writeString(fallbackKey);
+            output.writeInt(recording.status());
+            writeString(recording.reason() == null ? "" : recording.reason());
+            output.writeInt(recording.headers().size());
+            for (var header : recording.headers().entrySet()) {
+                writeString(header.getKey());
+                output.writeInt(header.getValue().size());
+                for (var value : header.getValue()) {
+                    writeString(value);
+                }
+            }
+            if (recording.body() == null) {
+                output.writeInt(-1);
+            } else {
+                output.writeInt(recording.body().length);
+                output.write(recording.body());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write to the cassette " + path, e);
+        }
+    }
+
+    /**
+     * Writes the index and closes the cassette
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            var indexOffset = output.size();
+            output.writeInt(index.size());
+            for (var entry : index) {
+                writeString(entry.key());
+                writeString(entry.fallbackKey());
+                output.writeInt(entry.offset());
+            }
+            output.writeInt(indexOffset);
+            output.writeInt(MAGIC);
+            output.close();
+            log.info("{} exchanges are recorded to the cassette {}", index.size(), path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close the cassette " + path, e);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private record IndexEntry(String key, String fallbackKey, int offset) {
+    }
+}
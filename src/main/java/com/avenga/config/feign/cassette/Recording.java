@@ -0,0 +1,15 @@
+package com.avenga.config.feign.cassette;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Represents a recorded HTTP response
+ *
+ * @param status the HTTP status
+ * @param reason the reason phrase
+ * @param headers the response headers
+ * @param body the response body or null if there was no body
+ */
+public record Recording(int status, String reason, Map<String, Collection<String>> headers, byte[] body) {
+}
@@ -0,0 +1,27 @@
+package com.avenga.config.feign.cassette;
+
+import com.avenga.config.feign.ClientLayers;
+import feign.Capability;
+import feign.Client;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+
+/**
+ * Feign {@link Capability} wrapping the transport with the {@link RecordingClient}
+ */
+@RequiredArgsConstructor
+public class RecordingCapability implements Capability, Ordered {
+
+    private final RequestMatcher requestMatcher;
+    private final CassetteWriter cassetteWriter;
+
+    @Override
+    public Client enrich(Client client) {
+        return new RecordingClient(client, requestMatcher, cassetteWriter);
+    }
+
+    @Override
+    public int getOrder() {
+        return ClientLayers.RECORDING;
+    }
+}
@@ -0,0 +1,31 @@
+package com.avenga.config.feign.cassette;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * A {@link Client} decorator writing every exchange to the cassette
+ */
+@RequiredArgsConstructor
+public class RecordingClient implements Client {
+
+    private final Client delegate;
+    private final RequestMatcher requestMatcher;
+    private final CassetteWriter cassetteWriter;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        var response = delegate.execute(request, options);
+        var body = response.body() == null ? null : Util.toByteArray(response.body().asInputStream());
+
+        cassetteWriter.write(requestMatcher.key(request), requestMatcher.fallbackKey(request),
+                new Recording(response.status(), response.reason(), response.headers(), body));
+
+        return body == null ? response : response.toBuilder().body(body).build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.avenga.config.feign.cassette;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>A {@link Client} serving the responses from the cassette without network</p>
+ * <p>The exchanges recorded for the same key are replayed in the recording order,
+ * the last one is repeated once all of them are served. A request without a recorded exchange fails,
+ * unless the fallback without the body is enabled: then a request whose body matches none of the recorded ones
+ * is served the exchanges of the same method and path in the recording order</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReplayClient implements Client {
+
+    private static final int MAX_LOGGED_BODY_LENGTH = 512;
+
+    private final RequestMatcher requestMatcher;
+    private final CassetteReader cassetteReader;
+    private final boolean fallbackWithoutBody;
+    private final Map<String, AtomicInteger> replayCounters = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> fallbackCounters = new ConcurrentHashMap<>();
+
+    @Override
+    public Response execute(Request request, Request.Options options) {
+        var key = requestMatcher.key(request);
+        var offsets = cassetteReader.find(key);
+        var counters = replayCounters;
+
+        if (offsets.isEmpty() && fallbackWithoutBody) {
+            var fallbackKey = requestMatcher.fallbackKey(request);
+            offsets = cassetteReader.findFallback(fallbackKey);
+            if (!offsets.isEmpty()) {
+                log.debug("No recorded exchange matches the request '{}', replaying the ones of '{}'",
+                        key, fallbackKey);
+                key = fallbackKey;
+                counters = fallbackCounters;
+            }
+        }
+
+        if (offsets.isEmpty()) {
+            throw new IllegalStateException(unmatched(request));
+        }
+
+        var replayNumber = counters.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        var recording = cassetteReader.read(offsets.get(Math.min(replayNumber, offsets.size() - 1)));
+
+        return Response.builder()
+                .request(request)
+                .status(recording.status())
+                .reason(recording.reason())
+                .headers(recording.headers())
+                .body(recording.body())
+                .build();
+    }
+
+    private String unmatched(Request request) {
+        var message = new StringBuilder("No recorded exchange matches the request ")
+                .append(request.httpMethod()).append(' ').append(request.url());
+
+        if (request.body() != null) {
+            var body = new String(request.body(), StandardCharsets.UTF_8);
+            message.append(" with the body ").append(body.length() > MAX_LOGGED_BODY_LENGTH
+                    ? body.substring(0, MAX_LOGGED_BODY_LENGTH) + "..." : body);
+            if (!cassetteReader.findFallback(requestMatcher.fallbackKey(request)).isEmpty()) {
+                message.append(". The cassette has exchanges of ").append(requestMatcher.fallbackKey(request))
+                        .append(" with other bodies, set app.feign.cassette.fallback-without-body to replay them");
+            }
+        }
+        return message.append(". Record the cassette again or change the app.feign.cassette.match setting")
+                .toString();
+    }
+}
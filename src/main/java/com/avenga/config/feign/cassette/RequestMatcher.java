@@ -0,0 +1,75 @@
+package com.avenga.config.feign.cassette;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import feign.Request;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * <p>Builds the key matching a request with a recorded exchange from the configured request parts</p>
+ * <p>The JSON bodies are normalized (the object keys are sorted and the whitespaces are removed),
+ * so that the key does not depend on the serialization details</p>
+ * <p>The fallback key leaves the body out, it matches a request whose body differs from the recorded ones</p>
+ */
+public class RequestMatcher {
+
+    private final Set<CassetteProperties.MatchField> matchFields;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    public RequestMatcher(Set<CassetteProperties.MatchField> matchFields) {
+        this.matchFields = matchFields;
+    }
+
+    /**
+     * Returns the matching key of the request
+     *
+     * @param request the Feign {@link Request}
+     * @return the key
+     */
+    public String key(Request request) {
+        return key(request, true);
+    }
+
+    /**
+     * Returns the matching key of the request without the body
+     *
+     * @param request the Feign {@link Request}
+     * @return the key
+     */
+    public String fallbackKey(Request request) {
+        return key(request, false);
+    }
+
+    private String key(Request request, boolean withBody) {
+        var uri = URI.create(request.url());
+        var key = new StringBuilder();
+
+        if (matchFields.contains(CassetteProperties.MatchField.METHOD)) {
+            key.append(request.httpMethod().name()).append(' ');
+        }
+        if (matchFields.contains(CassetteProperties.MatchField.PATH)) {
+            key.append(uri.getRawPath());
+        }
+        if (matchFields.contains(CassetteProperties.MatchField.QUERY) && uri.getRawQuery() != null) {
+            key.append('?').append(uri.getRawQuery());
+        }
+        if (withBody && matchFields.contains(CassetteProperties.MatchField.BODY) && request.body() != null) {
+            key.append(' ').append(normalizeBody(request.body()));
+        }
+        return key.toString();
+    }
+
+    private String normalizeBody(byte[] body) {
+        try {
+            return objectMapper.writeValueAsString(objectMapper.readValue(body, Object.class));
+        } catch (IOException e) {
+            // not a JSON body, it is matched as is
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+}
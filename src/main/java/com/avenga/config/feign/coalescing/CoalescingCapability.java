@@ -0,0 +1,67 @@
+package com.avenga.config.feign.coalescing;
+
+import feign.Capability;
+import feign.InvocationHandlerFactory;
+import feign.InvocationHandlerFactory.MethodHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Set;
+
+/**
+ * <p>Feign {@link Capability} that routes the calls of the client methods listed in
+ * {@code app.feign.coalescing.endpoints} (see {@link CoalescingProperties}) through the {@link RequestCoalescer}</p>
+ * <p>The calls of the methods writing to a resource (POST, PUT, PATCH, DELETE) are routed through it too,
+ * so that the reads of the resource issued after a write never join a call that was in flight before it</p>
+ */
+@RequiredArgsConstructor
+public class CoalescingCapability implements Capability {
+
+    private static final Set<RequestMethod> WRITE_METHODS = Set.of(RequestMethod.POST, RequestMethod.PUT,
+            RequestMethod.PATCH, RequestMethod.DELETE);
+
+    private final RequestCoalescer requestCoalescer;
+    private final Set<String> endpoints;
+
+    @Override
+    public InvocationHandlerFactory enrich(InvocationHandlerFactory invocationHandlerFactory) {
+        return (target, dispatch) -> {
+            var coalescedDispatch = new HashMap<Method, MethodHandler>(dispatch);
+
+            dispatch.forEach((method, handler) -> {
+                var mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+                var resource = resource(mapping);
+
+                if (endpoints.contains(RequestCoalescer.name(method))) {
+                    coalescedDispatch.put(method,
+                            argv -> requestCoalescer.execute(target, resource, method, handler, argv));
+                } else if (mapping != null && Arrays.stream(mapping.method()).anyMatch(WRITE_METHODS::contains)) {
+                    coalescedDispatch.put(method, argv -> requestCoalescer.write(target, resource, handler, argv));
+                }
+            });
+
+            return invocationHandlerFactory.create(target, coalescedDispatch);
+        };
+    }
+
+    /**
+     * Returns the first segment of the mapped path, e.g. {@code /Books} for {@code /Books/{id}}
+     *
+     * @param mapping the request mapping of the client method
+     * @return the resource the method reads or writes, empty if the method is not mapped
+     */
+    private String resource(RequestMapping mapping) {
+        if (mapping == null || mapping.path().length == 0) {
+            return "";
+        }
+
+        var path = mapping.path()[0];
+        var segmentEnd = path.indexOf('/', 1);
+        return segmentEnd < 0 ? path : path.substring(0, segmentEnd);
+    }
+}
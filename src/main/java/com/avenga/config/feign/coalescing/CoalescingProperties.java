@@ -0,0 +1,25 @@
+package com.avenga.config.feign.coalescing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The request coalescing settings of the Feign clients
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.feign.coalescing")
+public class CoalescingProperties {
+
+    private boolean enabled;
+
+    /**
+     * The idempotent client methods (e.g. {@code BookClient#getBooks}) whose concurrent identical calls share
+     * one in-flight request
+     */
+    private Set<String> endpoints = new HashSet<>();
+}
@@ -0,0 +1,152 @@
+package com.avenga.config.feign.coalescing;
+
+import com.avenga.config.feign.Endpoints;
+import com.avenga.config.report.SuiteReport;
+import com.avenga.load.LoadWorkers;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Single-flight execution of the Feign client calls</p>
+ * <p>The first caller performs the request, the callers that arrive with the same method and arguments
+ * of the same target while it is in flight wait for it. The result is buffered as JSON once and every joining caller
+ * decodes its own copy of it, as the results (e.g. the lists) may be modified by the callers. The exception
+ * of a failed call is shared. The number of the saved calls is counted per client method</p>
+ */
+@Slf4j
+public class RequestCoalescer implements SuiteReport {
+
+    private final ObjectMapper objectMapper;
+    private final Map<Key, CompletableFuture<byte[]>> inFlightCalls = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> savedCalls = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the name of a client method as used in {@code app.feign.coalescing.endpoints}
+     *
+     * @param method the client method
+     * @return the name, e.g. {@code BookClient#getBooks}
+     */
+    public static String name(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+    }
+
+    /**
+     * Executes the call or joins the identical call that is already in flight.
+     * The calls of the load workers (see {@link LoadWorkers}) are always executed
+     *
+     * @param target the Feign target, the same method of different targets (environments) is never coalesced
+     * @param resource the resource the method reads, e.g. {@code /Books}
+     * @param method the client method
+     * @param handler the Feign handler performing the request
+     * @param argv the arguments of the call
+     * @return the decoded result, a copy of its own for every caller
+     * @throws Throwable the exception thrown by the call
+     */
+    public Object execute(Target<?> target, String resource, Method method, MethodHandler handler, Object[] argv)
+            throws Throwable {
+        if (LoadWorkers.isWorker()) {
+            // every call of a virtual user is measured, the load modes must not share them
+            return handler.invoke(argv);
+        }
+
+        var key = new Key(target.url(), resource, method, argv == null ? List.of() : Arrays.asList(argv));
+        var flight = new CompletableFuture<byte[]>();
+        var inFlightCall = inFlightCalls.putIfAbsent(key, flight);
+
+        if (inFlightCall != null) {
+            savedCalls.computeIfAbsent(endpoint(target, method), k -> new LongAdder()).increment();
+            log.debug("Joining the in-flight call {}", key);
+            return objectMapper.readValue(await(inFlightCall),
+                    objectMapper.getTypeFactory().constructType(method.getGenericReturnType()));
+        }
+
+        try {
+            var result = handler.invoke(argv);
+            buffer(flight, result);
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightCalls.remove(key, flight);
+        }
+    }
+
+    /**
+     * <p>Executes the call writing to the resource</p>
+     * <p>When the call is completed (or failed, as the write could still be processed) the calls reading
+     * the resource that are in flight are no longer joined: they could have been sent before the write.
+     * Their current callers still get their results</p>
+     *
+     * @param target the Feign target
+     * @param resource the resource the method writes to, e.g. {@code /Books}
+     * @param handler the Feign handler performing the request
+     * @param argv the arguments of the call
+     * @return the decoded result
+     * @throws Throwable the exception thrown by the call
+     */
+    public Object write(Target<?> target, String resource, MethodHandler handler, Object[] argv) throws Throwable {
+        try {
+            return handler.invoke(argv);
+        } finally {
+            inFlightCalls.keySet().removeIf(key -> key.url().equals(target.url()) && key.resource().equals(resource));
+        }
+    }
+
+    /**
+     * Returns the total number of the calls that were served by the in-flight requests
+     *
+     * @return number of the saved calls
+     */
+    public long getSavedCalls() {
+        return savedCalls.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    @Override
+    public void report() {
+        log.info("Calls saved by the request coalescing: {}", getSavedCalls());
+        savedCalls.forEach((endpoint, saved) -> log.info("  {}: {}", endpoint, saved.sum()));
+    }
+
+    private void buffer(CompletableFuture<byte[]> flight, Object result) {
+        try {
+            flight.complete(objectMapper.writeValueAsBytes(result));
+        } catch (JsonProcessingException e) {
+            // the caller performing the request still gets its result, the joining ones get the error
+            flight.completeExceptionally(e);
+        }
+    }
+
+    private String endpoint(Target<?> target, Method method) {
+        var endpoint = name(method);
+        var separator = target.name().indexOf(Endpoints.ENVIRONMENT_SEPARATOR);
+        return separator < 0 ? endpoint : endpoint + target.name().substring(separator);
+    }
+
+    private byte[] await(CompletableFuture<byte[]> inFlightCall) throws Throwable {
+        try {
+            return inFlightCall.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record Key(String url, String resource, Method method, List<Object> args) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.avenga.config.feign.compression;
+
+import com.avenga.config.feign.Endpoints;
+import com.avenga.config.feign.MeteredInputStream;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * <p>A {@link Client} decorator negotiating the compressed transfer of the response bodies</p>
+ * <p>It asks for the {@code gzip}/{@code deflate} encoding and decodes the compressed bodies while they are read,
+ * so the decoder gets the plain JSON stream without buffering the whole body.
+ * The bytes on the wire and the decoded bytes are recorded in the {@link TransferStats}</p>
+ */
+@RequiredArgsConstructor
+public class CompressingClient implements Client {
+
+    private static final String ACCEPTED_ENCODINGS = "gzip, deflate";
+
+    private final Client delegate;
+    private final TransferStats transferStats;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        var response = delegate.execute(acceptCompressedResponse(request), options);
+
+        if (response.body() == null) {
+            return response;
+        }
+
+        var endpoint = Endpoints.of(request);
+        var encoding = contentEncoding(response.headers());
+        if (encoding == null) {
+            var body = new MeteredInputStream(response.body().asInputStream(),
+                    bytes -> transferStats.record(endpoint, false, bytes, bytes));
+            return response.toBuilder().body(body, response.body().length()).build();
+        }
+
+        var wireBody = new MeteredInputStream(response.body().asInputStream(), bytes -> {
+        });
+        var decodedBody = new MeteredInputStream(decode(wireBody, encoding),
+                bytes -> transferStats.record(endpoint, true, wireBody.getCount(), bytes));
+
+        return response.toBuilder()
+                .headers(withoutEncodingHeaders(response.headers()))
+                .body(decodedBody, null)
+                .build();
+    }
+
+    /**
+     * Wraps the compressed body stream with the decoding one
+     *
+     * @param body the compressed body stream
+     * @param encoding the value of the {@code Content-Encoding} header
+     * @return the decoded stream
+     * @throws IOException if the gzip header can't be read
+     */
+    public static InputStream decode(InputStream body, String encoding) throws IOException {
+        return switch (encoding) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(body);
+            case "deflate" -> new InflaterInputStream(body);
+            default -> body;
+        };
+    }
+
+    /**
+     * Returns the supported content encoding of the response
+     *
+     * @param headers the response headers
+     * @return {@code gzip}, {@code x-gzip}, {@code deflate} or null if the body is not compressed
+     */
+    public static String contentEncoding(Map<String, Collection<String>> headers) {
+        var values = headers.get(HttpHeaders.CONTENT_ENCODING);
+
+        if (values == null) {
+            return null;
+        }
+        return values.stream()
+                .map(value -> value.trim().toLowerCase())
+                .filter(value -> value.equals("gzip") || value.equals("x-gzip") || value.equals("deflate"))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Returns a copy of the headers without the ones describing the encoded body
+     *
+     * @param headers the response headers
+     * @return the headers of the decoded response
+     */
+    public static Map<String, Collection<String>> withoutEncodingHeaders(Map<String, Collection<String>> headers) {
+        var decodedHeaders = new TreeMap<String, Collection<String>>(String.CASE_INSENSITIVE_ORDER);
+
+        decodedHeaders.putAll(headers);
+        decodedHeaders.remove(HttpHeaders.CONTENT_ENCODING);
+        decodedHeaders.remove(HttpHeaders.CONTENT_LENGTH);
+        return decodedHeaders;
+    }
+
+    private Request acceptCompressedResponse(Request request) {
+        var headers = new TreeMap<String, Collection<String>>(String.CASE_INSENSITIVE_ORDER);
+
+        headers.putAll(request.headers());
+        headers.put(HttpHeaders.ACCEPT_ENCODING, List.of(ACCEPTED_ENCODINGS));
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(),
+                request.requestTemplate());
+    }
+}
@@ -0,0 +1,26 @@
+package com.avenga.config.feign.compression;
+
+import com.avenga.config.feign.ClientLayers;
+import feign.Capability;
+import feign.Client;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+
+/**
+ * Feign {@link Capability} wrapping the transport with the {@link CompressingClient}
+ */
+@RequiredArgsConstructor
+public class CompressionCapability implements Capability, Ordered {
+
+    private final TransferStats transferStats;
+
+    @Override
+    public Client enrich(Client client) {
+        return new CompressingClient(client, transferStats);
+    }
+
+    @Override
+    public int getOrder() {
+        return ClientLayers.COMPRESSION;
+    }
+}
@@ -0,0 +1,76 @@
+package com.avenga.config.feign.compression;
+
+import com.avenga.config.report.SuiteReport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gathers the number of the response bytes received on the wire and the number of the decoded bytes per endpoint
+ */
+@Slf4j
+public class TransferStats implements SuiteReport {
+
+    private final Map<String, EndpointStats> endpointStats = new ConcurrentSkipListMap<>();
+
+    /**
+     * Records a finished response body transfer
+     *
+     * @param endpoint the endpoint name
+     * @param compressed whether the body was compressed
+     * @param wireBytes number of bytes received on the wire
+     * @param decodedBytes number of bytes after decoding
+     */
+    public void record(String endpoint, boolean compressed, long wireBytes, long decodedBytes) {
+        var stats = endpointStats.computeIfAbsent(endpoint, e -> new EndpointStats());
+
+        stats.responses.increment();
+        if (compressed) {
+            stats.compressedResponses.increment();
+        }
+        stats.wireBytes.add(wireBytes);
+        stats.decodedBytes.add(decodedBytes);
+    }
+
+    /**
+     * Returns the per-endpoint statistics
+     *
+     * @return map of the endpoint name to the {@link EndpointStats}
+     */
+    public Map<String, EndpointStats> getEndpointStats() {
+        return endpointStats;
+    }
+
+    @Override
+    public void report() {
+        log.info("Response transfer per endpoint (wire bytes / decoded bytes):");
+        endpointStats.forEach((endpoint, stats) -> log.info("  {}: {} responses ({} compressed), {} / {} bytes",
+                endpoint, stats.responses.sum(), stats.compressedResponses.sum(),
+                stats.wireBytes.sum(), stats.decodedBytes.sum()));
+    }
+
+    /**
+     * Represents the transfer statistics of an endpoint
+     */
+    public static class EndpointStats {
+
+        private final LongAdder responses = new LongAdder();
+        private final LongAdder compressedResponses = new LongAdder();
+        private final LongAdder wireBytes = new LongAdder();
+        private final LongAdder decodedBytes = new LongAdder();
+
+        public long getResponses() {
+            return responses.sum();
+        }
+
+        public long getWireBytes() {
+            return wireBytes.sum();
+        }
+
+        public long getDecodedBytes() {
+            return decodedBytes.sum();
+        }
+    }
+}
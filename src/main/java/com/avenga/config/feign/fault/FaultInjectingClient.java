@@ -0,0 +1,130 @@
+package com.avenga.config.feign.fault;
+
+import com.avenga.config.feign.Endpoints;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>A {@link Client} decorator injecting latency and faults configured per endpoint
+ * with the {@link FaultProperties}</p>
+ * <p>Every endpoint has its own random generator seeded from the configured seed and the endpoint name,
+ * so the same sequence of requests gets the same faults in every run</p>
+ */
+@Slf4j
+public class FaultInjectingClient implements Client {
+
+    private final Client delegate;
+    private final FaultProperties faultProperties;
+    private final Map<String, Random> randoms = new ConcurrentHashMap<>();
+
+    public FaultInjectingClient(Client delegate, FaultProperties faultProperties) {
+        this.delegate = delegate;
+        this.faultProperties = faultProperties;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        var endpoint = Endpoints.of(request);
+        var rules = faultProperties.getEndpoints();
+        var rule = rules.getOrDefault(endpoint,
+                rules.getOrDefault(Endpoints.method(request), rules.get(FaultProperties.DEFAULT_RULE)));
+
+        if (rule == null) {
+            return delegate.execute(request, options);
+        }
+
+        var faults = plan(endpoint, rule);
+        sleep(faults.delayMillis());
+
+        if (faults.reset()) {
+            log.debug("Injecting a connection reset into {}", endpoint);
+            throw new SocketException("Connection reset (injected)");
+        }
+        if (faults.error()) {
+            log.debug("Injecting the {} status into {}", rule.getErrorStatus(), endpoint);
+            return errorResponse(request, rule.getErrorStatus());
+        }
+
+        var response = delegate.execute(request, options);
+        if (faults.slowDrip() && response.body() != null) {
+            log.debug("Injecting a slow-drip body into {}", endpoint);
+            var slowDrip = rule.getSlowDrip();
+            var body = new SlowDripInputStream(response.body().asInputStream(), slowDrip.getChunkSize(),
+                    slowDrip.getChunkDelay().toMillis());
+            return response.toBuilder().body(body, response.body().length()).build();
+        }
+        return response;
+    }
+
+    /**
+     * Draws all the random decisions for a request at once, so that the sequence of the draws
+     * does not depend on the outcome of the request
+     */
+    private Faults plan(String endpoint, FaultProperties.Rule rule) {
+        var random = randoms.computeIfAbsent(endpoint,
+                e -> new Random(faultProperties.getSeed() ^ e.hashCode()));
+
+        synchronized (random) {
+            return new Faults(delayMillis(rule.getDelay(), random),
+                    random.nextDouble() < rule.getResetRate(),
+                    random.nextDouble() < rule.getErrorRate(),
+                    random.nextDouble() < rule.getSlowDrip().getRate());
+        }
+    }
+
+    private long delayMillis(FaultProperties.Delay delay, Random random) {
+        return switch (delay.getDistribution()) {
+            case NONE -> 0;
+            case FIXED -> delay.getFixed().toMillis();
+            case UNIFORM -> delay.getMin().toMillis()
+                    + (long) (random.nextDouble() * (delay.getMax().toMillis() - delay.getMin().toMillis()));
+            case LOGNORMAL -> (long) Math.exp(Math.log(Math.max(1, delay.getMedian().toMillis()))
+                    + delay.getSigma() * random.nextGaussian());
+        };
+    }
+
+    private void sleep(long millis) throws InterruptedIOException {
+        if (millis <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during an injected delay");
+        }
+    }
+
+    private Response errorResponse(Request request, int status) {
+        var reason = HttpStatus.valueOf(status).getReasonPhrase();
+        var body = """
+                {"type":"injected-fault","title":"%s (injected)","status":"%d","traceId":"injected"}"""
+                .formatted(reason, status);
+
+        return Response.builder()
+                .request(request)
+                .status(status)
+                .reason(reason)
+                .headers(Map.of(HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_JSON_VALUE)))
+                .body(body, StandardCharsets.UTF_8)
+                .build();
+    }
+
+    private record Faults(long delayMillis, boolean reset, boolean error, boolean slowDrip) {
+    }
+}
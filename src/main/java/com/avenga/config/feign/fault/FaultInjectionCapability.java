@@ -0,0 +1,26 @@
+package com.avenga.config.feign.fault;
+
+import com.avenga.config.feign.ClientLayers;
+import feign.Capability;
+import feign.Client;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+
+/**
+ * Feign {@link Capability} wrapping the transport with the {@link FaultInjectingClient}
+ */
+@RequiredArgsConstructor
+public class FaultInjectionCapability implements Capability, Ordered {
+
+    private final FaultProperties faultProperties;
+
+    @Override
+    public Client enrich(Client client) {
+        return new FaultInjectingClient(client, faultProperties);
+    }
+
+    @Override
+    public int getOrder() {
+        return ClientLayers.FAULT_INJECTION;
+    }
+}
@@ -0,0 +1,102 @@
+package com.avenga.config.feign.fault;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The latency and fault injection settings of the Feign clients
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.feign.faults")
+public class FaultProperties {
+
+    /**
+     * The name of the rule applied to the endpoints without their own rule
+     */
+    public static final String DEFAULT_RULE = "default";
+
+    private boolean enabled;
+
+    /**
+     * The seed of the random generators, the same seed reproduces the same faults for the same requests sequence
+     */
+    private long seed = 42;
+
+    /**
+     * The rules per endpoint (e.g. {@code BookClient#getBooks}) or {@value DEFAULT_RULE}
+     */
+    private Map<String, Rule> endpoints = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Rule {
+
+        private Delay delay = new Delay();
+
+        /**
+         * The probability of the error response
+         */
+        private double errorRate;
+
+        /**
+         * The status of the error response
+         */
+        private int errorStatus = 503;
+
+        /**
+         * The probability of the connection reset
+         */
+        private double resetRate;
+
+        private SlowDrip slowDrip = new SlowDrip();
+    }
+
+    @Getter
+    @Setter
+    public static class Delay {
+
+        private Distribution distribution = Distribution.NONE;
+
+        /**
+         * The delay of the {@code fixed} distribution
+         */
+        private Duration fixed = Duration.ZERO;
+
+        /**
+         * The bounds of the {@code uniform} distribution
+         */
+        private Duration min = Duration.ZERO;
+        private Duration max = Duration.ZERO;
+
+        /**
+         * The median and the shape of the {@code lognormal} distribution
+         */
+        private Duration median = Duration.ZERO;
+        private double sigma = 0.5;
+    }
+
+    @Getter
+    @Setter
+    public static class SlowDrip {
+
+        /**
+         * The probability of the slowly delivered response body
+         */
+        private double rate;
+        private int chunkSize = 1024;
+        private Duration chunkDelay = Duration.ofMillis(50);
+    }
+
+    public enum Distribution {
+        NONE,
+        FIXED,
+        UNIFORM,
+        LOGNORMAL
+    }
+}
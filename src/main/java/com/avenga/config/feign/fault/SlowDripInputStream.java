@@ -0,0 +1,42 @@
+package com.avenga.config.feign.fault;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+/**
+ * An {@link InputStream} delivering the data in small chunks with a pause before every chunk
+ */
+class SlowDripInputStream extends FilterInputStream {
+
+    private final int chunkSize;
+    private final long chunkDelayMillis;
+
+    SlowDripInputStream(InputStream in, int chunkSize, long chunkDelayMillis) {
+        super(in);
+        this.chunkSize = chunkSize;
+        this.chunkDelayMillis = chunkDelayMillis;
+    }
+
+    @Override
+    public int read() throws IOException {
+        pause();
+        return super.read();
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        pause();
+        return super.read(buffer, offset, Math.min(length, chunkSize));
+    }
+
+    private void pause() throws InterruptedIOException {
+        try {
+            Thread.sleep(chunkDelayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while delivering a slow-drip body");
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.avenga.config.feign.phases;
+
+/**
+ * <p>The {@link Phase} timings of an HTTP exchange</p>
+ * <p>The Apache HTTP client executes the exchange on the calling thread, so the timings are bound to the thread
+ * by the {@link PhaseTimingClient} and the instrumented resolver, socket factories and request executor add their
+ * phases to the timings of the current thread, if any</p>
+ */
+final class ExchangeTimings {
+
+    private static final ThreadLocal<ExchangeTimings> CURRENT = new ThreadLocal<>();
+
+    private final long start = System.nanoTime();
+    private final long[] nanos = new long[Phase.values().length];
+    private boolean sent;
+    private boolean reused;
+
+    /**
+     * Starts the timings of an exchange on the current thread
+     *
+     * @return the new timings
+     */
+    static ExchangeTimings bind() {
+        var timings = new ExchangeTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Adds the time of the phase to the exchange of the current thread
+     *
+     * @param phase the phase
+     * @param startNanos the start of the phase as returned by {@link System#nanoTime()}, it ends now
+     */
+    static void record(Phase phase, long startNanos) {
+        var timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(phase, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Marks the start of sending the request of the exchange of the current thread. The time since the start
+     * of the exchange that was not spent opening a new connection is the {@link Phase#POOL} time
+     *
+     * @param reused {@code true} if the connection already served a request
+     */
+    static void sending(boolean reused) {
+        var timings = CURRENT.get();
+        if (timings != null) {
+            timings.sent = true;
+            timings.reused = reused;
+            timings.add(Phase.POOL, Math.max(0, System.nanoTime() - timings.start - timings.get(Phase.DNS)
+                    - timings.get(Phase.CONNECT) - timings.get(Phase.TLS) - timings.get(Phase.POOL)));
+        }
+    }
+
+    void add(Phase phase, long phaseNanos) {
+        nanos[phase.ordinal()] += phaseNanos;
+    }
+
+    long get(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    long total() {
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Returns whether the request was sent through the instrumented Apache HTTP client,
+     * e.g. the replayed exchanges are not
+     *
+     * @return {@code true} if the phases were measured
+     */
+    boolean isSent() {
+        return sent;
+    }
+
+    boolean isReused() {
+        return reused;
+    }
+
+    @Override
+    public String toString() {
+        var text = new StringBuilder(reused ? "reused connection" : "new connection");
+        for (var phase : Phase.values()) {
+            text.append(", ").append(phase.name().toLowerCase()).append(' ')
+                    .append(String.format("%.2f", get(phase) / 1e6)).append(" ms");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,38 @@
+package com.avenga.config.feign.phases;
+
+/**
+ * The phases of an HTTP exchange in the order they happen
+ */
+public enum Phase {
+
+    /**
+     * Waiting for a pooled connection and the client work before the request is sent,
+     * without the time of opening a new connection
+     */
+    POOL,
+
+    /**
+     * Resolving the host name of a new connection
+     */
+    DNS,
+
+    /**
+     * The TCP connect of a new connection
+     */
+    CONNECT,
+
+    /**
+     * The TLS handshake of a new connection
+     */
+    TLS,
+
+    /**
+     * Sending the request and waiting for the response status and headers, mostly the server think time
+     */
+    TTFB,
+
+    /**
+     * Reading the response body until its end or until it is closed
+     */
+    BODY
+}
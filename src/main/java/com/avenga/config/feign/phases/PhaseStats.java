@@ -0,0 +1,174 @@
+package com.avenga.config.feign.phases;
+
+import com.avenga.config.report.SuiteReport;
+import com.avenga.load.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * <p>Gathers the histograms of the {@link Phase} timings per endpoint, separately for the exchanges
+ * on the new and on the reused connections</p>
+ * <p>At the end of the suite the median and the 99th percentile of every phase are logged per endpoint
+ * and the percentiles of all the histograms are written to a CSV file</p>
+ */
+@Slf4j
+public class PhaseStats implements SuiteReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    private final Map<String, EndpointPhases> endpointPhases = new ConcurrentSkipListMap<>();
+    private final Path reportPath;
+
+    public PhaseStats(Path reportPath) {
+        this.reportPath = reportPath;
+    }
+
+    /**
+     * Records the timings of a finished exchange
+     *
+     * @param endpoint the endpoint name
+     * @param timings the {@link ExchangeTimings}
+     */
+    void record(String endpoint, ExchangeTimings timings) {
+        var phases = endpointPhases.computeIfAbsent(endpoint, e -> new EndpointPhases());
+        (timings.isReused() ? phases.reused : phases.opened).record(timings);
+    }
+
+    /**
+     * Returns the per-endpoint histograms
+     *
+     * @return map of the endpoint name to the {@link EndpointPhases}
+     */
+    public Map<String, EndpointPhases> getEndpointPhases() {
+        return endpointPhases;
+    }
+
+    @Override
+    public void report() {
+        log.info("HTTP exchange phases per endpoint (p50 / p99 ms):");
+        endpointPhases.forEach((endpoint, phases) -> {
+            log.info("  {}: {} of {} exchanges on reused connections", endpoint, phases.reused.getCount(),
+                    phases.opened.getCount() + phases.reused.getCount());
+            phases.connections().forEach((connection, histograms) -> {
+                if (histograms.getCount() > 0) {
+                    log.info("    {}: {}", connection, histograms);
+                }
+            });
+        });
+
+        writeCsv();
+    }
+
+    private void writeCsv() {
+        var lines = new ArrayList<String>();
+        lines.add("endpoint,connection,phase,count,p50_ms,p90_ms,p99_ms,max_ms");
+        endpointPhases.forEach((endpoint, phases) -> phases.connections().forEach((connection, histograms) ->
+                histograms.all().forEach((phase, histogram) -> {
+                    if (histogram.getCount() > 0) {
+                        var line = new ArrayList<>(List.of(endpoint, connection, phase,
+                                String.valueOf(histogram.getCount())));
+                        for (var percentile : PERCENTILES) {
+                            line.add(millis(histogram.getValueAtPercentile(percentile)));
+                        }
+                        line.add(millis(histogram.getMax()));
+                        lines.add(String.join(",", line));
+                    }
+                })));
+
+        try {
+            if (reportPath.getParent() != null) {
+                Files.createDirectories(reportPath.getParent());
+            }
+            Files.write(reportPath, lines);
+            log.info("The HTTP exchange phases per endpoint are written to {}", reportPath);
+        } catch (IOException e) {
+            log.warn("Failed to write the HTTP exchange phases report to {}", reportPath, e);
+        }
+    }
+
+    private static String millis(Duration duration) {
+        return String.format("%.3f", duration.toNanos() / 1e6);
+    }
+
+    /**
+     * Represents the phase histograms of an endpoint
+     */
+    public static class EndpointPhases {
+
+        private final PhaseHistograms opened = new PhaseHistograms();
+        private final PhaseHistograms reused = new PhaseHistograms();
+
+        public PhaseHistograms getOpened() {
+            return opened;
+        }
+
+        public PhaseHistograms getReused() {
+            return reused;
+        }
+
+        private Map<String, PhaseHistograms> connections() {
+            var connections = new LinkedHashMap<String, PhaseHistograms>();
+            connections.put("new", opened);
+            connections.put("reused", reused);
+            return connections;
+        }
+    }
+
+    /**
+     * Represents the histograms of every phase and of the whole exchange
+     */
+    public static class PhaseHistograms {
+
+        private final Map<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+        private final LatencyHistogram total = new LatencyHistogram();
+
+        PhaseHistograms() {
+            for (var phase : Phase.values()) {
+                phases.put(phase, new LatencyHistogram());
+            }
+        }
+
+        void record(ExchangeTimings timings) {
+            phases.forEach((phase, histogram) -> histogram.record(timings.get(phase)));
+            total.record(timings.total());
+        }
+
+        public long getCount() {
+            return total.getCount();
+        }
+
+        public LatencyHistogram getPhase(Phase phase) {
+            return phases.get(phase);
+        }
+
+        public LatencyHistogram getTotal() {
+            return total;
+        }
+
+        private Map<String, LatencyHistogram> all() {
+            var all = new LinkedHashMap<String, LatencyHistogram>();
+            phases.forEach((phase, histogram) -> all.put(phase.name().toLowerCase(), histogram));
+            all.put("total", total);
+            return all;
+        }
+
+        @Override
+        public String toString() {
+            var text = new StringBuilder().append(getCount()).append(" exchanges");
+            all().forEach((phase, histogram) -> text.append(", ").append(phase).append(' ')
+                    .append(millis(histogram.getValueAtPercentile(50))).append(" / ")
+                    .append(millis(histogram.getValueAtPercentile(99))));
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.avenga.config.feign.phases;
+
+import com.avenga.config.feign.ClientLayers;
+import feign.Capability;
+import feign.Client;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+
+/**
+ * Feign {@link Capability} wrapping the transport with the {@link PhaseTimingClient}
+ */
+@RequiredArgsConstructor
+public class PhaseTimingCapability implements Capability, Ordered {
+
+    private final PhaseStats phaseStats;
+
+    @Override
+    public Client enrich(Client client) {
+        return new PhaseTimingClient(client, phaseStats);
+    }
+
+    @Override
+    public int getOrder() {
+        return ClientLayers.PHASE_TIMING;
+    }
+}
@@ -0,0 +1,56 @@
+package com.avenga.config.feign.phases;
+
+import com.avenga.config.feign.Endpoints;
+import com.avenga.config.feign.MeteredInputStream;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+
+/**
+ * A {@link Client} decorator measuring the {@link Phase}s of every HTTP call and recording them
+ * in the {@link PhaseStats} once the response body is read
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PhaseTimingClient implements Client {
+
+    private final Client delegate;
+    private final PhaseStats phaseStats;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        var timings = ExchangeTimings.bind();
+        Response response;
+        try {
+            response = delegate.execute(request, options);
+        } finally {
+            ExchangeTimings.clear();
+        }
+
+        var endpoint = Endpoints.of(request);
+        if (response.body() == null) {
+            record(endpoint, timings);
+            return response;
+        }
+
+        var bodyStart = System.nanoTime();
+        var body = new MeteredInputStream(response.body().asInputStream(), bytes -> {
+            timings.add(Phase.BODY, System.nanoTime() - bodyStart);
+            record(endpoint, timings);
+        });
+        return response.toBuilder().body(body, response.body().length()).build();
+    }
+
+    private void record(String endpoint, ExchangeTimings timings) {
+        if (!timings.isSent()) {
+            return;
+        }
+
+        log.debug("{} phases: {}", endpoint, timings);
+        phaseStats.record(endpoint, timings);
+    }
+}
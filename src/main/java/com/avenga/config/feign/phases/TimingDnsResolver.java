@@ -0,0 +1,31 @@
+package com.avenga.config.feign.phases;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * A {@link DnsResolver} decorator recording the {@link Phase#DNS} time of the exchange
+ */
+@RequiredArgsConstructor
+public class TimingDnsResolver implements DnsResolver {
+
+    private final DnsResolver delegate;
+
+    public TimingDnsResolver() {
+        this(SystemDefaultDnsResolver.INSTANCE);
+    }
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        var start = System.nanoTime();
+        try {
+            return delegate.resolve(host);
+        } finally {
+            ExchangeTimings.record(Phase.DNS, start);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.avenga.config.feign.phases;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.io.IOException;
+
+/**
+ * <p>An {@link HttpRequestExecutor} recording the {@link Phase#TTFB} time of the exchange and whether
+ * its connection was reused</p>
+ * <p>The executor returns once the response status and headers are received, the body is read later</p>
+ */
+public class TimingRequestExecutor extends HttpRequestExecutor {
+
+    @Override
+    public HttpResponse execute(HttpRequest request, HttpClientConnection connection, HttpContext context)
+            throws IOException, HttpException {
+        ExchangeTimings.sending(connection.getMetrics().getRequestCount() > 0);
+
+        var start = System.nanoTime();
+        try {
+            return super.execute(request, connection, context);
+        } finally {
+            ExchangeTimings.record(Phase.TTFB, start);
+        }
+    }
+}
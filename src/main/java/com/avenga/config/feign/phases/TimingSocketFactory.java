@@ -0,0 +1,69 @@
+package com.avenga.config.feign.phases;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * <p>A {@link ConnectionSocketFactory} decorator recording the {@link Phase#CONNECT} and {@link Phase#TLS} times
+ * of the exchange</p>
+ * <p>The TLS socket factory connects and performs the handshake in one call, so for the TLS connections
+ * the socket is connected here and then layered by the delegate, the same way the delegate does it</p>
+ */
+@RequiredArgsConstructor
+public class TimingSocketFactory implements ConnectionSocketFactory {
+
+    private final ConnectionSocketFactory delegate;
+
+    @Override
+    public Socket createSocket(HttpContext context) throws IOException {
+        return delegate.createSocket(context);
+    }
+
+    @Override
+    public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress,
+                                InetSocketAddress localAddress, HttpContext context) throws IOException {
+        if (!(delegate instanceof LayeredConnectionSocketFactory layeredFactory)) {
+            var start = System.nanoTime();
+            try {
+                return delegate.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+            } finally {
+                ExchangeTimings.record(Phase.CONNECT, start);
+            }
+        }
+
+        var plainSocket = socket != null ? socket : delegate.createSocket(context);
+        try {
+            if (localAddress != null) {
+                plainSocket.bind(localAddress);
+            }
+            var start = System.nanoTime();
+            try {
+                plainSocket.connect(remoteAddress, connectTimeout);
+            } finally {
+                ExchangeTimings.record(Phase.CONNECT, start);
+            }
+
+            // the handshake is limited by the connect timeout like in the delegate
+            if (connectTimeout > 0 && plainSocket.getSoTimeout() == 0) {
+                plainSocket.setSoTimeout(connectTimeout);
+            }
+            start = System.nanoTime();
+            try {
+                return layeredFactory.createLayeredSocket(plainSocket, host.getHostName(), remoteAddress.getPort(),
+                        context);
+            } finally {
+                ExchangeTimings.record(Phase.TLS, start);
+            }
+        } catch (IOException | RuntimeException e) {
+            plainSocket.close();
+            throw e;
+        }
+    }
+}
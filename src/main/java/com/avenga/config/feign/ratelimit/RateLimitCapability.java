@@ -0,0 +1,27 @@
+package com.avenga.config.feign.ratelimit;
+
+import com.avenga.config.feign.ClientLayers;
+import feign.Capability;
+import feign.Client;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+
+/**
+ * Feign {@link Capability} wrapping the transport with the {@link RateLimitingClient}
+ */
+@RequiredArgsConstructor
+public class RateLimitCapability implements Capability, Ordered {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties rateLimitProperties;
+
+    @Override
+    public Client enrich(Client client) {
+        return new RateLimitingClient(client, rateLimiter, rateLimitProperties);
+    }
+
+    @Override
+    public int getOrder() {
+        return ClientLayers.RATE_LIMIT;
+    }
+}
@@ -0,0 +1,80 @@
+package com.avenga.config.feign.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The client-side rate limiting settings of the Feign clients
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.feign.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled;
+
+    /**
+     * The bucket shared by all the endpoints of an environment
+     */
+    private Bucket global = new Bucket();
+
+    /**
+     * The buckets per endpoint (e.g. {@code BookClient#createBook}), applied on top of the global one
+     */
+    private Map<String, Bucket> endpoints = new HashMap<>();
+
+    private Retry retry = new Retry();
+
+    @Getter
+    @Setter
+    public static class Bucket {
+
+        /**
+         * The number of the requests per second, 0 means no limit
+         */
+        private double rate;
+
+        /**
+         * The number of the requests that may be sent at once after an idle period
+         */
+        private int burst = 1;
+    }
+
+    @Getter
+    @Setter
+    public static class Retry {
+
+        /**
+         * The statuses meaning that the server throttles the client or is temporarily unavailable
+         */
+        private Set<Integer> statuses = Set.of(429, 503);
+
+        /**
+         * The client methods (e.g. {@code BookClient#createBook}) that are retried on all the statuses
+         * although their HTTP method is not idempotent. The others are retried on 429 only
+         */
+        private Set<String> nonIdempotentEndpoints = Set.of();
+
+        /**
+         * The maximal number of the attempts of a request, including the first one
+         */
+        private int maxAttempts = 4;
+
+        /**
+         * The backoff after the first throttled response without the {@code Retry-After} header,
+         * doubled after every next one
+         */
+        private Duration initialBackoff = Duration.ofMillis(500);
+
+        /**
+         * The upper bound of the backoff, also applied to the {@code Retry-After} value
+         */
+        private Duration maxBackoff = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,109 @@
+package com.avenga.config.feign.ratelimit;
+
+import com.avenga.config.report.SuiteReport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Holds the {@link TokenBucket}s of the {@link RateLimitProperties} and the time spent waiting on them</p>
+ * <p>Every environment has its own global bucket, as the environments are separate servers.
+ * The endpoint buckets are configured by the client method name (e.g. {@code BookClient#createBook})
+ * or by the name tagged with the environment (e.g. {@code BookClient#createBook@staging})</p>
+ */
+@Slf4j
+public class RateLimiter implements SuiteReport {
+
+    private static final String DEFAULT_ENVIRONMENT = "default";
+
+    private final RateLimitProperties rateLimitProperties;
+    private final Map<String, TokenBucket> globalBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> endpointBuckets = new ConcurrentHashMap<>();
+    private final Map<String, EndpointStats> endpointStats = new ConcurrentSkipListMap<>();
+
+    public RateLimiter(RateLimitProperties rateLimitProperties) {
+        this.rateLimitProperties = rateLimitProperties;
+    }
+
+    /**
+     * Waits until the request may be sent
+     *
+     * @param endpoint the endpoint name (see {@link com.avenga.config.feign.Endpoints#of(feign.Request)})
+     * @param method the client method name (see {@link com.avenga.config.feign.Endpoints#method(feign.Request)})
+     * @param environment the environment name or null for the default one
+     * @throws InterruptedIOException if the thread is interrupted while waiting
+     */
+    public void acquire(String endpoint, String method, String environment) throws InterruptedIOException {
+        var now = System.nanoTime();
+        var wait = globalBucket(environment).reserve(now);
+        var bucket = endpointBucket(endpoint, method);
+        if (bucket != null) {
+            wait = Math.max(wait, bucket.reserve(now));
+        }
+
+        if (wait > 0) {
+            stats(endpoint).waitNanos.add(wait);
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting on the rate limiter");
+            }
+        }
+    }
+
+    /**
+     * Pauses all the requests to the environment after a throttled response
+     *
+     * @param endpoint the endpoint that was throttled
+     * @param environment the environment name or null for the default one
+     * @param pauseNanos the length of the pause in nanoseconds
+     */
+    public void throttled(String endpoint, String environment, long pauseNanos) {
+        stats(endpoint).throttled.increment();
+        globalBucket(environment).pause(System.nanoTime() + pauseNanos);
+    }
+
+    @Override
+    public void report() {
+        if (endpointStats.isEmpty()) {
+            return;
+        }
+
+        log.info("Time spent waiting on the rate limiter per endpoint:");
+        endpointStats.forEach((endpoint, stats) -> log.info("  {}: {} ms waiting, {} throttled responses",
+                endpoint, TimeUnit.NANOSECONDS.toMillis(stats.waitNanos.sum()), stats.throttled.sum()));
+    }
+
+    private TokenBucket globalBucket(String environment) {
+        // the unlimited bucket is still needed for pausing the environment after a throttled response
+        var global = rateLimitProperties.getGlobal();
+        var rate = global.getRate() > 0 ? global.getRate() : Double.POSITIVE_INFINITY;
+        return globalBuckets.computeIfAbsent(environment == null ? DEFAULT_ENVIRONMENT : environment,
+                e -> new TokenBucket(rate, global.getBurst()));
+    }
+
+    private TokenBucket endpointBucket(String endpoint, String method) {
+        var endpoints = rateLimitProperties.getEndpoints();
+        var settings = endpoints.getOrDefault(endpoint, endpoints.get(method));
+        if (settings == null || settings.getRate() <= 0) {
+            return null;
+        }
+        return endpointBuckets.computeIfAbsent(endpoint, e -> new TokenBucket(settings.getRate(), settings.getBurst()));
+    }
+
+    private EndpointStats stats(String endpoint) {
+        return endpointStats.computeIfAbsent(endpoint, e -> new EndpointStats());
+    }
+
+    private static class EndpointStats {
+
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+    }
+}
@@ -0,0 +1,113 @@
+package com.avenga.config.feign.ratelimit;
+
+import com.avenga.config.feign.Endpoints;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>A {@link Client} decorator sending the requests no faster than the {@link RateLimiter} allows</p>
+ * <p>A throttled response (429 or 503 by default) pauses all the requests to the environment for the
+ * {@code Retry-After} period, or for an exponential backoff with jitter if the header is missing,
+ * and the request is sent again until the attempts are exhausted. The last throttled response is returned
+ * to the caller as it is</p>
+ * <p>A 429 response means the request was rejected, so it is retried for any method. The other statuses
+ * (e.g. a 503 of a proxy) may come after the service processed the request, so they are retried only for
+ * the idempotent methods and for the endpoints listed in {@code retry.non-idempotent-endpoints}.
+ * Otherwise a retried create could leave a duplicate entity that is never cleaned up</p>
+ */
+@Slf4j
+public class RateLimitingClient implements Client {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final Set<Request.HttpMethod> IDEMPOTENT_METHODS = EnumSet.of(Request.HttpMethod.GET,
+            Request.HttpMethod.HEAD, Request.HttpMethod.OPTIONS, Request.HttpMethod.TRACE, Request.HttpMethod.PUT,
+            Request.HttpMethod.DELETE);
+
+    private final Client delegate;
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties.Retry retry;
+
+    public RateLimitingClient(Client delegate, RateLimiter rateLimiter, RateLimitProperties rateLimitProperties) {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+        this.retry = rateLimitProperties.getRetry();
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        var endpoint = Endpoints.of(request);
+        var method = Endpoints.method(request);
+        var environment = Endpoints.environment(request);
+
+        for (var attempt = 1; ; attempt++) {
+            rateLimiter.acquire(endpoint, method, environment);
+            var response = delegate.execute(request, options);
+
+            if (!isRetried(request, method, response.status()) || attempt >= retry.getMaxAttempts()) {
+                return response;
+            }
+
+            var pause = pause(response, attempt);
+            log.debug("{} responded with {}, pausing for {} ms before the attempt {}", endpoint, response.status(),
+                    TimeUnit.NANOSECONDS.toMillis(pause), attempt + 1);
+            response.close();
+            rateLimiter.throttled(endpoint, environment, pause);
+        }
+    }
+
+    private boolean isRetried(Request request, String method, int status) {
+        if (!retry.getStatuses().contains(status)) {
+            return false;
+        }
+        return status == TOO_MANY_REQUESTS || IDEMPOTENT_METHODS.contains(request.httpMethod())
+                || retry.getNonIdempotentEndpoints().contains(method);
+    }
+
+    private long pause(Response response, int attempt) {
+        var maxBackoff = retry.getMaxBackoff().toNanos();
+        var retryAfter = retryAfter(response);
+        if (retryAfter != null) {
+            return Math.min(maxBackoff, Math.max(0, retryAfter.toNanos()));
+        }
+
+        var backoff = Math.min(maxBackoff, retry.getInitialBackoff().toNanos() << Math.min(attempt - 1, 20));
+        // the jitter spreads the retries of the threads throttled at the same time
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    private Duration retryAfter(Response response) {
+        var values = response.headers().entrySet().stream()
+                .filter(header -> HttpHeaders.RETRY_AFTER.equalsIgnoreCase(header.getKey()))
+                .flatMap(header -> header.getValue().stream())
+                .findFirst();
+        if (values.isEmpty()) {
+            return null;
+        }
+
+        var value = values.get().trim();
+        try {
+            return Duration.ofSeconds(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            try {
+                return Duration.between(ZonedDateTime.now(),
+                        ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME));
+            } catch (DateTimeParseException ex) {
+                log.debug("Ignoring the malformed Retry-After header '{}'", value);
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.avenga.config.feign.ratelimit;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>A token bucket handing out the send times of the requests</p>
+ * <p>The tokens are refilled at the configured rate up to the burst size. A caller that finds the bucket empty
+ * does not poll it: it reserves the next token in advance (the bucket goes into debt) and is told how long to wait
+ * for it. The reservations are taken under a fair lock, so the threads are served in the order of arrival
+ * and none of them starves. The bucket can also be paused, e.g. for the {@code Retry-After} period</p>
+ */
+public class TokenBucket {
+
+    private final double nanosPerToken;
+    private final double burst;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private double tokens;
+    private long refilledAt;
+    private long pausedUntil;
+
+    /**
+     * Creates a full bucket
+     *
+     * @param rate the number of the tokens per second, {@link Double#POSITIVE_INFINITY} for no limit
+     * @param burst the capacity of the bucket
+     */
+    public TokenBucket(double rate, int burst) {
+        this.nanosPerToken = 1_000_000_000 / rate;
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.refilledAt = System.nanoTime();
+        this.pausedUntil = refilledAt;
+    }
+
+    /**
+     * Reserves a token
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return the number of nanoseconds to wait before sending the request
+     */
+    public long reserve(long now) {
+        lock.lock();
+        try {
+            var start = pausedUntil - now > 0 ? pausedUntil : now;
+            if (start - refilledAt > 0) {
+                tokens = Math.min(burst, tokens + (start - refilledAt) / nanosPerToken);
+                refilledAt = start;
+            }
+
+            tokens--;
+            var debt = tokens < 0 ? (long) (-tokens * nanosPerToken) : 0;
+            return start - now + debt;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops handing out the tokens until the specified time. The tokens are not refilled during the pause
+     *
+     * @param until the {@link System#nanoTime()} the bucket is paused until
+     */
+    public void pause(long until) {
+        lock.lock();
+        try {
+            if (until - pausedUntil > 0) {
+                pausedUntil = until;
+                tokens = Math.min(tokens, 1);
+            }
+            if (until - refilledAt > 0) {
+                refilledAt = until;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.avenga.config.feign.streaming;
+
+import org.apache.commons.io.output.StringBuilderWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+
+/**
+ * <p>The repeatable source of a large text field of a {@link LargePayload}</p>
+ * <p>Every {@link #open()} starts the content from the beginning, so a request can be sent again (e.g. retried)</p>
+ */
+public interface ContentSource {
+
+    /**
+     * Opens the content
+     *
+     * @return a new {@link Reader} of the content
+     */
+    Reader open();
+
+    /**
+     * Returns the length of the content
+     *
+     * @return number of the characters
+     */
+    long length();
+
+    /**
+     * Reads the whole content into a string, meant for the assertions of the echoed fields
+     *
+     * @return the content
+     */
+    default String asString() {
+        if (length() > Integer.MAX_VALUE) {
+            throw new IllegalStateException("The content of " + length() + " characters does not fit a string");
+        }
+
+        var text = new StringBuilder((int) length());
+        try (var reader = open()) {
+            reader.transferTo(new StringBuilderWriter(text));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Creates the source of the text that is already in memory
+     *
+     * @param text the text
+     * @return a {@link ContentSource}
+     */
+    static ContentSource of(String text) {
+        return new ContentSource() {
+
+            @Override
+            public Reader open() {
+                return new StringReader(text);
+            }
+
+            @Override
+            public long length() {
+                return text.length();
+            }
+        };
+    }
+
+    /**
+     * Creates the source of the pseudo-random words generated while the content is read,
+     * the content is never held in memory as a whole. The same seed produces the same content
+     *
+     * @param length number of the characters
+     * @param seed the seed of the words
+     * @return a {@link ContentSource}
+     */
+    static ContentSource generated(long length, long seed) {
+        return new GeneratedContent(length, seed);
+    }
+}
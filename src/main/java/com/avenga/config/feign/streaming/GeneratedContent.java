@@ -0,0 +1,71 @@
+package com.avenga.config.feign.streaming;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.Reader;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * The {@link ContentSource} of the pseudo-random words produced while the content is read
+ */
+@RequiredArgsConstructor
+class GeneratedContent implements ContentSource {
+
+    // the words are followed by a space, so no string is built while the content is read
+    private static final String[] WORDS = Stream.of("lorem", "ipsum", "dolor", "sit", "amet", "consectetur",
+                    "adipiscing", "elit", "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et",
+                    "dolore", "magna", "aliqua", "enim", "ad", "minim", "veniam", "quis", "nostrud", "exercitation",
+                    "ullamco", "laboris")
+            .map(word -> word + ' ')
+            .toArray(String[]::new);
+
+    private final long length;
+    private final long seed;
+
+    @Override
+    public Reader open() {
+        return new WordReader(new SplittableRandom(seed), length);
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    private static class WordReader extends Reader {
+
+        private final SplittableRandom random;
+        private long remaining;
+        private String word = "";
+        private int position;
+
+        WordReader(SplittableRandom random, long length) {
+            this.random = random;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (remaining == 0) {
+                return -1;
+            }
+
+            var count = (int) Math.min(length, remaining);
+            for (var i = 0; i < count; i++) {
+                if (position == word.length()) {
+                    word = WORDS[random.nextInt(WORDS.length)];
+                    position = 0;
+                }
+                buffer[offset + i] = word.charAt(position++);
+            }
+            remaining -= count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            // nothing to release, the content is generated
+        }
+    }
+}
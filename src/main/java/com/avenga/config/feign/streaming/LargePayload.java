@@ -0,0 +1,87 @@
+package com.avenga.config.feign.streaming;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>A request body made of a DTO with some of its text fields replaced by the {@link ContentSource}s</p>
+ * <p>The fields are written to the JSON straight from the sources. With the {@link StreamingCapability}
+ * the body is written to the connection as it is produced, otherwise it is serialized like any other body</p>
+ * <pre>{@code
+ * bookClient.createLargeBook(LargePayload.of(bookDto).with("excerpt", ContentSource.generated(10_000_000, 1)));
+ * }</pre>
+ */
+@Getter(AccessLevel.PACKAGE)
+@RequiredArgsConstructor(staticName = "of")
+@JsonSerialize(using = LargePayload.Serializer.class)
+public final class LargePayload {
+
+    private final Object value;
+    private final Map<String, ContentSource> fields = new LinkedHashMap<>();
+
+    /**
+     * Replaces the field of the DTO
+     *
+     * @param field the JSON name of the field
+     * @param content the content of the field
+     * @return this payload
+     */
+    public LargePayload with(String field, ContentSource content) {
+        fields.put(field, content);
+        return this;
+    }
+
+    static class Serializer extends StdSerializer<LargePayload> {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        Serializer() {
+            super(LargePayload.class);
+        }
+
+        @Override
+        public void serialize(LargePayload payload, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            // the buffer keeps the references to the DTO strings, the DTO is not serialized twice
+            var buffer = new TokenBuffer(generator.getCodec(), false);
+            provider.defaultSerializeValue(payload.value, buffer);
+
+            generator.writeStartObject();
+            try (var parser = buffer.asParser()) {
+                if (parser.nextToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        var field = parser.currentName();
+                        parser.nextToken();
+                        if (payload.fields.containsKey(field)) {
+                            parser.skipChildren();
+                        } else {
+                            generator.writeFieldName(field);
+                            generator.copyCurrentStructure(parser);
+                        }
+                    }
+                }
+            }
+
+            for (var field : payload.fields.entrySet()) {
+                generator.writeFieldName(field.getKey());
+                try (var reader = field.getValue().open()) {
+                    generator.writeString(reader, -1);
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.avenga.config.feign.streaming;
+
+import feign.Request;
+import feign.RequestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>The streamed bodies of the calls in flight</p>
+ * <p>A Feign request carries the body as a byte array only, so the {@link StreamingEncoder} leaves the body
+ * of the template empty and binds the {@link StreamingBody} to the calling thread instead. The request is marked
+ * with the {@link #HEADER} holding the id of the body, the {@link StreamingClient} looks the body up by it.
+ * The body stays bound until the client method returns, so the retries of the request are streamed again</p>
+ */
+public final class StreamingBodies {
+
+    /**
+     * The marker header of the streamed requests, it is not sent
+     */
+    public static final String HEADER = "X-Streamed-Body";
+
+    private static final ThreadLocal<StreamingBody> BODY = new ThreadLocal<>();
+    private static final AtomicLong IDS = new AtomicLong();
+
+    private StreamingBodies() {
+    }
+
+    /**
+     * Checks whether the body of the request is streamed
+     *
+     * @param request the request
+     * @return {@code true} if the request has the marker header
+     */
+    public static boolean isStreamed(Request request) {
+        return request.headers().containsKey(HEADER);
+    }
+
+    static void bind(RequestTemplate template, StreamingBody body) {
+        BODY.set(body);
+        template.removeHeader(HttpHeaders.CONTENT_TYPE);
+        template.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        template.header(HEADER, body.getId());
+    }
+
+    static String nextId() {
+        return Long.toString(IDS.incrementAndGet());
+    }
+
+    static StreamingBody find(Request request) {
+        var ids = request.headers().getOrDefault(HEADER, List.of());
+        var body = BODY.get();
+
+        if (ids.isEmpty()) {
+            return null;
+        }
+        if (body == null || !ids.contains(body.getId())) {
+            throw new IllegalStateException("The streamed body " + ids + " is not bound to the thread "
+                    + Thread.currentThread().getName());
+        }
+        return body;
+    }
+
+    static void clear() {
+        BODY.remove();
+    }
+}
@@ -0,0 +1,43 @@
+package com.avenga.config.feign.streaming;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The JSON request body that is written to the connection while it is serialized
+ */
+@RequiredArgsConstructor
+public class StreamingBody {
+
+    @Getter
+    private final String id;
+    private final ObjectWriter objectWriter;
+    private final Object value;
+
+    /**
+     * Writes the body, the body can be written any number of times
+     *
+     * @param outputStream the stream to write to, it is not closed
+     * @throws IOException if the body cannot be written
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        objectWriter.writeValue(outputStream, value);
+    }
+
+    /**
+     * Serializes the whole body into memory, for the transports that cannot stream
+     *
+     * @return the body bytes
+     * @throws IOException if the body cannot be serialized
+     */
+    public byte[] toByteArray() throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+        writeTo(outputStream);
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,60 @@
+package com.avenga.config.feign.streaming;
+
+import com.avenga.config.feign.ClientLayers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Capability;
+import feign.Client;
+import feign.InvocationHandlerFactory;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.codec.Encoder;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+
+/**
+ * Feign {@link Capability} streaming the large request bodies: the encoder is wrapped with the
+ * {@link StreamingEncoder}, the transport with the {@link StreamingClient} and the streamed body is unbound
+ * when the client method returns
+ */
+@RequiredArgsConstructor
+public class StreamingCapability implements Capability, Ordered {
+
+    private final CloseableHttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final long threshold;
+
+    @Override
+    public Encoder enrich(Encoder encoder) {
+        return new StreamingEncoder(encoder, objectMapper, threshold);
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return new StreamingClient(client, httpClient);
+    }
+
+    @Override
+    public InvocationHandlerFactory enrich(InvocationHandlerFactory invocationHandlerFactory) {
+        return (target, dispatch) -> {
+            var unbindingDispatch = new HashMap<Method, MethodHandler>();
+
+            dispatch.forEach((method, handler) -> unbindingDispatch.put(method, argv -> {
+                try {
+                    return handler.invoke(argv);
+                } finally {
+                    StreamingBodies.clear();
+                }
+            }));
+
+            return invocationHandlerFactory.create(target, unbindingDispatch);
+        };
+    }
+
+    @Override
+    public int getOrder() {
+        return ClientLayers.STREAMING;
+    }
+}
@@ -0,0 +1,127 @@
+package com.avenga.config.feign.streaming;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.httpclient.ApacheHttpClient;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+
+/**
+ * <p>A {@link Client} sending the {@link StreamingBody} of the marked requests with the chunked transfer encoding,
+ * the body is written to the connection as it is serialized</p>
+ * <p>The requests without a streamed body are executed by the delegate. If the delegate is not the
+ * {@link ApacheHttpClient} the streamed body is serialized into the request and passed to the delegate</p>
+ */
+@RequiredArgsConstructor
+public class StreamingClient implements Client {
+
+    private final Client delegate;
+    private final CloseableHttpClient httpClient;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        var body = StreamingBodies.find(request);
+
+        if (body == null) {
+            return delegate.execute(request, options);
+        }
+        if (!(delegate instanceof ApacheHttpClient)) {
+            return delegate.execute(Request.create(request.httpMethod(), request.url(), headers(request),
+                    body.toByteArray(), request.charset(), request.requestTemplate()), options);
+        }
+        return toFeignResponse(httpClient.execute(toHttpRequest(request, body, options)), request);
+    }
+
+    private HttpUriRequest toHttpRequest(Request request, StreamingBody body, Request.Options options) {
+        var requestBuilder = RequestBuilder.create(request.httpMethod().name())
+                .setUri(request.url())
+                .setConfig(RequestConfig.custom()
+                        .setConnectTimeout(options.connectTimeoutMillis())
+                        .setSocketTimeout(options.readTimeoutMillis())
+                        .setRedirectsEnabled(options.isFollowRedirects())
+                        .build());
+
+        headers(request).forEach((name, values) -> {
+            if (!name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)) {
+                values.forEach(value -> requestBuilder.addHeader(name, value));
+            }
+        });
+        return requestBuilder.setEntity(new StreamingEntity(body)).build();
+    }
+
+    private Response toFeignResponse(HttpResponse httpResponse, Request request) throws IOException {
+        var headers = new LinkedHashMap<String, Collection<String>>();
+        for (var header : httpResponse.getAllHeaders()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+        }
+
+        var entity = httpResponse.getEntity();
+        var length = entity == null ? -1 : entity.getContentLength();
+
+        return Response.builder()
+                .status(httpResponse.getStatusLine().getStatusCode())
+                .reason(httpResponse.getStatusLine().getReasonPhrase())
+                .headers(headers)
+                .request(request)
+                // closing the content stream releases the connection back to the pool
+                .body(entity == null ? null : entity.getContent(),
+                        length < 0 || length > Integer.MAX_VALUE ? null : (int) length)
+                .build();
+    }
+
+    private static LinkedHashMap<String, Collection<String>> headers(Request request) {
+        var headers = new LinkedHashMap<>(request.headers());
+        headers.remove(StreamingBodies.HEADER);
+        return headers;
+    }
+
+    private static class StreamingEntity extends AbstractHttpEntity {
+
+        private final StreamingBody body;
+
+        StreamingEntity(StreamingBody body) {
+            this.body = body;
+            setChunked(true);
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        @Override
+        public long getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new ByteArrayInputStream(body.toByteArray());
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            body.writeTo(outputStream);
+        }
+
+        @Override
+        public boolean isStreaming() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.avenga.config.feign.streaming;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import feign.RequestTemplate;
+import feign.codec.Encoder;
+
+import java.lang.reflect.Type;
+
+/**
+ * <p>The {@link Encoder} streaming the large JSON bodies</p>
+ * <p>The {@link LargePayload} bodies and the DTO bodies with the estimated JSON size over the threshold
+ * are not serialized, they are bound as the {@link StreamingBody} and written by the {@link StreamingClient}
+ * straight to the connection. The other bodies are encoded by the delegate</p>
+ */
+public class StreamingEncoder implements Encoder {
+
+    private final Encoder delegate;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter objectWriter;
+    private final long threshold;
+
+    public StreamingEncoder(Encoder delegate, ObjectMapper objectMapper, long threshold) {
+        this.delegate = delegate;
+        this.objectMapper = objectMapper;
+        this.objectWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void encode(Object object, Type bodyType, RequestTemplate template) {
+        if (object instanceof LargePayload || isLarge(object)) {
+            StreamingBodies.bind(template, new StreamingBody(StreamingBodies.nextId(), objectWriter, object));
+        } else {
+            delegate.encode(object, bodyType, template);
+        }
+    }
+
+    private boolean isLarge(Object object) {
+        if (threshold <= 0 || object == null || object instanceof CharSequence || object instanceof byte[]) {
+            return false;
+        }
+        // the tree shares the strings with the DTO, only the nodes are allocated
+        return estimateLength(objectMapper.valueToTree(object)) >= threshold;
+    }
+
+    private static long estimateLength(JsonNode node) {
+        if (node.isTextual()) {
+            return node.textValue().length() + 2L;
+        }
+
+        var length = 2L;
+        for (var child : node) {
+            length += estimateLength(child) + 1;
+        }
+        return length;
+    }
+}
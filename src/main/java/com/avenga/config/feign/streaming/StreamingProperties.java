@@ -0,0 +1,23 @@
+package com.avenga.config.feign.streaming;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * The settings of the streaming of the large request bodies
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.feign.streaming")
+public class StreamingProperties {
+
+    private boolean enabled;
+
+    /**
+     * The DTO bodies with the estimated JSON size over the threshold are streamed,
+     * the {@link LargePayload} bodies are streamed regardless of the size
+     */
+    private DataSize threshold = DataSize.ofMegabytes(1);
+}
@@ -0,0 +1,42 @@
+package com.avenga.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The JFR event of an HTTP exchange made by a Feign client. The event lasts until the response body is consumed
+ */
+@Name("com.avenga.HttpExchange")
+@Label("HTTP Exchange")
+@Description("An HTTP exchange made by a Feign client")
+@Category({"Online Bookstore", "HTTP"})
+@StackTrace(false)
+public class HttpExchangeEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Method")
+    String method;
+
+    @Label("URL")
+    String url;
+
+    @Label("Status")
+    int status;
+
+    @Label("Request Bytes")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Bytes")
+    @DataAmount
+    long responseBytes;
+
+    @Label("Test")
+    String test;
+}
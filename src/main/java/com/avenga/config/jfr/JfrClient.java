@@ -0,0 +1,56 @@
+package com.avenga.config.jfr;
+
+import com.avenga.config.TestOwnerContext;
+import com.avenga.config.feign.Endpoints;
+import com.avenga.config.feign.MeteredInputStream;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * A {@link Client} decorator emitting a {@link HttpExchangeEvent} for every HTTP call
+ */
+@RequiredArgsConstructor
+public class JfrClient implements Client {
+
+    private final Client delegate;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        var event = new HttpExchangeEvent();
+
+        if (!event.isEnabled()) {
+            return delegate.execute(request, options);
+        }
+
+        event.begin();
+        event.endpoint = Endpoints.of(request);
+        event.method = request.httpMethod().name();
+        event.url = request.url();
+        event.requestBytes = request.body() == null ? 0 : request.body().length;
+        event.test = TestOwnerContext.current().toString();
+
+        Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (IOException | RuntimeException e) {
+            event.commit();
+            throw e;
+        }
+
+        event.status = response.status();
+        if (response.body() == null) {
+            event.commit();
+            return response;
+        }
+
+        var body = new MeteredInputStream(response.body().asInputStream(), bytes -> {
+            event.responseBytes = bytes;
+            event.commit();
+        });
+        return response.toBuilder().body(body, response.body().length()).build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.avenga.config.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * <p>The Java Flight Recorder recording of the whole suite</p>
+ * <p>The recording is enabled with the {@code app.jfr.enabled} system property and uses the JFR settings
+ * named by {@code app.jfr.settings} ({@code profile} by default) plus the harness events.
+ * It is dumped to {@code app.jfr.path} when the suite is finished</p>
+ */
+@Slf4j
+public final class SuiteRecording {
+
+    private static final boolean ENABLED = Boolean.getBoolean("app.jfr.enabled");
+    private static final String SETTINGS = System.getProperty("app.jfr.settings", "profile");
+    private static final String PATH = System.getProperty("app.jfr.path", "target/suite.jfr");
+
+    private static Recording recording;
+
+    private SuiteRecording() {
+    }
+
+    /**
+     * Starts the recording if it is enabled
+     */
+    public static synchronized void start() {
+        if (!ENABLED || recording != null) {
+            return;
+        }
+
+        try {
+            recording = new Recording(Configuration.getConfiguration(SETTINGS));
+            recording.setName("Online Bookstore suite");
+            recording.enable(HttpExchangeEvent.class);
+            recording.enable(TestExecutionEvent.class);
+            recording.start();
+            log.info("Started the flight recording of the suite with the '{}' settings", SETTINGS);
+        } catch (IOException | ParseException e) {
+            log.warn("Failed to start the flight recording with the '{}' settings", SETTINGS, e);
+        }
+    }
+
+    /**
+     * Stops the recording and dumps it to the file
+     */
+    public static synchronized void stop() {
+        if (recording == null) {
+            return;
+        }
+
+        try {
+            var path = Path.of(PATH);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            recording.stop();
+            recording.dump(path);
+            log.info("The flight recording of the suite is written to {}", path);
+        } catch (IOException e) {
+            log.warn("Failed to write the flight recording to {}", PATH, e);
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+}
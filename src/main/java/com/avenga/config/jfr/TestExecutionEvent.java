@@ -0,0 +1,57 @@
+package com.avenga.config.jfr;
+
+import com.avenga.config.TestOwner;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The JFR event of a test or configuration method execution
+ */
+@Name("com.avenga.TestExecution")
+@Label("Test Execution")
+@Description("An execution of a test or configuration method")
+@Category({"Online Bookstore", "Tests"})
+@StackTrace(false)
+public class TestExecutionEvent extends jdk.jfr.Event {
+
+    @Label("Test Class")
+    String testClass;
+
+    @Label("Test Method")
+    String testMethod;
+
+    @Label("Configuration Method")
+    boolean configuration;
+
+    @Label("Status")
+    String status;
+
+    /**
+     * Creates the event and starts its timing
+     *
+     * @param owner the test class and method
+     * @param configuration whether the method is a configuration method
+     * @return the started event
+     */
+    public static TestExecutionEvent start(TestOwner owner, boolean configuration) {
+        var event = new TestExecutionEvent();
+        event.testClass = owner.testClassName();
+        event.testMethod = owner.testMethodName();
+        event.configuration = configuration;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the timing and commits the event if it is enabled by a running recording
+     *
+     * @param status the status of the method execution
+     */
+    public void finish(String status) {
+        this.status = status;
+        commit();
+    }
+}
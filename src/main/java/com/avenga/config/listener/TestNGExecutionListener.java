@@ -1,35 +1,120 @@
 package com.avenga.config.listener;
 
+import com.avenga.config.TestOwner;
+import com.avenga.config.TestOwnerContext;
+import com.avenga.config.jfr.SuiteRecording;
+import com.avenga.config.jfr.TestExecutionEvent;
+import com.avenga.config.telemetry.RunTelemetry;
+import com.avenga.config.trace.TraceRecorder;
 import lombok.extern.slf4j.Slf4j;
+import org.testng.IClassListener;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestClass;
 import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.TestListenerAdapter;
 
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+/**
+ * <p>Logs the test execution progress.</p>
+ * <p>It also binds the {@link TestOwner} (test class and method) to the thread executing a test or a configuration
+ * method, so that the data created by the method is attributed to the right test class</p>
+ * <p>The spans of the test classes and methods are recorded to the {@link TraceRecorder}, the executions
+ * of the methods are emitted as {@link TestExecutionEvent}s and the {@link SuiteRecording} is started and stopped
+ * with the suite</p>
+ * <p>The started and finished tests are counted by the {@link RunTelemetry}, which is published while the suite
+ * is running</p>
+ */
 @Slf4j
-public class TestNGExecutionListener extends TestListenerAdapter {
+public class TestNGExecutionListener extends TestListenerAdapter
+		implements IInvokedMethodListener, ISuiteListener, IClassListener {
 
 	private static final String ANSI_GREEN = "\u001B[32m";
 	private static final String ANSI_RED = "\u001B[31m";
 	private static final String ANSI_RESET = "\u001B[0m";
 
+	// keyed by the instance, a class listed in several concurrent <test>s has an ITestClass in each of them
+	private final Map<ITestClass, Long> classStartTimes = new ConcurrentHashMap<>();
+	private final ThreadLocal<TestExecutionEvent> executionEvents = new ThreadLocal<>();
+
+	@Override
+	public void onStart(ISuite suite) {
+		SuiteRecording.start();
+		RunTelemetry.start();
+	}
+
+	@Override
+	public void onFinish(ISuite suite) {
+		TraceRecorder.write();
+		SuiteRecording.stop();
+		RunTelemetry.stop();
+	}
+
+	@Override
+	public void onBeforeClass(ITestClass testClass) {
+		classStartTimes.put(testClass, System.nanoTime());
+	}
+
+	@Override
+	public void onAfterClass(ITestClass testClass) {
+		var startTime = classStartTimes.remove(testClass);
+
+		if (startTime != null) {
+			var xmlTest = testClass.getXmlTest();
+			TraceRecorder.span(testClass.getRealClass().getSimpleName(), "class", startTime,
+					xmlTest == null ? Map.of() : Map.of("test", xmlTest.getName()));
+		}
+	}
+
 	@Override
 	public void onStart(ITestContext testContext) {
 		log.info("Running suite: \"{}\" containing {} tests", testContext.getName(),
 				testContext.getAllTestMethods().length);
 	}
 
+	@Override
+	public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+		var owner = new TestOwner(testResult.getTestClass().getRealClass().getSimpleName(),
+				method.getTestMethod().getMethodName());
+		TestOwnerContext.bind(owner);
+		TraceRecorder.openSpan();
+		executionEvents.set(TestExecutionEvent.start(owner, !method.isTestMethod()));
+	}
+
+	@Override
+	public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+		var status = status(testResult);
+		TraceRecorder.closeSpan(TestOwnerContext.current().toString(),
+				method.isTestMethod() ? "test" : "configuration", Map.of("status", status));
+
+		var executionEvent = executionEvents.get();
+		if (executionEvent != null) {
+			executionEvents.remove();
+			executionEvent.finish(status);
+		}
+		TestOwnerContext.clear();
+	}
+
 	@Override
 	public void onTestStart(ITestResult result) {
-		log.debug("\n" + ANSI_GREEN + """
-						 _____                _       ____    _                    _                _
-						|_   _|   ___   ___  | |_    / ___|  | |_    __ _   _ __  | |_    ___    __| |
-						  | |    / _ \\ / __| | __|   \\___ \\  | __|  / _` | | '__| | __|  / _ \\  / _` |
-						  | |   |  __/ \\__ \\ | |_     ___) | | |_  | (_| | | |    | |_  |  __/ | (_| |
-						  |_|    \\___| |___/  \\__|   |____/   \\__|  \\__,_| |_|     \\__|  \\___|  \\__,_|
-				""" + ANSI_RESET);
+		RunTelemetry.testStarted();
+
+		if (log.isDebugEnabled()) {
+			log.debug("\n" + ANSI_GREEN + """
+							 _____                _       ____    _                    _                _
+							|_   _|   ___   ___  | |_    / ___|  | |_    __ _   _ __  | |_    ___    __| |
+							  | |    / _ \\ / __| | __|   \\___ \\  | __|  / _` | | '__| | __|  / _ \\  / _` |
+							  | |   |  __/ \\__ \\ | |_     ___) | | |_  | (_| | | |    | |_  |  __/ | (_| |
+							  |_|    \\___| |___/  \\__|   |____/   \\__|  \\__,_| |_|     \\__|  \\___|  \\__,_|
+					""" + ANSI_RESET);
+		}
 
 		log.info("Starting test: {}#{} {} {}", result.getTestClass().getRealClass().getName(),
 				result.getMethod().getMethodName(), join(result.getParameters()), join(result.getFactoryParameters()));
@@ -37,34 +122,54 @@ public class TestNGExecutionListener extends TestListenerAdapter {
 
 	@Override
 	public void onTestSuccess(ITestResult result) {
+		RunTelemetry.testFinished(status(result));
 		log.info("{}PASSED{}: {}#{}", ANSI_GREEN, ANSI_RESET, result.getTestClass().getRealClass().getName(),
 				result.getMethod().getMethodName());
 
-		log.debug("\n" + ANSI_GREEN + """ 
-				  _____                _       ____                                   _
-				 |_   _|   ___   ___  | |_    |  _ \\    __ _   ___   ___    ___    __| |
-				   | |    / _ \\ / __| | __|   | |_) |  / _` | / __| / __|  / _ \\  / _` |
-				   | |   |  __/ \\__ \\ | |_    |  __/  | (_| | \\__ \\ \\__ \\ |  __/ | (_| |
-				   |_|    \\___| |___/  \\__|   |_|      \\__,_| |___/ |___/  \\___|  \\__,_|
-				""" + ANSI_RESET);
+		if (log.isDebugEnabled()) {
+			log.debug("\n" + ANSI_GREEN + """ 
+					  _____                _       ____                                   _
+					 |_   _|   ___   ___  | |_    |  _ \\    __ _   ___   ___    ___    __| |
+					   | |    / _ \\ / __| | __|   | |_) |  / _` | / __| / __|  / _ \\  / _` |
+					   | |   |  __/ \\__ \\ | |_    |  __/  | (_| | \\__ \\ \\__ \\ |  __/ | (_| |
+					   |_|    \\___| |___/  \\__|   |_|      \\__,_| |___/ |___/  \\___|  \\__,_|
+					""" + ANSI_RESET);
+		}
 	}
 
 	@Override
 	public void onTestFailure(ITestResult result) {
+		RunTelemetry.testFinished(status(result));
 
 		log.error(result.getThrowable().getMessage());
 
-		log.debug("\n" + ANSI_RED + """ 
-				  _____                _       _____           _   _              _
-				 |_   _|   ___   ___  | |_    |  ___|   __ _  (_) | |   ___    __| |
-				   | |    / _ \\ / __| | __|   | |_     / _` | | | | |  / _ \\  / _` |
-				   | |   |  __/ \\__ \\ | |_    |  _|   | (_| | | | | | |  __/ | (_| |
-				   |_|    \\___| |___/  \\__|   |_|      \\__,_| |_| |_|  \\___|  \\__,_|
-				""" + ANSI_RESET);
+		if (log.isDebugEnabled()) {
+			log.debug("\n" + ANSI_RED + """ 
+					  _____                _       _____           _   _              _
+					 |_   _|   ___   ___  | |_    |  ___|   __ _  (_) | |   ___    __| |
+					   | |    / _ \\ / __| | __|   | |_     / _` | | | | |  / _ \\  / _` |
+					   | |   |  __/ \\__ \\ | |_    |  _|   | (_| | | | | | |  __/ | (_| |
+					   |_|    \\___| |___/  \\__|   |_|      \\__,_| |_| |_|  \\___|  \\__,_|
+					""" + ANSI_RESET);
+		}
 		log.error("{}FAILED{}: {}#{}", ANSI_RED, ANSI_RESET, result.getTestClass().getRealClass().getName(),
 				result.getMethod().getMethodName());
 	}
 
+	@Override
+	public void onTestSkipped(ITestResult result) {
+		RunTelemetry.testFinished(status(result));
+	}
+
+	private String status(ITestResult result) {
+		return switch (result.getStatus()) {
+			case ITestResult.SUCCESS -> "passed";
+			case ITestResult.FAILURE -> "failed";
+			case ITestResult.SKIP -> "skipped";
+			default -> "unknown";
+		};
+	}
+
 	private String join(Object[] params) {
 		return Arrays.stream(params).map(Object::toString).collect(Collectors.joining(","));
 	}
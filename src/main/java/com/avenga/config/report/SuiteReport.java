@@ -0,0 +1,13 @@
+package com.avenga.config.report;
+
+/**
+ * Represents a component that reports the statistics gathered during the test run.
+ * All the beans of this type are called once the suite is finished
+ */
+public interface SuiteReport {
+
+    /**
+     * Reports the statistics gathered during the test run
+     */
+    void report();
+}
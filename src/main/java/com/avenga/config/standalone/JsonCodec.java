@@ -0,0 +1,49 @@
+package com.avenga.config.standalone;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The Jackson {@link Encoder} and {@link Decoder} of the JSON bodies used instead of the Spring message converters
+ */
+@RequiredArgsConstructor
+public class JsonCodec implements Encoder, Decoder {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void encode(Object object, Type bodyType, RequestTemplate template) {
+        try {
+            template.header("Content-Type", "application/json");
+            template.body(objectMapper.writeValueAsBytes(object), StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new EncodeException("Failed to serialize the " + bodyType.getTypeName() + " body", e);
+        }
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (response.status() == 204 || response.body() == null) {
+            return Util.emptyValueOf(type);
+        }
+
+        try (var body = response.body().asInputStream()) {
+            return objectMapper.readValue(body, objectMapper.constructType(type));
+        } catch (JsonProcessingException e) {
+            throw new DecodeException(response.status(), "Failed to deserialize the " + type.getTypeName() + " body",
+                    response.request(), e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.avenga.config.standalone;
+
+import com.avenga.api.client.AuthorClient;
+import com.avenga.api.client.BookClient;
+import com.avenga.api.service.AuthorService;
+import com.avenga.api.service.BaseService;
+import com.avenga.api.service.BookService;
+import com.avenga.api.service.CleanUpService;
+import com.avenga.config.TestContext;
+import com.avenga.config.TestDataRandom;
+import com.avenga.config.cleanup.CleanUpJournal;
+import com.avenga.config.feign.CustomFeignLogger;
+import com.avenga.config.feign.PooledHttpClients;
+import com.avenga.config.feign.streaming.StreamingCapability;
+import com.avenga.config.telemetry.RunTelemetry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javafaker.Faker;
+import feign.Capability;
+import feign.Feign;
+import feign.Logger;
+import feign.Retryer;
+import feign.Target;
+import feign.httpclient.ApacheHttpClient;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>The clients, the services and the cleanup machinery built without the Spring application context</p>
+ * <p>The {@link BookClient} and the {@link AuthorClient} are built by the plain {@link Feign#builder()} with the
+ * {@link SpringMvcContract} reading their Spring MVC annotations, the {@link JsonCodec} and the
+ * {@link CustomFeignLogger} on top of the pooled Apache HTTP client of the Spring context
+ * (see {@link PooledHttpClients}). The services get their shared objects through
+ * the {@link BaseService} setters, the same way the services of the target environments do. The settings are read
+ * from the {@code application.yml} files by the {@link YamlConfig}</p>
+ * <p>There is no component scanning, auto-configuration or bean post-processing, so the first request is sent
+ * much sooner than with the Spring context. It suits the quick smoke runs and the short-lived load workers.
+ * Only the streaming of the large bodies is configured from {@code app.feign.streaming}, the other client layers
+ * (accounting, tracing, fault injection etc.) are passed as the {@link Capability}s when needed</p>
+ */
+@Slf4j
+@Getter
+public class StandaloneContext implements AutoCloseable {
+
+    private static final String HTTP_CLIENT_PREFIX = "spring.cloud.openfeign.httpclient.";
+
+    private final YamlConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TestDataRandom testDataRandom = TestDataRandom.unseeded();
+    private final Faker faker = new Faker(testDataRandom);
+    private final CloseableHttpClient httpClient;
+    private final BookClient bookClient;
+    private final AuthorClient authorClient;
+    private final CleanUpJournal cleanUpJournal;
+    private final TestContext testContext;
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final CleanUpService cleanUpService;
+
+    private StandaloneContext(YamlConfig config, List<Capability> capabilities) {
+        this.config = config;
+
+        var httpClientProperties = httpClientProperties(config);
+        httpClient = PooledHttpClients.httpClient(PooledHttpClients.connectionManager(httpClientProperties, false),
+                httpClientProperties, false);
+
+        var clientCapabilities = new ArrayList<>(capabilities);
+        if (config.getBoolean("app.feign.streaming.enabled", false)
+                && "off".equals(config.get("app.feign.cassette.mode", "off"))) {
+            clientCapabilities.add(new StreamingCapability(httpClient, objectMapper,
+                    DataSize.parse(config.get("app.feign.streaming.threshold", "1MB")).toBytes()));
+        }
+        // applied in the same order as the capability beans of the Spring context
+        clientCapabilities.sort(Comparator.comparingInt(capability ->
+                capability instanceof Ordered ordered ? ordered.getOrder() : Ordered.LOWEST_PRECEDENCE));
+
+        var url = config.get("app.url");
+        log.info("Creating the standalone clients of {}", url);
+        bookClient = client(BookClient.class, "book-client", url, clientCapabilities);
+        authorClient = client(AuthorClient.class, "author-client", url, clientCapabilities);
+
+        cleanUpJournal = new CleanUpJournal(config.getBoolean("app.cleanup.journal.enabled", true),
+                config.get("app.cleanup.journal.path", ".cleanup/cleanup.journal"), url,
+                DurationStyle.detectAndParse(config.get("app.cleanup.journal.max-age", "7d")));
+        cleanUpJournal.open();
+        testContext = new TestContext(cleanUpJournal);
+        RunTelemetry.cleanUpBacklog(testContext::getCleanUpBacklog);
+
+        bookService = inject(new BookService(bookClient));
+        authorService = inject(new AuthorService(authorClient));
+        cleanUpService = inject(new CleanUpService(bookService, authorService, bookClient, authorClient,
+                cleanUpJournal, config.getInt("app.cleanup.journal.sweep-threads", 4)));
+
+        if (cleanUpJournal.isEnabled()) {
+            cleanUpService.cleanUpLeftovers();
+        }
+    }
+
+    /**
+     * Builds the context configured by the {@code application.yml} files of the active profiles
+     *
+     * @param capabilities the additional client layers
+     * @return the started {@link StandaloneContext}
+     */
+    public static StandaloneContext start(Capability... capabilities) {
+        return start(YamlConfig.load(), capabilities);
+    }
+
+    /**
+     * Builds the context with the given configuration
+     *
+     * @param config the {@link YamlConfig}
+     * @param capabilities the additional client layers
+     * @return the started {@link StandaloneContext}
+     */
+    public static StandaloneContext start(YamlConfig config, Capability... capabilities) {
+        return new StandaloneContext(config, List.of(capabilities));
+    }
+
+    /**
+     * Closes the cleanup journal and the HTTP client. The test data is removed by the {@link #getCleanUpService()}
+     * beforehand
+     *
+     * @throws IOException if the journal or the client could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            cleanUpJournal.close();
+        } finally {
+            httpClient.close();
+        }
+    }
+
+    private <T> T client(Class<T> type, String name, String url, List<Capability> capabilities) {
+        var codec = new JsonCodec(objectMapper);
+        var builder = Feign.builder()
+                .client(new ApacheHttpClient(httpClient))
+                .contract(new SpringMvcContract())
+                .encoder(codec)
+                .decoder(codec)
+                // the Spring Cloud clients do not retry either
+                .retryer(Retryer.NEVER_RETRY)
+                .logger(new CustomFeignLogger())
+                .logLevel(Logger.Level.BASIC);
+
+        capabilities.forEach(builder::addCapability);
+        return builder.target(new Target.HardCodedTarget<>(type, name, url));
+    }
+
+    /**
+     * Reads the {@code spring.cloud.openfeign.httpclient} settings the Spring context binds
+     *
+     * @param config the configuration
+     * @return the {@link FeignHttpClientProperties}, the settings that are not set keep their defaults
+     */
+    private static FeignHttpClientProperties httpClientProperties(YamlConfig config) {
+        var properties = new FeignHttpClientProperties();
+
+        properties.setDisableSslValidation(config.getBoolean(HTTP_CLIENT_PREFIX + "disable-ssl-validation",
+                properties.isDisableSslValidation()));
+        properties.setMaxConnections(config.getInt(HTTP_CLIENT_PREFIX + "max-connections",
+                properties.getMaxConnections()));
+        properties.setMaxConnectionsPerRoute(config.getInt(HTTP_CLIENT_PREFIX + "max-connections-per-route",
+                properties.getMaxConnectionsPerRoute()));
+        properties.setTimeToLive(Long.parseLong(config.get(HTTP_CLIENT_PREFIX + "time-to-live",
+                String.valueOf(properties.getTimeToLive()))));
+        properties.setTimeToLiveUnit(TimeUnit.valueOf(config.get(HTTP_CLIENT_PREFIX + "time-to-live-unit",
+                properties.getTimeToLiveUnit().name()).toUpperCase()));
+        properties.setConnectionTimeout(config.getInt(HTTP_CLIENT_PREFIX + "connection-timeout",
+                properties.getConnectionTimeout()));
+        properties.setFollowRedirects(config.getBoolean(HTTP_CLIENT_PREFIX + "follow-redirects",
+                properties.isFollowRedirects()));
+        return properties;
+    }
+
+    private <T extends BaseService> T inject(T service) {
+        service.setTestContext(testContext);
+        service.setFaker(faker);
+        service.setTestDataRandom(testDataRandom);
+        service.setObjectMapper(objectMapper);
+        return service;
+    }
+}
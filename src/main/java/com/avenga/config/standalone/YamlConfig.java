@@ -0,0 +1,196 @@
+package com.avenga.config.standalone;
+
+import lombok.extern.slf4j.Slf4j;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>A small loader of the {@code application.yml} files for the {@link StandaloneContext}</p>
+ * <p>The {@code application.yml} and then the {@code application-<profile>.yml} of every active profile are read
+ * from the classpath and flattened into dotted keys ({@code spring.cloud.openfeign.httpclient.max-connections}). The system properties
+ * and the environment variables override the file values under the same name, and the {@code ${KEY:default}}
+ * placeholders are resolved against all of them. The profiles are taken from {@code spring.profiles.active},
+ * which in turn defaults to the {@code PROFILE} variable like in the Spring path. Only the exact keys are matched,
+ * there is no relaxed binding</p>
+ */
+@Slf4j
+public final class YamlConfig {
+
+    private static final String PROFILES_KEY = "spring.profiles.active";
+
+    private final Map<String, String> properties;
+
+    private YamlConfig(Map<String, String> properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Loads the configuration of the active profiles
+     *
+     * @return the {@link YamlConfig}
+     */
+    public static YamlConfig load() {
+        var properties = new LinkedHashMap<String, String>();
+        read("application.yml", properties);
+
+        var config = new YamlConfig(properties);
+        var profiles = profiles(config);
+        for (var profile : profiles.split(",")) {
+            if (!profile.isBlank()) {
+                read("application-" + profile.trim() + ".yml", properties);
+            }
+        }
+        log.debug("Loaded the configuration of the profiles [{}]", profiles);
+        return config;
+    }
+
+    private static String profiles(YamlConfig config) {
+        try {
+            return config.get(PROFILES_KEY, "");
+        } catch (IllegalStateException e) {
+            log.warn("No active profiles: {}", e.getMessage());
+            return "";
+        }
+    }
+
+    /**
+     * Returns the value with the placeholders resolved
+     *
+     * @param key the dotted key
+     * @return the value
+     * @throws IllegalStateException if the key is not set
+     */
+    public String get(String key) {
+        var value = get(key, null);
+        if (value == null) {
+            throw new IllegalStateException("The configuration property " + key + " is not set");
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value with the placeholders resolved
+     *
+     * @param key the dotted key
+     * @param defaultValue the value returned if the key is not set
+     * @return the value or the default one
+     */
+    public String get(String key, String defaultValue) {
+        var value = lookup(key);
+        return value == null ? defaultValue : resolve(value, new HashSet<>(Set.of(key)));
+    }
+
+    public int getInt(String key, int defaultValue) {
+        var value = get(key, null);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        var value = get(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    private String lookup(String key) {
+        var value = System.getProperty(key);
+        if (value == null) {
+            value = System.getenv(key);
+        }
+        return value == null ? properties.get(key) : value;
+    }
+
+    /**
+     * Replaces the {@code ${KEY}} and {@code ${KEY:default}} placeholders, the defaults may be placeholders too
+     *
+     * @param value the raw value
+     * @param resolving the keys being resolved, to detect the cycles
+     * @return the resolved value
+     */
+    private String resolve(String value, Set<String> resolving) {
+        var start = value.indexOf("${");
+        if (start < 0) {
+            return value;
+        }
+
+        var end = closingBrace(value, start + 2);
+        var placeholder = value.substring(start + 2, end);
+        var separator = defaultSeparator(placeholder);
+        var key = separator < 0 ? placeholder : placeholder.substring(0, separator);
+
+        if (!resolving.add(key)) {
+            throw new IllegalStateException("Circular placeholder reference " + key + " in " + value);
+        }
+        var resolved = lookup(key);
+        if (resolved == null && separator < 0) {
+            throw new IllegalStateException("Could not resolve the placeholder ${" + key + "} in " + value);
+        }
+        resolved = resolve(resolved == null ? placeholder.substring(separator + 1) : resolved, resolving);
+        resolving.remove(key);
+
+        return value.substring(0, start) + resolved + resolve(value.substring(end + 1), resolving);
+    }
+
+    private static int closingBrace(String value, int from) {
+        var depth = 1;
+        for (var i = from; i < value.length(); i++) {
+            if (value.startsWith("${", i)) {
+                depth++;
+                i++;
+            } else if (value.charAt(i) == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Unclosed placeholder in " + value);
+    }
+
+    private static int defaultSeparator(String placeholder) {
+        var depth = 0;
+        for (var i = 0; i < placeholder.length(); i++) {
+            if (placeholder.startsWith("${", i)) {
+                depth++;
+                i++;
+            } else if (placeholder.charAt(i) == '}') {
+                depth--;
+            } else if (placeholder.charAt(i) == ':' && depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void read(String resource, Map<String, String> properties) {
+        try (var input = YamlConfig.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                log.debug("No {} on the classpath", resource);
+                return;
+            }
+            Object document = new Yaml().load(input);
+            flatten("", document, properties);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + resource, e);
+        }
+    }
+
+    private static void flatten(String prefix, Object node, Map<String, String> properties) {
+        if (node instanceof Map<?, ?> map) {
+            map.forEach((key, value) -> flatten(prefix.isEmpty() ? String.valueOf(key) : prefix + "." + key,
+                    value, properties));
+        } else if (node instanceof List<?> list) {
+            var values = new ArrayList<String>();
+            for (var i = 0; i < list.size(); i++) {
+                flatten(prefix + "[" + i + "]", list.get(i), properties);
+                values.add(String.valueOf(list.get(i)));
+            }
+            properties.put(prefix, String.join(",", values));
+        } else if (node != null && !prefix.isEmpty()) {
+            properties.put(prefix, String.valueOf(node));
+        }
+    }
+}
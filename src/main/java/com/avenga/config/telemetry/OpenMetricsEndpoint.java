@@ -0,0 +1,129 @@
+package com.avenga.config.telemetry;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * <p>Serves the {@link RunTelemetry} in the OpenMetrics text format on {@code http://127.0.0.1:<port>/metrics}</p>
+ * <p>The endpoint listens on the loopback interface only, it is meant for a scraper running on the same machine.
+ * The latency quantiles and the request rate cover the last minute, the counters the whole run</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+class OpenMetricsEndpoint {
+
+    static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private final HttpServer server;
+
+    /**
+     * Starts the endpoint
+     *
+     * @param port the port, {@code 0} for any free one
+     * @return the started endpoint or {@code null} if the port could not be bound
+     */
+    static OpenMetricsEndpoint start(int port) {
+        try {
+            var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/metrics", OpenMetricsEndpoint::handle);
+            server.start();
+
+            log.info("The run telemetry is served on http://127.0.0.1:{}/metrics", server.getAddress().getPort());
+            return new OpenMetricsEndpoint(server);
+        } catch (IOException e) {
+            log.warn("Failed to start the telemetry endpoint on port {}", port, e);
+            return null;
+        }
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            var body = format(RunTelemetry.snapshot()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    /**
+     * Formats the snapshot as an OpenMetrics exposition
+     *
+     * @param snapshot the {@link TelemetrySnapshot}
+     * @return the exposition text ending with {@code # EOF}
+     */
+    static String format(TelemetrySnapshot snapshot) {
+        var text = new StringBuilder();
+
+        family(text, "harness_tests_started", "counter", "Test methods started");
+        sample(text, "harness_tests_started_total", "", snapshot.testsStarted());
+        family(text, "harness_tests_finished", "counter", "Test methods finished by status");
+        sample(text, "harness_tests_finished_total", "{status=\"passed\"}", snapshot.testsPassed());
+        sample(text, "harness_tests_finished_total", "{status=\"failed\"}", snapshot.testsFailed());
+        sample(text, "harness_tests_finished_total", "{status=\"skipped\"}", snapshot.testsSkipped());
+        family(text, "harness_tests_running", "gauge", "Test methods running");
+        sample(text, "harness_tests_running", "", snapshot.testsRunning());
+
+        family(text, "harness_http_in_flight_requests", "gauge", "HTTP calls waiting for the response");
+        sample(text, "harness_http_in_flight_requests", "", snapshot.inFlightCalls());
+        family(text, "harness_http_requests", "counter", "HTTP calls by endpoint");
+        endpoints(text, "harness_http_requests_total", snapshot.calls());
+        family(text, "harness_http_errors", "counter", "HTTP calls failed with an I/O error or a 5xx status");
+        endpoints(text, "harness_http_errors_total", snapshot.errors());
+        family(text, "harness_http_requests_per_second", "gauge", "Rate of the HTTP calls of the last minute");
+        sample(text, "harness_http_requests_per_second", "", snapshot.requestsPerSecond());
+
+        family(text, "harness_http_latency_seconds", "summary",
+                "Time until the response headers, the quantiles of the last minute");
+        sample(text, "harness_http_latency_seconds", "{quantile=\"0.5\"}", seconds(snapshot.latencyP50()));
+        sample(text, "harness_http_latency_seconds", "{quantile=\"0.9\"}", seconds(snapshot.latencyP90()));
+        sample(text, "harness_http_latency_seconds", "{quantile=\"0.99\"}", seconds(snapshot.latencyP99()));
+        sample(text, "harness_http_latency_seconds_sum", "", seconds(snapshot.latencySum()));
+        sample(text, "harness_http_latency_seconds_count", "", snapshot.completedCalls());
+        family(text, "harness_http_latency_max_seconds", "gauge", "Max time until the response headers "
+                + "of the last minute");
+        sample(text, "harness_http_latency_max_seconds", "", seconds(snapshot.latencyMax()));
+
+        family(text, "harness_cleanup_backlog", "gauge", "Items waiting for the cleanup");
+        sample(text, "harness_cleanup_backlog", "", snapshot.cleanUpBacklog());
+        return text.append("# EOF\n").toString();
+    }
+
+    private static void family(StringBuilder text, String name, String type, String help) {
+        text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    }
+
+    private static void endpoints(StringBuilder text, String name, Map<String, Long> values) {
+        values.forEach((endpoint, value) -> sample(text, name, "{endpoint=\"" + escape(endpoint) + "\"}", value));
+    }
+
+    private static void sample(StringBuilder text, String name, String labels, Number value) {
+        text.append(name).append(labels).append(' ').append(value).append('\n');
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toNanos() / 1e9;
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
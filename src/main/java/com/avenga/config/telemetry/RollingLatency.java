@@ -0,0 +1,81 @@
+package com.avenga.config.telemetry;
+
+import com.avenga.load.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>The latencies of the HTTP calls of the last minute</p>
+ * <p>The minute is split into {@value SLOTS} slots, every slot has its own {@link LatencyHistogram}. The slot
+ * of the current period is replaced by an empty one when the period starts, so the recording stays lock-free.
+ * The calls recorded into a slot while it is being replaced may be lost, which is acceptable for a live view</p>
+ */
+class RollingLatency {
+
+    private static final int SLOTS = 6;
+    private static final long SLOT_NANOS = Duration.ofSeconds(10).toNanos();
+
+    private final long start = System.nanoTime();
+    private final AtomicReferenceArray<Slot> slots = new AtomicReferenceArray<>(SLOTS);
+
+    /**
+     * Records the latency of a call completed now
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    void record(long nanos) {
+        slot(period(System.nanoTime())).histogram().record(nanos);
+    }
+
+    /**
+     * Merges the slots of the last minute
+     *
+     * @return the latencies and the rate of the calls
+     */
+    Window window() {
+        var now = System.nanoTime();
+        var period = period(now);
+        var histogram = new LatencyHistogram();
+
+        for (var i = 0; i < SLOTS; i++) {
+            var slot = slots.get(i);
+            if (slot != null && slot.period() > period - SLOTS) {
+                histogram.add(slot.histogram());
+            }
+        }
+        // the current slot is filled partially, the run may be shorter than the window
+        var elapsed = Math.min(now - start, (SLOTS - 1) * SLOT_NANOS + (now - start) % SLOT_NANOS);
+        return new Window(histogram, histogram.getCount() / Math.max(1, elapsed / 1e9));
+    }
+
+    private Slot slot(long period) {
+        var index = (int) (period % SLOTS);
+        var slot = slots.get(index);
+
+        while (slot == null || slot.period() < period) {
+            var newSlot = new Slot(period, new LatencyHistogram());
+            if (slots.compareAndSet(index, slot, newSlot)) {
+                return newSlot;
+            }
+            slot = slots.get(index);
+        }
+        return slot;
+    }
+
+    private long period(long nanos) {
+        return (nanos - start) / SLOT_NANOS;
+    }
+
+    /**
+     * The latencies of the last minute
+     *
+     * @param histogram the merged histogram
+     * @param ratePerSecond the number of the calls per second
+     */
+    record Window(LatencyHistogram histogram, double ratePerSecond) {
+    }
+
+    private record Slot(long period, LatencyHistogram histogram) {
+    }
+}
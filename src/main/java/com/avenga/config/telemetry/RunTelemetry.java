@@ -0,0 +1,173 @@
+package com.avenga.config.telemetry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>The live counters and gauges of a long run</p>
+ * <p>The tests are counted by the {@link com.avenga.config.listener.TestNGExecutionListener}, the HTTP calls by the
+ * {@link TelemetryClient} and the cleanup backlog is read from the {@link com.avenga.config.TestContext}.
+ * While the suite is running the values are published as the {@link RunTelemetryMXBean} and by the
+ * {@link OpenMetricsEndpoint} on {@code 127.0.0.1:app.telemetry.port}.
+ * The telemetry is enabled with the {@code app.telemetry.enabled} system property, as the listener is created
+ * before the Spring context</p>
+ */
+@Slf4j
+public final class RunTelemetry {
+
+    public static final String OBJECT_NAME = "com.avenga:type=RunTelemetry";
+
+    private static final boolean ENABLED = Boolean.getBoolean("app.telemetry.enabled");
+    private static final int PORT = Integer.getInteger("app.telemetry.port", 9464);
+
+    private static final LongAdder TESTS_STARTED = new LongAdder();
+    private static final LongAdder TESTS_PASSED = new LongAdder();
+    private static final LongAdder TESTS_FAILED = new LongAdder();
+    private static final LongAdder TESTS_SKIPPED = new LongAdder();
+    private static final AtomicInteger IN_FLIGHT_CALLS = new AtomicInteger();
+    private static final Map<String, LongAdder> CALLS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> ERRORS = new ConcurrentHashMap<>();
+    private static final LongAdder COMPLETED_CALLS = new LongAdder();
+    private static final LongAdder LATENCY_SUM = new LongAdder();
+    private static final RollingLatency LATENCY = new RollingLatency();
+
+    private static volatile LongSupplier cleanUpBacklog = () -> 0;
+    private static OpenMetricsEndpoint endpoint;
+    private static boolean registered;
+
+    private RunTelemetry() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Registers the MBean and starts the endpoint if the telemetry is enabled
+     */
+    public static synchronized void start() {
+        if (!ENABLED || registered) {
+            return;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new RunTelemetryBean(),
+                    new ObjectName(OBJECT_NAME));
+            registered = true;
+        } catch (JMException e) {
+            log.warn("Failed to register the {} MBean", OBJECT_NAME, e);
+        }
+        endpoint = OpenMetricsEndpoint.start(PORT);
+    }
+
+    /**
+     * Stops the endpoint and unregisters the MBean
+     */
+    public static synchronized void stop() {
+        if (endpoint != null) {
+            endpoint.stop();
+            endpoint = null;
+        }
+        if (registered) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                log.warn("Failed to unregister the {} MBean", OBJECT_NAME, e);
+            }
+            registered = false;
+        }
+    }
+
+    public static void testStarted() {
+        if (ENABLED) {
+            TESTS_STARTED.increment();
+        }
+    }
+
+    /**
+     * Counts a finished test method
+     *
+     * @param status {@code passed}, {@code failed} or {@code skipped}
+     */
+    public static void testFinished(String status) {
+        if (!ENABLED) {
+            return;
+        }
+
+        switch (status) {
+            case "passed" -> TESTS_PASSED.increment();
+            case "failed" -> TESTS_FAILED.increment();
+            case "skipped" -> TESTS_SKIPPED.increment();
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Counts an HTTP call sent to the endpoint, it is finished by {@link #callFinished(String, long, boolean)}
+     *
+     * @param endpoint the endpoint name
+     */
+    static void callStarted(String endpoint) {
+        IN_FLIGHT_CALLS.incrementAndGet();
+        CALLS.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Records the latency of an HTTP call
+     *
+     * @param endpoint the endpoint name
+     * @param nanos the time until the response status and headers were received
+     * @param error {@code true} if the call failed with an I/O error or a 5xx status
+     */
+    static void callFinished(String endpoint, long nanos, boolean error) {
+        IN_FLIGHT_CALLS.decrementAndGet();
+        COMPLETED_CALLS.increment();
+        LATENCY_SUM.add(nanos);
+        LATENCY.record(nanos);
+        if (error) {
+            ERRORS.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Sets the source of the number of the items waiting for the cleanup
+     *
+     * @param backlog the cleanup backlog gauge
+     */
+    public static void cleanUpBacklog(LongSupplier backlog) {
+        cleanUpBacklog = backlog;
+    }
+
+    /**
+     * Reads the current values
+     *
+     * @return the {@link TelemetrySnapshot}
+     */
+    public static TelemetrySnapshot snapshot() {
+        var window = LATENCY.window();
+        var histogram = window.histogram();
+
+        return new TelemetrySnapshot(TESTS_STARTED.sum(), TESTS_PASSED.sum(), TESTS_FAILED.sum(),
+                TESTS_SKIPPED.sum(), IN_FLIGHT_CALLS.get(), sums(CALLS), sums(ERRORS),
+                COMPLETED_CALLS.sum(), Duration.ofNanos(LATENCY_SUM.sum()), window.ratePerSecond(), histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(90), histogram.getValueAtPercentile(99), histogram.getMax(),
+                cleanUpBacklog.getAsLong());
+    }
+
+    private static Map<String, Long> sums(Map<String, LongAdder> counters) {
+        var sums = new TreeMap<String, Long>();
+        counters.forEach((endpoint, counter) -> sums.put(endpoint, counter.sum()));
+        return sums;
+    }
+}
@@ -0,0 +1,89 @@
+package com.avenga.config.telemetry;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * The {@link RunTelemetryMXBean} reading the {@link RunTelemetry#snapshot()}
+ */
+class RunTelemetryBean implements RunTelemetryMXBean {
+
+    @Override
+    public long getTestsStarted() {
+        return RunTelemetry.snapshot().testsStarted();
+    }
+
+    @Override
+    public long getTestsPassed() {
+        return RunTelemetry.snapshot().testsPassed();
+    }
+
+    @Override
+    public long getTestsFailed() {
+        return RunTelemetry.snapshot().testsFailed();
+    }
+
+    @Override
+    public long getTestsSkipped() {
+        return RunTelemetry.snapshot().testsSkipped();
+    }
+
+    @Override
+    public long getTestsRunning() {
+        return RunTelemetry.snapshot().testsRunning();
+    }
+
+    @Override
+    public long getInFlightCalls() {
+        return RunTelemetry.snapshot().inFlightCalls();
+    }
+
+    @Override
+    public long getCalls() {
+        return RunTelemetry.snapshot().totalCalls();
+    }
+
+    @Override
+    public long getErrors() {
+        return RunTelemetry.snapshot().totalErrors();
+    }
+
+    @Override
+    public Map<String, Long> getCallsByEndpoint() {
+        return RunTelemetry.snapshot().calls();
+    }
+
+    @Override
+    public double getRequestsPerSecond() {
+        return RunTelemetry.snapshot().requestsPerSecond();
+    }
+
+    @Override
+    public double getLatencyP50Millis() {
+        return millis(RunTelemetry.snapshot().latencyP50());
+    }
+
+    @Override
+    public double getLatencyP90Millis() {
+        return millis(RunTelemetry.snapshot().latencyP90());
+    }
+
+    @Override
+    public double getLatencyP99Millis() {
+        return millis(RunTelemetry.snapshot().latencyP99());
+    }
+
+    @Override
+    public double getLatencyMaxMillis() {
+        return millis(RunTelemetry.snapshot().latencyMax());
+    }
+
+    @Override
+    public long getCleanUpBacklog() {
+        return RunTelemetry.snapshot().cleanUpBacklog();
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1e6;
+    }
+}
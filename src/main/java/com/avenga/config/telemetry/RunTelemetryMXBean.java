@@ -0,0 +1,39 @@
+package com.avenga.config.telemetry;
+
+import java.util.Map;
+
+/**
+ * The live telemetry of the run registered as {@value RunTelemetry#OBJECT_NAME}
+ */
+public interface RunTelemetryMXBean {
+
+    long getTestsStarted();
+
+    long getTestsPassed();
+
+    long getTestsFailed();
+
+    long getTestsSkipped();
+
+    long getTestsRunning();
+
+    long getInFlightCalls();
+
+    long getCalls();
+
+    long getErrors();
+
+    Map<String, Long> getCallsByEndpoint();
+
+    double getRequestsPerSecond();
+
+    double getLatencyP50Millis();
+
+    double getLatencyP90Millis();
+
+    double getLatencyP99Millis();
+
+    double getLatencyMaxMillis();
+
+    long getCleanUpBacklog();
+}
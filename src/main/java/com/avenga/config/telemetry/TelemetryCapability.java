@@ -0,0 +1,22 @@
+package com.avenga.config.telemetry;
+
+import com.avenga.config.feign.ClientLayers;
+import feign.Capability;
+import feign.Client;
+import org.springframework.core.Ordered;
+
+/**
+ * Feign {@link Capability} wrapping the transport with the {@link TelemetryClient}
+ */
+public class TelemetryCapability implements Capability, Ordered {
+
+    @Override
+    public Client enrich(Client client) {
+        return new TelemetryClient(client);
+    }
+
+    @Override
+    public int getOrder() {
+        return ClientLayers.TELEMETRY;
+    }
+}
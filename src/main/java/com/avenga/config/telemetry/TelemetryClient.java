@@ -0,0 +1,34 @@
+package com.avenga.config.telemetry;
+
+import com.avenga.config.feign.Endpoints;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * A {@link Client} decorator counting the in-flight HTTP calls and recording their latency in the {@link RunTelemetry}
+ */
+@RequiredArgsConstructor
+public class TelemetryClient implements Client {
+
+    private final Client delegate;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        var endpoint = Endpoints.of(request);
+        var error = true;
+
+        RunTelemetry.callStarted(endpoint);
+        var start = System.nanoTime();
+        try {
+            var response = delegate.execute(request, options);
+            error = response.status() >= 500;
+            return response;
+        } finally {
+            RunTelemetry.callFinished(endpoint, System.nanoTime() - start, error);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.avenga.config.telemetry;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * The values of the run telemetry at a point in time
+ *
+ * @param testsStarted the number of the started test methods
+ * @param testsPassed the number of the passed test methods
+ * @param testsFailed the number of the failed test methods
+ * @param testsSkipped the number of the skipped test methods
+ * @param inFlightCalls the number of the HTTP calls waiting for the response
+ * @param calls the number of the HTTP calls by endpoint
+ * @param errors the number of the HTTP calls failed with an I/O error or a 5xx status by endpoint
+ * @param completedCalls the number of the HTTP calls that received the response or failed
+ * @param latencySum the total latency of the completed HTTP calls
+ * @param requestsPerSecond the rate of the HTTP calls of the last minute
+ * @param latencyP50 the median latency of the last minute
+ * @param latencyP90 the 90th percentile of the latency of the last minute
+ * @param latencyP99 the 99th percentile of the latency of the last minute
+ * @param latencyMax the max latency of the last minute
+ * @param cleanUpBacklog the number of the items waiting for the cleanup
+ */
+public record TelemetrySnapshot(long testsStarted, long testsPassed, long testsFailed, long testsSkipped,
+                                long inFlightCalls, Map<String, Long> calls, Map<String, Long> errors,
+                                long completedCalls, Duration latencySum, double requestsPerSecond, Duration latencyP50,
+                                Duration latencyP90, Duration latencyP99, Duration latencyMax, long cleanUpBacklog) {
+
+    public long testsRunning() {
+        // the tests skipped before they started are not counted as started
+        return Math.max(0, testsStarted - testsPassed - testsFailed - testsSkipped);
+    }
+
+    public long totalCalls() {
+        return calls.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long totalErrors() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,22 @@
+package com.avenga.config.trace;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Represents an event of the Chrome trace-event format
+ *
+ * @param name the event name
+ * @param cat the event category
+ * @param ph the event phase: {@code X} for a complete event, {@code M} for a metadata event
+ * @param ts the start timestamp in microseconds
+ * @param dur the duration in microseconds
+ * @param pid the process id
+ * @param tid the thread id
+ * @param args the event arguments
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TraceEvent(String name, String cat, String ph, Long ts, Long dur, int pid, long tid,
+                         Map<String, Object> args) {
+}
@@ -0,0 +1,111 @@
+package com.avenga.config.trace;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * <p>Records the timeline of the run in the Chrome trace-event format,
+ * which can be opened in Perfetto or {@code chrome://tracing}</p>
+ * <p>Every thread gets its own track. The spans of the test classes, test and configuration methods
+ * are recorded by the {@link com.avenga.config.listener.TestNGExecutionListener} and the spans of the HTTP calls
+ * by the {@link TracingClient}; the spans of a thread are nested by time.
+ * The recorder is enabled with the {@code app.trace.enabled} system property, as the listener is created
+ * before the Spring context. The file is written to {@code app.trace.path} when the suite is finished</p>
+ */
+@Slf4j
+public final class TraceRecorder {
+
+    private static final boolean ENABLED = Boolean.getBoolean("app.trace.enabled");
+    private static final String PATH = System.getProperty("app.trace.path", "target/trace.json");
+    private static final int PID = 1;
+    private static final long START = System.nanoTime();
+
+    private static final Queue<TraceEvent> EVENTS = new ConcurrentLinkedQueue<>();
+    private static final Map<Long, String> THREAD_NAMES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Deque<Long>> OPEN_SPANS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private TraceRecorder() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Opens a span on the current thread, it is closed by {@link #closeSpan(String, String, Map)}
+     */
+    public static void openSpan() {
+        if (ENABLED) {
+            OPEN_SPANS.get().push(System.nanoTime());
+        }
+    }
+
+    /**
+     * Closes the last span opened on the current thread
+     *
+     * @param name the span name
+     * @param category the span category
+     * @param args the span arguments
+     */
+    public static void closeSpan(String name, String category, Map<String, Object> args) {
+        if (ENABLED && !OPEN_SPANS.get().isEmpty()) {
+            span(name, category, OPEN_SPANS.get().pop(), args);
+        }
+    }
+
+    /**
+     * Records a span of the current thread started at the given time and finished now
+     *
+     * @param name the span name
+     * @param category the span category
+     * @param startNanos the start time as returned by {@link System#nanoTime()}
+     * @param args the span arguments
+     */
+    public static void span(String name, String category, long startNanos, Map<String, Object> args) {
+        if (!ENABLED) {
+            return;
+        }
+
+        var thread = Thread.currentThread();
+        var start = (startNanos - START) / 1_000;
+        THREAD_NAMES.putIfAbsent(thread.threadId(), thread.getName());
+        EVENTS.add(new TraceEvent(name, category, "X", start, (System.nanoTime() - START) / 1_000 - start,
+                PID, thread.threadId(), args));
+    }
+
+    /**
+     * Writes the recorded events to the trace file
+     */
+    public static void write() {
+        if (!ENABLED) {
+            return;
+        }
+
+        var events = new ArrayList<TraceEvent>();
+        THREAD_NAMES.forEach((tid, name) ->
+                events.add(new TraceEvent("thread_name", null, "M", null, null, PID, tid, Map.of("name", name))));
+        events.addAll(EVENTS);
+
+        try {
+            var path = Path.of(PATH);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            new ObjectMapper().writeValue(path.toFile(), Map.of("traceEvents", events, "displayTimeUnit", "ms"));
+            log.info("The trace of {} events is written to {}", EVENTS.size(), path);
+        } catch (IOException e) {
+            log.warn("Failed to write the trace to {}", PATH, e);
+        }
+    }
+}
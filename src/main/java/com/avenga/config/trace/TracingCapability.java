@@ -0,0 +1,22 @@
+package com.avenga.config.trace;
+
+import com.avenga.config.feign.ClientLayers;
+import feign.Capability;
+import feign.Client;
+import org.springframework.core.Ordered;
+
+/**
+ * Feign {@link Capability} wrapping the transport with the {@link TracingClient}
+ */
+public class TracingCapability implements Capability, Ordered {
+
+    @Override
+    public Client enrich(Client client) {
+        return new TracingClient(client);
+    }
+
+    @Override
+    public int getOrder() {
+        return ClientLayers.TRACING;
+    }
+}
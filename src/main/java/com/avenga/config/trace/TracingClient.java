@@ -0,0 +1,37 @@
+package com.avenga.config.trace;
+
+import com.avenga.config.feign.Endpoints;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.util.HashMap;
+
+/**
+ * A {@link Client} decorator recording a span of every HTTP call in the {@link TraceRecorder}
+ */
+@RequiredArgsConstructor
+public class TracingClient implements Client {
+
+    private final Client delegate;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        var args = new HashMap<String, Object>();
+        args.put("url", request.url());
+
+        var start = System.nanoTime();
+        try {
+            var response = delegate.execute(request, options);
+            args.put("status", response.status());
+            return response;
+        } catch (IOException | RuntimeException e) {
+            args.put("error", e.toString());
+            throw e;
+        } finally {
+            TraceRecorder.span(request.httpMethod().name() + " " + Endpoints.of(request), "http", start, args);
+        }
+    }
+}
@@ -10,4 +10,9 @@ public class TestGroup {
     public static final String BOOKS = "Books";
     public static final String AUTHORS = "Authors";
     public static final String SMOKE = "Smoke";
+    public static final String CAPACITY = "Capacity";
+    public static final String SOAK = "Soak";
+    public static final String STRESS = "Stress";
+    public static final String BENCHMARK = "Benchmark";
+    public static final String REPLAY = "Replay";
 }
@@ -0,0 +1,13 @@
+package com.avenga.fixture;
+
+import com.avenga.api.dto.author.AuthorDto;
+import com.avenga.api.dto.book.BookDto;
+
+/**
+ * An existing book with an author assigned to it
+ *
+ * @param book the {@link BookDto}
+ * @param author the {@link AuthorDto} of the book
+ */
+public record Fixture(BookDto book, AuthorDto author) {
+}
@@ -0,0 +1,22 @@
+package com.avenga.fixture;
+
+import com.avenga.api.service.AuthorService;
+import com.avenga.api.service.BookService;
+import com.avenga.config.TestContext;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the {@link FixturePool} of the default environment
+ */
+@Configuration
+@EnableConfigurationProperties(FixtureProperties.class)
+public class FixtureConfig {
+
+    @Bean
+    public FixturePool fixturePool(BookService bookService, AuthorService authorService, TestContext testContext,
+                                   FixtureProperties fixtureProperties) {
+        return new FixturePool(bookService, authorService, testContext, fixtureProperties);
+    }
+}
@@ -0,0 +1,73 @@
+package com.avenga.fixture;
+
+import com.avenga.api.dto.author.AuthorDto;
+import com.avenga.api.dto.book.BookDto;
+
+import java.util.function.Consumer;
+
+/**
+ * <p>An exclusive lease of a {@link Fixture} taken from the {@link FixturePool}</p>
+ * <p>The holder may update the book and the author, the updated state is reported with {@link #update(BookDto)}
+ * and {@link #update(AuthorDto)}, so that the next holder gets the actual one. If the fixture is broken
+ * (e.g. the author is deleted), it is {@link #discard() discarded} and never leased again.
+ * The fixture is returned to the pool when the lease is closed</p>
+ */
+public class FixtureLease implements AutoCloseable {
+
+    private final Consumer<Fixture> release;
+    private BookDto book;
+    private AuthorDto author;
+    private boolean discarded;
+    private boolean closed;
+
+    FixtureLease(Fixture fixture, Consumer<Fixture> release) {
+        this.release = release;
+        this.book = fixture.book();
+        this.author = fixture.author();
+    }
+
+    public BookDto book() {
+        return book;
+    }
+
+    public AuthorDto author() {
+        return author;
+    }
+
+    /**
+     * Reports the updated state of the leased book
+     *
+     * @param book the updated {@link BookDto}
+     */
+    public void update(BookDto book) {
+        this.book = book;
+    }
+
+    /**
+     * Reports the updated state of the leased author. The author must stay assigned to the leased book
+     *
+     * @param author the updated {@link AuthorDto}
+     */
+    public void update(AuthorDto author) {
+        this.author = author;
+    }
+
+    /**
+     * Marks the fixture as broken, it is not returned to the pool and is only removed at the end of the suite
+     */
+    public void discard() {
+        discarded = true;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        if (!discarded) {
+            release.accept(new Fixture(book, author));
+        }
+    }
+}
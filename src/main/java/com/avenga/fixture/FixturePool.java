@@ -0,0 +1,199 @@
+package com.avenga.fixture;
+
+import com.avenga.api.dto.author.AuthorDto;
+import com.avenga.api.dto.book.BookDto;
+import com.avenga.api.service.AuthorService;
+import com.avenga.api.service.BookService;
+import com.avenga.config.TestContext;
+import com.avenga.config.TestOwner;
+import com.avenga.config.TestOwnerContext;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * <p>A suite-level pool of the existing books with the assigned authors</p>
+ * <p>The fixtures are created concurrently once, on the first lease, instead of being created and
+ * removed by every test class, so the contexts that never use the pool (e.g. the load runs) create no data. The shared fixtures are read-only and may be used by any number of tests
+ * at the same time. The tests that update or delete the data take an exclusive {@link FixtureLease}.
+ * All the fixtures are owned by the {@link #OWNER} and removed concurrently at the end of the suite:
+ * authors first, as a book assigned to an author can't be deleted, then books</p>
+ */
+@Slf4j
+public class FixturePool {
+
+    /**
+     * The owner of the pooled test data in the {@link TestContext}
+     */
+    public static final TestOwner OWNER = new TestOwner("FixturePool", "fixture");
+
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final TestContext testContext;
+    private final FixtureProperties fixtureProperties;
+    private final Queue<Fixture> exclusive = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger nextShared = new AtomicInteger();
+    private volatile List<Fixture> shared;
+
+    public FixturePool(BookService bookService, AuthorService authorService, TestContext testContext,
+                       FixtureProperties fixtureProperties) {
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.testContext = testContext;
+        this.fixtureProperties = fixtureProperties;
+    }
+
+    /**
+     * Creates the shared and the exclusive fixtures concurrently
+     */
+    public synchronized void warmUp() {
+        if (shared != null) {
+            return;
+        }
+
+        var count = fixtureProperties.getShared() + fixtureProperties.getExclusive();
+        log.info("Creating {} shared and {} exclusive fixtures", fixtureProperties.getShared(),
+                fixtureProperties.getExclusive());
+
+        // the request bodies are prepared in turn, so that every run gives the fixtures the same ids and data
+        var preparedFixtures = IntStream.range(0, count)
+                .mapToObj(i -> prepareFixture())
+                .toList();
+
+        var executor = Executors.newFixedThreadPool(Math.max(1, Math.min(count, fixtureProperties.getThreads())));
+        try {
+            var fixtures = preparedFixtures.stream()
+                    .map(prepared -> CompletableFuture.supplyAsync(() -> owned(() -> createFixture(prepared)),
+                            executor))
+                    .toList();
+            CompletableFuture.allOf(fixtures.toArray(CompletableFuture[]::new)).join();
+
+            var created = fixtures.stream().map(CompletableFuture::join).toList();
+            exclusive.addAll(created.subList(fixtureProperties.getShared(), count));
+            shared = created.subList(0, fixtureProperties.getShared());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Returns a read-only fixture. The fixtures are handed out in turn, so the consecutive calls return
+     * different fixtures as long as there are enough shared ones
+     *
+     * @return the shared {@link Fixture}, it must not be updated or deleted
+     */
+    public Fixture shared() {
+        var shared = warmedUp();
+        if (shared == null || shared.isEmpty()) {
+            throw new IllegalStateException("The fixture pool has no shared fixtures, check app.fixtures.shared");
+        }
+        return shared.get(Math.floorMod(nextShared.getAndIncrement(), shared.size()));
+    }
+
+    /**
+     * Takes a fixture for the exclusive use. A new fixture is created if all of them are leased
+     *
+     * @return the {@link FixtureLease}, it should be closed once the test is finished with the fixture
+     */
+    public FixtureLease exclusive() {
+        warmedUp();
+        var fixture = exclusive.poll();
+        if (fixture == null) {
+            log.debug("All the exclusive fixtures are leased, creating a new one");
+            fixture = owned(() -> createFixture(prepareFixture()));
+        }
+        return new FixtureLease(fixture, exclusive::offer);
+    }
+
+    /**
+     * Removes all the fixtures concurrently
+     */
+    public synchronized void tearDown() {
+        var cleanUpList = testContext.getCleanUpList(OWNER.testClassName());
+        if (cleanUpList == null || cleanUpList.isEmpty()) {
+            return;
+        }
+
+        List<Object> items;
+        synchronized (cleanUpList) {
+            items = List.copyOf(cleanUpList);
+        }
+        log.info("Removing {} pooled books and authors", items.size());
+
+        var executor = Executors.newFixedThreadPool(Math.max(1, fixtureProperties.getThreads()));
+        try {
+            delete(items, AuthorDto.class, authorService::deleteAuthor, executor);
+            delete(items, BookDto.class, bookService::deleteBook, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        shared = null;
+        exclusive.clear();
+    }
+
+    private List<Fixture> warmedUp() {
+        var shared = this.shared;
+        if (shared == null) {
+            warmUp();
+            shared = this.shared;
+        }
+        return shared;
+    }
+
+    private Fixture prepareFixture() {
+        var book = bookService.prepareRandomBookDto();
+        return new Fixture(book, authorService.prepareRandomAuthorDto(book));
+    }
+
+    private Fixture createFixture(Fixture prepared) {
+        var book = bookService.createBook(prepared.book());
+        return new Fixture(book, authorService.createAuthor(prepared.author()));
+    }
+
+    private <T> void delete(List<Object> items, Class<T> type, Consumer<T> deletion,
+                            ExecutorService executor) {
+        var deletions = items.stream()
+                .filter(type::isInstance)
+                .map(type::cast)
+                .map(item -> CompletableFuture.runAsync(() -> owned(() -> {
+                    try {
+                        deletion.accept(item);
+                    } catch (FeignException.NotFound e) {
+                        log.debug("The pooled item '{}' was already deleted", item);
+                    } catch (Exception e) {
+                        log.warn("Could not delete the pooled item '{}'", item);
+                        return null;
+                    }
+                    testContext.removeFromCleanUpList(item);
+                    return null;
+                }), executor))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(deletions).join();
+    }
+
+    private <T> T owned(Supplier<T> action) {
+        var previousOwner = TestOwnerContext.current();
+        TestOwnerContext.bind(OWNER);
+        try {
+            return action.get();
+        } finally {
+            if (previousOwner == TestOwner.UNBOUND) {
+                TestOwnerContext.clear();
+            } else {
+                TestOwnerContext.bind(previousOwner);
+            }
+        }
+    }
+}
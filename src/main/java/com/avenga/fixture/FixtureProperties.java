@@ -0,0 +1,29 @@
+package com.avenga.fixture;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * The settings of the {@link FixturePool}
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.fixtures")
+public class FixtureProperties {
+
+    /**
+     * The number of the read-only fixtures shared by all the test classes
+     */
+    private int shared = 4;
+
+    /**
+     * The number of the fixtures pre-created for the exclusive leases. More are created on demand
+     */
+    private int exclusive = 4;
+
+    /**
+     * The number of the threads creating and removing the fixtures
+     */
+    private int threads = 8;
+}
@@ -0,0 +1,35 @@
+package com.avenga.load;
+
+/**
+ * A read of the {@link OperationHistory} that no order of the operations consistent with their real time explains
+ *
+ * @param type the kind of the anomaly
+ * @param read the read that observed it
+ * @param detail the operations the read contradicts
+ */
+public record Anomaly(Type type, HistoryEvent read, String detail) {
+
+    public enum Type {
+
+        /**
+         * The final read does not see a write that completed before it, the write was overwritten by an older one
+         * or lost
+         */
+        LOST_UPDATE,
+
+        /**
+         * A read during the run does not see a write that completed before it started
+         */
+        STALE_READ,
+
+        /**
+         * A read sees the value written before a delete that completed before the read started
+         */
+        RESURRECTED_DELETE
+    }
+
+    @Override
+    public String toString() {
+        return "%s: %s, %s".formatted(type, read, detail);
+    }
+}
@@ -0,0 +1,30 @@
+package com.avenga.load;
+
+import java.util.List;
+
+/**
+ * The result of the {@link CapacitySearch}
+ *
+ * @param steps the measured steps in the order of execution
+ * @param best the step with the highest throughput that met the SLO, {@code null} if none did
+ * @param slo the SLO the steps were checked against
+ */
+public record CapacityReport(List<StepResult> steps, StepResult best, LoadProperties.Slo slo) {
+
+    /**
+     * Formats the report as a text table
+     *
+     * @return the report text
+     */
+    public String format() {
+        var report = new StringBuilder("SLO: ").append(slo).append(System.lineSeparator());
+
+        steps.forEach(step -> report.append(slo.isMetBy(step) ? "  ok     " : "  breach ").append(step)
+                .append(System.lineSeparator()));
+        report.append(best == null
+                ? "No step met the SLO"
+                : "Highest sustainable throughput: %.1f ops/s with %d workers".formatted(best.throughput(),
+                best.concurrency()));
+        return report.toString();
+    }
+}
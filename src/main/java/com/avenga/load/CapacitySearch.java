@@ -0,0 +1,158 @@
+package com.avenga.load;
+
+import com.avenga.api.service.AuthorService;
+import com.avenga.api.service.BookService;
+import com.avenga.config.TestContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <p>Searches for the highest throughput of the {@link OperationMix} that still meets the SLO</p>
+ * <p>The concurrency of the closed-loop load is changed step by step according to the
+ * {@link LoadProperties.Strategy}. A step is past the knee if it breaches the SLO or if it does not increase
+ * the throughput over the best step noticeably: more workers only queue up then</p>
+ */
+@Slf4j
+@Component
+public class CapacitySearch {
+
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final TestContext testContext;
+    private final LoadProperties loadProperties;
+    private final int maxConnectionsPerRoute;
+
+    public CapacitySearch(BookService bookService, AuthorService authorService, TestContext testContext,
+                          LoadProperties loadProperties,
+                          @Value("${spring.cloud.openfeign.httpclient.max-connections-per-route:50}")
+                          int maxConnectionsPerRoute) {
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.testContext = testContext;
+        this.loadProperties = loadProperties;
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    /**
+     * Runs the search
+     *
+     * @return the {@link CapacityReport}
+     */
+    public CapacityReport search() {
+        var capacity = loadProperties.getCapacity();
+        if (capacity.getMaxConcurrency() > maxConnectionsPerRoute) {
+            log.warn("The max concurrency {} exceeds the connection pool limit {} per route, "
+                            + "the workers above it measure the wait for a connection",
+                    capacity.getMaxConcurrency(), maxConnectionsPerRoute);
+        }
+
+        var operationMix = new OperationMix(bookService, authorService, testContext, loadProperties.getMix());
+        operationMix.seed(loadProperties.getPoolSize());
+
+        var search = new Search(new LoadDriver(operationMix), capacity);
+        switch (capacity.getStrategy()) {
+            case AIMD -> search.aimd();
+            case BINARY -> search.binary();
+        }
+
+        var report = new CapacityReport(List.copyOf(search.steps), search.best, capacity.getSlo());
+        log.info("Capacity search finished{}{}", System.lineSeparator(), report.format());
+        return report;
+    }
+
+    /**
+     * The state of a single search
+     */
+    private static class Search {
+
+        private final LoadDriver loadDriver;
+        private final LoadProperties.Capacity capacity;
+        private final List<StepResult> steps = new ArrayList<>();
+        private StepResult best;
+
+        Search(LoadDriver loadDriver, LoadProperties.Capacity capacity) {
+            this.loadDriver = loadDriver;
+            this.capacity = capacity;
+        }
+
+        void aimd() {
+            var concurrency = capacity.getInitialConcurrency();
+            var increase = capacity.getAdditiveIncrease();
+
+            while (increase > 0 && steps.size() < capacity.getMaxSteps()) {
+                if (withinKnee(measure(concurrency))) {
+                    if (concurrency >= capacity.getMaxConcurrency()) {
+                        log.info("The SLO is met at the max concurrency {}", concurrency);
+                        return;
+                    }
+                    concurrency = Math.min(capacity.getMaxConcurrency(), concurrency + increase);
+                } else {
+                    increase /= 2;
+                    concurrency = Math.max(1, (int) (concurrency * capacity.getMultiplicativeDecrease()));
+                }
+            }
+        }
+
+        void binary() {
+            var passing = 0;
+            var failing = 0;
+            var concurrency = capacity.getInitialConcurrency();
+
+            // exponential ramp up to the first step past the knee
+            while (steps.size() < capacity.getMaxSteps()) {
+                if (!withinKnee(measure(concurrency))) {
+                    failing = concurrency;
+                    break;
+                }
+                passing = concurrency;
+                if (concurrency >= capacity.getMaxConcurrency()) {
+                    log.info("The SLO is met at the max concurrency {}", concurrency);
+                    return;
+                }
+                concurrency = Math.min(capacity.getMaxConcurrency(), concurrency * 2);
+            }
+
+            while (failing - passing > capacity.getResolution() && steps.size() < capacity.getMaxSteps()) {
+                var middle = (passing + failing) / 2;
+                if (middle < 1) {
+                    return;
+                }
+                if (withinKnee(measure(middle))) {
+                    passing = middle;
+                } else {
+                    failing = middle;
+                }
+            }
+        }
+
+        private StepResult measure(int concurrency) {
+            var step = loadDriver.run(concurrency, capacity.getWarmUp(), capacity.getStepDuration());
+            steps.add(step);
+            return step;
+        }
+
+        private boolean withinKnee(StepResult step) {
+            if (!capacity.getSlo().isMetBy(step)) {
+                return false;
+            }
+
+            var saturated = best != null && step.concurrency() > best.concurrency()
+                    && step.throughput() < best.throughput() * (1 + capacity.getMinThroughputGain());
+            if (saturated) {
+                log.info("The throughput of {} workers does not grow over {} workers, the knee is reached",
+                        step.concurrency(), best.concurrency());
+            }
+            best = best == null ? step : max(best, step);
+            return !saturated;
+        }
+
+        private static StepResult max(StepResult first, StepResult second) {
+            return Comparator.comparingDouble(StepResult::throughput).compare(first, second) >= 0 ? first : second;
+        }
+    }
+}
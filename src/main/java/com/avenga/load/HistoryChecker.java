@@ -0,0 +1,128 @@
+package com.avenga.load;
+
+import com.avenga.load.HistoryEvent.Kind;
+import com.avenga.load.HistoryEvent.Outcome;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * <p>Checks the {@link OperationHistory} of the {@link StressRun} for the reads that contradict the real-time
+ * order of the operations on the same entity</p>
+ * <p>Every write puts a unique value, so the write a read observed is known. A read is an anomaly if it observes
+ * a value (or the absence of the entity) that was already superseded before the read started:</p>
+ * <ul>
+ *     <li>the observed write completed before another write started and that write completed before the read
+ *     started - a stale read, or a lost update if it is the final read after the workers stopped;</li>
+ *     <li>the observed write completed before a delete started and the delete completed before the read
+ *     started - a resurrected delete;</li>
+ *     <li>the entity is not found although a write completed before the read and no delete could have
+ *     followed it.</li>
+ * </ul>
+ * <p>The failed writes and deletes may have taken effect, so they can explain a read but never make one stale</p>
+ */
+public final class HistoryChecker {
+
+    private HistoryChecker() {
+    }
+
+    /**
+     * Checks the history
+     *
+     * @param events the events of all the entities
+     * @return the anomalies in the order of the reads
+     */
+    public static List<Anomaly> check(List<HistoryEvent> events) {
+        var eventsByKey = new LinkedHashMap<String, List<HistoryEvent>>();
+        events.forEach(event -> eventsByKey.computeIfAbsent(event.key(), key -> new ArrayList<>()).add(event));
+
+        var anomalies = new ArrayList<Anomaly>();
+        eventsByKey.values().forEach(keyEvents -> check(keyEvents, anomalies));
+        anomalies.sort(Comparator.comparingLong(anomaly -> anomaly.read().start()));
+        return anomalies;
+    }
+
+    private static void check(List<HistoryEvent> events, List<Anomaly> anomalies) {
+        var writers = new HashMap<String, HistoryEvent>();
+        events.stream()
+                .filter(event -> event.kind() == Kind.WRITE && event.outcome() != Outcome.NOT_FOUND)
+                .forEach(write -> writers.put(write.value(), write));
+
+        var writes = new Completed(events, event -> event.kind() == Kind.WRITE && event.outcome() == Outcome.OK);
+        var deletes = new Completed(events, event -> event.kind() == Kind.DELETE && event.outcome() == Outcome.OK);
+        var possibleDeletes = events.stream()
+                .filter(event -> event.kind() == Kind.DELETE && event.outcome() != Outcome.NOT_FOUND)
+                .toList();
+
+        events.stream()
+                .filter(event -> event.kind() == Kind.READ && event.outcome() != Outcome.FAILED)
+                .forEach(read -> {
+                    var latestWrite = writes.latestStartBefore(read.start());
+                    var latestDelete = deletes.latestStartBefore(read.start());
+
+                    if (read.outcome() == Outcome.OK) {
+                        var writer = writers.get(read.value());
+                        var writerEnd = writer == null ? Long.MIN_VALUE : writer.end();
+                        var observed = writer == null ? "an unknown value" : "the value of " + writer;
+
+                        if (latestDelete > writerEnd) {
+                            anomalies.add(new Anomaly(Anomaly.Type.RESURRECTED_DELETE, read,
+                                    "observed %s after a delete started at %d completed".formatted(observed,
+                                            latestDelete)));
+                        } else if (latestWrite > writerEnd) {
+                            anomalies.add(new Anomaly(read.quiescent() ? Anomaly.Type.LOST_UPDATE
+                                    : Anomaly.Type.STALE_READ, read, "observed %s after a write started at %d completed"
+                                    .formatted(observed, latestWrite)));
+                        }
+                    } else if (latestWrite != Long.MIN_VALUE && possibleDeletes.stream()
+                            .noneMatch(delete -> delete.end() > latestWrite && delete.start() < read.end())) {
+                        anomalies.add(new Anomaly(read.quiescent() ? Anomaly.Type.LOST_UPDATE
+                                : Anomaly.Type.STALE_READ, read, "not found after a write started at %d completed"
+                                .formatted(latestWrite)));
+                    }
+                });
+    }
+
+    /**
+     * The operations of a kind ordered by the completion time, answers the latest start of the operations
+     * completed before a time
+     */
+    private static class Completed {
+
+        private final long[] ends;
+        private final long[] maxStarts;
+
+        Completed(List<HistoryEvent> events, Predicate<HistoryEvent> filter) {
+            var completed = events.stream()
+                    .filter(filter)
+                    .sorted(Comparator.comparingLong(HistoryEvent::end))
+                    .toList();
+
+            ends = new long[completed.size()];
+            maxStarts = new long[completed.size()];
+            for (var i = 0; i < completed.size(); i++) {
+                ends[i] = completed.get(i).end();
+                maxStarts[i] = Math.max(completed.get(i).start(), i == 0 ? Long.MIN_VALUE : maxStarts[i - 1]);
+            }
+        }
+
+        long latestStartBefore(long time) {
+            var index = Arrays.binarySearch(ends, time);
+            // the number of the operations that completed strictly before the time
+            var count = index >= 0 ? firstIndexOf(index) : -index - 1;
+            return count == 0 ? Long.MIN_VALUE : maxStarts[count - 1];
+        }
+
+        private int firstIndexOf(int index) {
+            while (index > 0 && ends[index - 1] == ends[index]) {
+                index--;
+            }
+            return index;
+        }
+    }
+}
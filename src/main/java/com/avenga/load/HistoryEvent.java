@@ -0,0 +1,42 @@
+package com.avenga.load;
+
+/**
+ * <p>An operation of the {@link StressRun} on a shared entity as recorded in the {@link OperationHistory}</p>
+ * <p>Every write puts a unique value into the entity, so a read tells which write it observed.
+ * The times are {@link System#nanoTime()} taken before the request and after the response</p>
+ *
+ * @param key the entity, e.g. {@code Book#5}
+ * @param kind the kind of the operation
+ * @param value the value written, or the value observed by a read ({@code null} if nothing was observed)
+ * @param start the time the operation was invoked at
+ * @param end the time the operation completed at
+ * @param outcome the outcome of the operation
+ * @param quiescent {@code true} for the final reads after all the workers stopped
+ * @param worker the name of the worker thread
+ */
+public record HistoryEvent(String key, Kind kind, String value, long start, long end, Outcome outcome,
+                           boolean quiescent, String worker) {
+
+    public enum Kind {
+        WRITE,
+        READ,
+        DELETE
+    }
+
+    public enum Outcome {
+
+        OK,
+        NOT_FOUND,
+
+        /**
+         * The operation failed or timed out, a write or a delete may have taken effect
+         */
+        FAILED
+    }
+
+    @Override
+    public String toString() {
+        return "%s %s %s%s [%d..%d] %s by %s".formatted(kind, key, value == null ? "" : value + " ",
+                outcome, start, end, quiescent ? "(final)" : "", worker);
+    }
+}
@@ -0,0 +1,110 @@
+package com.avenga.load;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>A concurrent log-linear histogram of the latencies in nanoseconds</p>
+ * <p>Every power of two range is split into {@value SUB_BUCKETS} linear buckets, so the relative error
+ * of the reported percentiles is within 1/{@value SUB_BUCKETS} whatever the magnitude of the values.
+ * The recording is lock-free and does not allocate</p>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a latency
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        var value = Math.max(0, nanos);
+
+        counts.incrementAndGet(index(value));
+        count.incrementAndGet();
+        total.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Adds all the values recorded by another histogram
+     *
+     * @param other the histogram to add
+     */
+    public void add(LatencyHistogram other) {
+        for (var i = 0; i < BUCKETS; i++) {
+            var bucketCount = other.counts.get(i);
+            if (bucketCount > 0) {
+                counts.addAndGet(i, bucketCount);
+            }
+        }
+        count.addAndGet(other.count.get());
+        total.addAndGet(other.total.get());
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public Duration getMean() {
+        var recorded = count.get();
+        return Duration.ofNanos(recorded == 0 ? 0 : total.get() / recorded);
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(max.get());
+    }
+
+    /**
+     * Returns the value at the percentile. The value is the upper bound of the bucket the percentile falls into,
+     * so it is never lower than the exact one
+     *
+     * @param percentile the percentile from 0 to 100
+     * @return the latency, zero if nothing was recorded
+     */
+    public Duration getValueAtPercentile(double percentile) {
+        var recorded = count.get();
+        if (recorded == 0) {
+            return Duration.ZERO;
+        }
+
+        var rank = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+        var cumulative = 0L;
+        for (var i = 0; i < BUCKETS; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= rank) {
+                return Duration.ofNanos(Math.min(upperBound(i), max.get()));
+            }
+        }
+        return getMax();
+    }
+
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        var shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        var shift = index / SUB_BUCKETS - 1;
+        var mantissa = (long) (index % SUB_BUCKETS + SUB_BUCKETS);
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,12 @@
+package com.avenga.load;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the load modes
+ */
+@Configuration
+@EnableConfigurationProperties(LoadProperties.class)
+public class LoadConfig {
+}
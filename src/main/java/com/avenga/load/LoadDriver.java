@@ -0,0 +1,106 @@
+package com.avenga.load;
+
+import com.avenga.config.TestOwnerContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Closed-loop load: every worker executes the operations of the {@link OperationMix} back to back</p>
+ * <p>The outcomes of the operations are recorded by a {@link LoadRecorder}: the latencies of the successful ones
+ * to the histogram, the failed ones as errors</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LoadDriver {
+
+    // the workers stop starting the operations at the deadline, the grace period is for the last ones
+    private static final Duration GRACE_PERIOD = Duration.ofSeconds(60);
+
+    private final OperationMix operationMix;
+
+    /**
+     * Runs a load step: an unmeasured warm-up followed by the measured part
+     *
+     * @param concurrency number of the concurrent workers
+     * @param warmUp the duration of the warm-up
+     * @param duration the duration of the measured part
+     * @return the {@link StepResult}
+     */
+    public StepResult run(int concurrency, Duration warmUp, Duration duration) {
+        log.info("Running the load step with {} workers for {} (warm-up {})", concurrency, duration, warmUp);
+
+        var measureFrom = System.nanoTime() + warmUp.toNanos();
+        var recorder = new LoadRecorder(measureFrom);
+        start(concurrency, measureFrom + duration.toNanos(), recorder).await();
+
+        var result = recorder.current().toResult(concurrency, measureFrom + duration.toNanos());
+        log.info("Load step result: {}", result);
+        return result;
+    }
+
+    /**
+     * Starts the workers, they run until the deadline
+     *
+     * @param concurrency number of the concurrent workers
+     * @param until the {@link System#nanoTime()} the workers stop at
+     * @param recorder the {@link LoadRecorder} of the outcomes
+     * @return the {@link RunningLoad}
+     */
+    public RunningLoad start(int concurrency, long until, LoadRecorder recorder) {
+        var executor = Executors.newFixedThreadPool(concurrency, new LoadWorkers());
+        try {
+            for (var i = 0; i < concurrency; i++) {
+                executor.execute(TestOwnerContext.wrap(() -> work(recorder, until)));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return new RunningLoad(executor, until);
+    }
+
+    private void work(LoadRecorder recorder, long until) {
+        var random = ThreadLocalRandom.current();
+
+        for (var start = System.nanoTime(); start < until; start = System.nanoTime()) {
+            var operation = operationMix.next(random);
+            try {
+                operationMix.execute(operation, random);
+                recorder.success(start, System.nanoTime() - start);
+            } catch (Exception e) {
+                recorder.failure(start);
+                log.debug("The {} operation failed: {}", operation, e.toString());
+            }
+        }
+    }
+
+    /**
+     * The workers of a started load
+     *
+     * @param executor the executor of the workers
+     * @param until the {@link System#nanoTime()} the workers stop at
+     */
+    public record RunningLoad(ExecutorService executor, long until) {
+
+        /**
+         * Waits for the workers to stop
+         */
+        public void await() {
+            var timeout = Math.max(0, until - System.nanoTime()) + GRACE_PERIOD.toNanos();
+            try {
+                if (!executor.awaitTermination(timeout, TimeUnit.NANOSECONDS)) {
+                    log.warn("The load workers did not finish in time");
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.avenga.load;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The settings of the load modes
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.load")
+public class LoadProperties {
+
+    /**
+     * The relative weights of the operations, the operations without a weight are not executed
+     */
+    private Map<Operation, Integer> mix = new EnumMap<>(Map.of(
+            Operation.LIST_BOOKS, 5,
+            Operation.GET_BOOK, 40,
+            Operation.CREATE_BOOK, 15,
+            Operation.UPDATE_BOOK, 10,
+            Operation.DELETE_BOOK, 10,
+            Operation.LIST_BOOK_AUTHORS, 15,
+            Operation.CREATE_AUTHOR, 5));
+
+    /**
+     * The number of the books created before the load so that the reads and updates have something to work with.
+     * The deletes never shrink the pool below this size
+     */
+    private int poolSize = 20;
+
+    private Capacity capacity = new Capacity();
+
+    private Soak soak = new Soak();
+
+    private Stress stress = new Stress();
+
+    @Getter
+    @Setter
+    public static class Capacity {
+
+        private Strategy strategy = Strategy.AIMD;
+
+        /**
+         * The concurrency of the first step and the upper bound of the search
+         */
+        private int initialConcurrency = 2;
+        private int maxConcurrency = 64;
+
+        /**
+         * The concurrency added after a step meeting the SLO ({@code aimd}).
+         * It is halved after every breach, the search stops when it drops to zero
+         */
+        private int additiveIncrease = 4;
+
+        /**
+         * The factor the concurrency is multiplied by after a breach ({@code aimd})
+         */
+        private double multiplicativeDecrease = 0.5;
+
+        /**
+         * The concurrency difference between the passing and the failing step the bisection stops at ({@code binary})
+         */
+        private int resolution = 1;
+
+        /**
+         * The minimal relative throughput gain over the best step. A step meeting the SLO with a smaller gain
+         * is considered to be past the knee
+         */
+        private double minThroughputGain = 0.05;
+
+        /**
+         * The duration of the unmeasured warm-up and the measured part of every step
+         */
+        private Duration warmUp = Duration.ofSeconds(5);
+        private Duration stepDuration = Duration.ofSeconds(30);
+
+        private int maxSteps = 20;
+
+        private Slo slo = new Slo();
+    }
+
+    @Getter
+    @Setter
+    public static class Soak {
+
+        private int concurrency = 8;
+
+        /**
+         * The duration of the unmeasured warm-up and the measured part of the soak
+         */
+        private Duration warmUp = Duration.ofMinutes(1);
+        private Duration duration = Duration.ofHours(1);
+
+        /**
+         * The length of the rolling window the latencies, errors and resources are reported for
+         */
+        private Duration window = Duration.ofMinutes(1);
+
+        /**
+         * The number of the first windows merged into the latency baseline
+         */
+        private int baselineWindows = 5;
+
+        /**
+         * The max ratio of the window p99 latency to the baseline p99 latency
+         */
+        private double maxLatencyDrift = 1.5;
+
+        private double maxErrorRate = 0.01;
+
+        /**
+         * The max relative growth of the heap used after GC and the max growth of the live threads
+         * between the first and the last window
+         */
+        private double maxHeapGrowth = 0.5;
+        private int maxThreadGrowth = 10;
+
+        /**
+         * The number of the entities kept by the operation mix, the excess is deleted after every window
+         */
+        private int maxBooks = 200;
+        private int maxAuthors = 200;
+    }
+
+    @Getter
+    @Setter
+    public static class Stress {
+
+        private int threads = 16;
+
+        /**
+         * The number of the books and the authors all the workers update, read and delete
+         */
+        private int books = 4;
+        private int authors = 4;
+
+        private Duration duration = Duration.ofMinutes(1);
+
+        /**
+         * The relative weights of the operations, the operations without a weight are not executed
+         */
+        private Map<StressOperation, Integer> mix = new EnumMap<>(Map.of(
+                StressOperation.UPDATE_BOOK, 30,
+                StressOperation.READ_BOOK, 30,
+                StressOperation.DELETE_BOOK, 5,
+                StressOperation.UPDATE_AUTHOR, 15,
+                StressOperation.READ_AUTHOR, 20));
+
+        /**
+         * Max number of the anomalies listed in the report
+         */
+        private int maxExamples = 20;
+
+        private boolean failOnAnomalies = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Slo {
+
+        private Duration p99 = Duration.ofMillis(500);
+        private double errorRate = 0.01;
+
+        /**
+         * Checks whether the step met the SLO
+         *
+         * @param step the measured step
+         * @return {@code true} if both the p99 latency and the error rate are within the SLO
+         */
+        public boolean isMetBy(StepResult step) {
+            return step.p99().compareTo(p99) <= 0 && step.errorRate() <= errorRate;
+        }
+
+        @Override
+        public String toString() {
+            return "p99 <= %d ms, error rate <= %.2f%%".formatted(p99.toMillis(), errorRate * 100);
+        }
+    }
+
+    /**
+     * The strategies of the capacity search
+     */
+    public enum Strategy {
+
+        /**
+         * Additive increase of the concurrency while the SLO is met, multiplicative decrease on a breach
+         */
+        AIMD,
+
+        /**
+         * Doubling of the concurrency until the SLO is breached, then a bisection between the last passing
+         * and the failing concurrency
+         */
+        BINARY
+    }
+}
@@ -0,0 +1,90 @@
+package com.avenga.load;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Records the outcomes of the load operations into the current {@link Window}</p>
+ * <p>The operations started before the end of the warm-up are not recorded. The window can be rolled over
+ * while the load is running, an operation finishing right at the roll-over may land in either window</p>
+ */
+public class LoadRecorder {
+
+    private final long measureFrom;
+    private final AtomicReference<Window> current;
+
+    /**
+     * @param measureFrom the {@link System#nanoTime()} the warm-up ends at
+     */
+    public LoadRecorder(long measureFrom) {
+        this.measureFrom = measureFrom;
+        this.current = new AtomicReference<>(new Window(measureFrom));
+    }
+
+    /**
+     * Records a successful operation
+     *
+     * @param start the {@link System#nanoTime()} the operation started at
+     * @param latency the latency in nanoseconds
+     */
+    public void success(long start, long latency) {
+        if (start >= measureFrom) {
+            current.get().histogram().record(latency);
+        }
+    }
+
+    /**
+     * Records a failed operation
+     *
+     * @param start the {@link System#nanoTime()} the operation started at
+     */
+    public void failure(long start) {
+        if (start >= measureFrom) {
+            current.get().errors().increment();
+        }
+    }
+
+    /**
+     * Returns the window being recorded
+     *
+     * @return the current {@link Window}
+     */
+    public Window current() {
+        return current.get();
+    }
+
+    /**
+     * Starts a new window
+     *
+     * @return the finished {@link Window}
+     */
+    public Window roll() {
+        return current.getAndSet(new Window(Math.max(System.nanoTime(), measureFrom)));
+    }
+
+    /**
+     * The outcomes of the operations recorded within a period of time
+     *
+     * @param start the {@link System#nanoTime()} the window starts at
+     * @param histogram latencies of the successful operations
+     * @param errors number of the failed operations
+     */
+    public record Window(long start, LatencyHistogram histogram, LongAdder errors) {
+
+        Window(long start) {
+            this(start, new LatencyHistogram(), new LongAdder());
+        }
+
+        /**
+         * Summarizes the window
+         *
+         * @param concurrency number of the concurrent workers
+         * @param end the {@link System#nanoTime()} the window ended at
+         * @return the {@link StepResult}
+         */
+        public StepResult toResult(int concurrency, long end) {
+            return StepResult.of(concurrency, histogram, errors.sum(), Duration.ofNanos(end - start));
+        }
+    }
+}
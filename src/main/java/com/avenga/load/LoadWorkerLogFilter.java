@@ -0,0 +1,30 @@
+package com.avenga.load;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import io.qameta.allure.AllureLifecycle;
+import org.slf4j.Marker;
+
+/**
+ * <p>Logback filter keeping the load workers quiet</p>
+ * <p>The workers log only the warnings and errors. The errors of the {@link AllureLifecycle} are dropped,
+ * as the workers run outside of the Allure test context on purpose (see {@link LoadWorkers})</p>
+ */
+public class LoadWorkerLogFilter extends TurboFilter {
+
+    private static final String ALLURE_LIFECYCLE = AllureLifecycle.class.getName();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (!LoadWorkers.isWorker()) {
+            return FilterReply.NEUTRAL;
+        }
+        if (ALLURE_LIFECYCLE.equals(logger.getName())) {
+            return FilterReply.DENY;
+        }
+        return level != null && level.isGreaterOrEqual(Level.WARN) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
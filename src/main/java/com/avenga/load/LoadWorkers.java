@@ -0,0 +1,39 @@
+package com.avenga.load;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>{@link ThreadFactory} of the load worker threads</p>
+ * <p>The workers do not inherit the inheritable thread locals of the thread starting the load,
+ * so the thousands of the operations are not reported as the Allure steps of the running test.
+ * The {@link com.avenga.config.TestOwner} has to be passed explicitly
+ * (see {@link com.avenga.config.TestOwnerContext#wrap(Runnable)})</p>
+ */
+public class LoadWorkers implements ThreadFactory {
+
+    private final AtomicInteger threadNumber = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable task) {
+        var thread = new WorkerThread(task, "load-" + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Checks whether the current thread is a load worker
+     *
+     * @return {@code true} if the current thread was created by a {@link LoadWorkers}
+     */
+    public static boolean isWorker() {
+        return Thread.currentThread() instanceof WorkerThread;
+    }
+
+    private static class WorkerThread extends Thread {
+
+        WorkerThread(Runnable task, String name) {
+            super(null, task, name, 0, false);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.avenga.load;
+
+/**
+ * The operations of the {@link OperationMix}
+ */
+public enum Operation {
+    LIST_BOOKS,
+    GET_BOOK,
+    CREATE_BOOK,
+    UPDATE_BOOK,
+    DELETE_BOOK,
+    LIST_BOOK_AUTHORS,
+    CREATE_AUTHOR
+}
@@ -0,0 +1,42 @@
+package com.avenga.load;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The timestamped history of the operations of the {@link StressRun}. Every worker appends to its own list,
+ * the recording does not synchronize the workers
+ */
+public class OperationHistory {
+
+    private final Queue<List<HistoryEvent>> workerEvents = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<List<HistoryEvent>> events = ThreadLocal.withInitial(() -> {
+        var list = new ArrayList<HistoryEvent>();
+        workerEvents.add(list);
+        return list;
+    });
+
+    /**
+     * Records the operation of the current worker
+     *
+     * @param event the {@link HistoryEvent}
+     */
+    public void record(HistoryEvent event) {
+        events.get().add(event);
+    }
+
+    /**
+     * Returns the events of all the workers ordered by the invocation time, the workers must have stopped
+     *
+     * @return the events
+     */
+    public List<HistoryEvent> events() {
+        var merged = new ArrayList<HistoryEvent>();
+        workerEvents.forEach(merged::addAll);
+        merged.sort(Comparator.comparingLong(HistoryEvent::start));
+        return merged;
+    }
+}
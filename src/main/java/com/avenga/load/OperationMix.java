@@ -0,0 +1,189 @@
+package com.avenga.load;
+
+import com.avenga.api.dto.author.AuthorDto;
+import com.avenga.api.dto.book.BookDto;
+import com.avenga.api.service.AuthorService;
+import com.avenga.api.service.BookService;
+import com.avenga.config.TestContext;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * <p>The weighted mix of the {@link BookService} and {@link AuthorService} operations executed by the load</p>
+ * <p>The mix keeps pools of the entities it created: the reads, updates and the author operations pick a random
+ * book from the pool, the deletes take one out of it. The created entities are registered for the cleanup
+ * as usual and the deleted ones are removed from the cleanup list. The pools can be trimmed while the load
+ * is running to keep the dataset bounded</p>
+ */
+@Slf4j
+public class OperationMix {
+
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final TestContext testContext;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final EntityPool<BookDto> books = new EntityPool<>();
+    private final EntityPool<AuthorDto> authors = new EntityPool<>();
+    private int minPoolSize;
+
+    public OperationMix(BookService bookService, AuthorService authorService, TestContext testContext,
+                        Map<Operation, Integer> weights) {
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.testContext = testContext;
+
+        var weighted = weights.entrySet().stream()
+                .filter(weight -> weight.getValue() != null && weight.getValue() > 0)
+                .toList();
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("The operation mix has no operations with a positive weight");
+        }
+
+        operations = new Operation[weighted.size()];
+        cumulativeWeights = new int[weighted.size()];
+        var cumulative = 0;
+        for (var i = 0; i < weighted.size(); i++) {
+            cumulative += weighted.get(i).getValue();
+            operations[i] = weighted.get(i).getKey();
+            cumulativeWeights[i] = cumulative;
+        }
+    }
+
+    /**
+     * Creates the books the operations work with
+     *
+     * @param poolSize number of the books, the deletes never shrink the pool below it
+     */
+    public void seed(int poolSize) {
+        log.info("Creating {} books for the operation mix", poolSize);
+        minPoolSize = poolSize;
+        for (var i = 0; i < poolSize; i++) {
+            books.add(bookService.createRandomBook());
+        }
+    }
+
+    /**
+     * Picks the next operation according to the weights
+     *
+     * @param random the random generator of the calling worker
+     * @return the {@link Operation}
+     */
+    public Operation next(RandomGenerator random) {
+        var point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        var index = Arrays.binarySearch(cumulativeWeights, point + 1);
+        return operations[index >= 0 ? index : -index - 1];
+    }
+
+    /**
+     * Executes the operation
+     *
+     * @param operation the {@link Operation} to execute
+     * @param random the random generator of the calling worker
+     */
+    public void execute(Operation operation, RandomGenerator random) {
+        switch (operation) {
+            case LIST_BOOKS -> bookService.getBooks();
+            case GET_BOOK -> bookService.getBook(pickBook(random).getId());
+            case CREATE_BOOK -> books.add(bookService.createRandomBook());
+            case UPDATE_BOOK -> bookService.updateBook(bookService.prepareRandomBookDto(pickBook(random).getId()));
+            case DELETE_BOOK -> deleteBook(random);
+            case LIST_BOOK_AUTHORS -> authorService.getAuthorsByBook(pickBook(random));
+            case CREATE_AUTHOR -> authors.add(authorService.createRandomAuthor(pickBook(random)));
+        }
+    }
+
+    /**
+     * Deletes the random entities exceeding the limits, the authors first
+     *
+     * @param maxBooks max number of the books to keep, never lower than the seeded pool size
+     * @param maxAuthors max number of the authors to keep
+     * @return number of the deleted entities
+     */
+    public int trim(int maxBooks, int maxAuthors) {
+        var random = ThreadLocalRandom.current();
+        var deleted = 0;
+
+        AuthorDto author;
+        while ((author = authors.take(random, maxAuthors)) != null) {
+            deleted += delete(author, authorService::deleteAuthor);
+        }
+
+        BookDto book;
+        var minBooks = Math.max(maxBooks, minPoolSize);
+        while ((book = books.take(random, minBooks)) != null) {
+            deleted += delete(book, bookService::deleteBook);
+        }
+        return deleted;
+    }
+
+    private BookDto pickBook(RandomGenerator random) {
+        var book = books.pick(random);
+        return book == null ? books.add(bookService.createRandomBook()) : book;
+    }
+
+    private void deleteBook(RandomGenerator random) {
+        var book = books.take(random, minPoolSize);
+
+        if (book == null) {
+            // the pool is at its minimal size, a read keeps the mix going without starving the other operations
+            bookService.getBook(pickBook(random).getId());
+            return;
+        }
+        bookService.deleteBook(book);
+        testContext.removeFromCleanUpList(book);
+    }
+
+    private <T> int delete(T entity, Consumer<T> deleteAction) {
+        try {
+            deleteAction.accept(entity);
+        } catch (FeignException.NotFound e) {
+            log.debug("The entity '{}' was already deleted", entity);
+        } catch (Exception e) {
+            log.warn("Could not delete the entity '{}', it is left for the cleanup: {}", entity, e.toString());
+            return 0;
+        }
+        testContext.removeFromCleanUpList(entity);
+        return 1;
+    }
+
+    /**
+     * The entities available to the operations
+     *
+     * @param <T> type of the entities
+     */
+    private static class EntityPool<T> {
+
+        private final List<T> entities = new ArrayList<>();
+
+        synchronized T add(T entity) {
+            entities.add(entity);
+            return entity;
+        }
+
+        synchronized T pick(RandomGenerator random) {
+            return entities.isEmpty() ? null : entities.get(random.nextInt(entities.size()));
+        }
+
+        synchronized T take(RandomGenerator random, int minSize) {
+            if (entities.size() <= minSize) {
+                return null;
+            }
+
+            // swap with the last one to remove in constant time
+            var index = random.nextInt(entities.size());
+            var entity = entities.get(index);
+            entities.set(index, entities.get(entities.size() - 1));
+            entities.remove(entities.size() - 1);
+            return entity;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.avenga.load;
+
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryType;
+
+/**
+ * The client-side resources at a point of time
+ *
+ * @param heapAfterGc heap used right after the last garbage collection, the live set approximation
+ * @param heapUsed heap used at the moment
+ * @param threads number of the live threads
+ * @param leasedConnections number of the pooled connections in use
+ * @param availableConnections number of the idle pooled connections
+ */
+public record ResourceSample(long heapAfterGc, long heapUsed, int threads, int leasedConnections,
+                             int availableConnections) {
+
+    /**
+     * Takes the sample of the current JVM and connection pool state
+     *
+     * @param connectionManager the connection pool of the Feign clients
+     * @return the {@link ResourceSample}
+     */
+    public static ResourceSample take(PoolingHttpClientConnectionManager connectionManager) {
+        var heapAfterGc = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.getCollectionUsage() != null)
+                .mapToLong(pool -> pool.getCollectionUsage().getUsed())
+                .sum();
+        var poolStats = connectionManager.getTotalStats();
+
+        return new ResourceSample(heapAfterGc, ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),
+                ManagementFactory.getThreadMXBean().getThreadCount(), poolStats.getLeased(),
+                poolStats.getAvailable());
+    }
+
+    public int openConnections() {
+        return leasedConnections + availableConnections;
+    }
+
+    @Override
+    public String toString() {
+        return "heap after GC %4d MB  heap %4d MB  threads %4d  connections %3d open %3d leased".formatted(
+                heapAfterGc >> 20, heapUsed >> 20, threads, openConnections(), leasedConnections);
+    }
+}
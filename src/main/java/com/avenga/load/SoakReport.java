@@ -0,0 +1,39 @@
+package com.avenga.load;
+
+import java.util.List;
+
+/**
+ * The result of the {@link SoakRun}
+ *
+ * @param windows the measured windows in the order of execution
+ * @param baseline the merged baseline windows, {@code null} if the soak was shorter than the baseline
+ * @param alerts the latency drift, error rate and leak alerts
+ */
+public record SoakReport(List<Window> windows, StepResult baseline, List<String> alerts) {
+
+    /**
+     * Formats the report as a text table
+     *
+     * @return the report text
+     */
+    public String format() {
+        var report = new StringBuilder("Baseline: ").append(baseline == null ? "none" : baseline)
+                .append(System.lineSeparator());
+
+        windows.forEach(window -> report.append("  #%-4d %s | %s".formatted(window.index(), window.result(),
+                window.resources())).append(System.lineSeparator()));
+        report.append(alerts.isEmpty() ? "No alerts" : "Alerts:");
+        alerts.forEach(alert -> report.append(System.lineSeparator()).append("  ").append(alert));
+        return report.toString();
+    }
+
+    /**
+     * A rolling window of the soak
+     *
+     * @param index the number of the window
+     * @param result the latencies and errors of the window
+     * @param resources the client-side resources at the end of the window
+     */
+    public record Window(int index, StepResult result, ResourceSample resources) {
+    }
+}
@@ -0,0 +1,180 @@
+package com.avenga.load;
+
+import com.avenga.api.service.AuthorService;
+import com.avenga.api.service.BookService;
+import com.avenga.config.TestContext;
+import com.avenga.config.cleanup.CleanUpJournal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Long-running load of the {@link OperationMix} with a fixed concurrency</p>
+ * <p>The latencies and errors are summarized per rolling window. The first windows form the latency baseline,
+ * the later windows are alerted when their p99 latency drifts past it or their error rate is too high.
+ * The heap, threads and connections of the client are sampled after every window to catch the leaks
+ * of the harness itself</p>
+ * <p>The dataset is kept bounded: after every window the entities exceeding the limits are deleted
+ * and the {@link CleanUpJournal} is compacted</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SoakRun {
+
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final TestContext testContext;
+    private final CleanUpJournal cleanUpJournal;
+    private final LoadProperties loadProperties;
+    private final PoolingHttpClientConnectionManager httpConnectionManager;
+
+    /**
+     * Runs the soak
+     *
+     * @return the {@link SoakReport}
+     */
+    public SoakReport run() {
+        var soak = loadProperties.getSoak();
+        var operationMix = new OperationMix(bookService, authorService, testContext, loadProperties.getMix());
+        operationMix.seed(loadProperties.getPoolSize());
+
+        log.info("Running the soak with {} workers for {} (warm-up {}, window {})", soak.getConcurrency(),
+                soak.getDuration(), soak.getWarmUp(), soak.getWindow());
+        var measureFrom = System.nanoTime() + soak.getWarmUp().toNanos();
+        var until = measureFrom + soak.getDuration().toNanos();
+        var recorder = new LoadRecorder(measureFrom);
+        var load = new LoadDriver(operationMix).start(soak.getConcurrency(), until, recorder);
+
+        var windows = new ArrayList<SoakReport.Window>();
+        var alerts = new ArrayList<String>();
+        var baseline = new Baseline(soak.getConcurrency());
+        try {
+            sleepUntil(measureFrom);
+            for (var windowEnd = measureFrom; windowEnd < until; ) {
+                windowEnd = Math.min(until, windowEnd + soak.getWindow().toNanos());
+                sleepUntil(windowEnd);
+
+                var recorded = recorder.roll();
+                var end = System.nanoTime();
+                var window = new SoakReport.Window(windows.size(), recorded.toResult(soak.getConcurrency(), end),
+                        ResourceSample.take(httpConnectionManager));
+                windows.add(window);
+                log.info("Soak window #{}: {} | {}", window.index(), window.result(), window.resources());
+
+                if (window.index() < soak.getBaselineWindows()) {
+                    baseline.add(recorded, end);
+                }
+                checkWindow(window, baseline, alerts);
+                keepDatasetBounded(operationMix);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            alerts.add("The soak was interrupted");
+        } finally {
+            load.await();
+        }
+
+        checkLeaks(windows, alerts);
+        var report = new SoakReport(List.copyOf(windows), baseline.result(), List.copyOf(alerts));
+        log.info("Soak finished{}{}", System.lineSeparator(), report.format());
+        return report;
+    }
+
+    private void checkWindow(SoakReport.Window window, Baseline baseline, List<String> alerts) {
+        var soak = loadProperties.getSoak();
+        var result = window.result();
+
+        if (result.errorRate() > soak.getMaxErrorRate()) {
+            alert(alerts, "Window #%d: the error rate %.2f%% exceeds %.2f%%".formatted(window.index(),
+                    result.errorRate() * 100, soak.getMaxErrorRate() * 100));
+        }
+        // every worker holds at most one connection, the connections above that are not released
+        if (window.resources().leasedConnections() > soak.getConcurrency()) {
+            alert(alerts, "Window #%d: %d connections are leased by %d workers, the responses are not closed"
+                    .formatted(window.index(), window.resources().leasedConnections(), soak.getConcurrency()));
+        }
+
+        if (window.index() < soak.getBaselineWindows() || baseline.result() == null) {
+            return;
+        }
+        var baselineP99 = baseline.result().p99();
+        if (result.p99().toNanos() > baselineP99.toNanos() * soak.getMaxLatencyDrift()) {
+            alert(alerts, "Window #%d: the p99 latency %d ms drifted past the baseline %d ms (x%.2f)".formatted(
+                    window.index(), result.p99().toMillis(), baselineP99.toMillis(),
+                    (double) result.p99().toNanos() / Math.max(1, baselineP99.toNanos())));
+        }
+    }
+
+    private void checkLeaks(List<SoakReport.Window> windows, List<String> alerts) {
+        if (windows.size() < 2) {
+            return;
+        }
+
+        var soak = loadProperties.getSoak();
+        var first = windows.get(0).resources();
+        var last = windows.get(windows.size() - 1).resources();
+
+        var heapGrowth = (double) (last.heapAfterGc() - first.heapAfterGc()) / Math.max(1, first.heapAfterGc());
+        if (heapGrowth > soak.getMaxHeapGrowth()) {
+            alert(alerts, "The heap used after GC grew by %.0f%% (%d MB -> %d MB)".formatted(heapGrowth * 100,
+                    first.heapAfterGc() >> 20, last.heapAfterGc() >> 20));
+        }
+        if (last.threads() - first.threads() > soak.getMaxThreadGrowth()) {
+            alert(alerts, "The number of the threads grew from %d to %d".formatted(first.threads(), last.threads()));
+        }
+    }
+
+    private void keepDatasetBounded(OperationMix operationMix) {
+        var soak = loadProperties.getSoak();
+        var deleted = operationMix.trim(soak.getMaxBooks(), soak.getMaxAuthors());
+
+        if (deleted > 0) {
+            log.info("Deleted {} entities exceeding the soak dataset limits", deleted);
+        }
+        cleanUpJournal.compact();
+    }
+
+    private void alert(List<String> alerts, String alert) {
+        log.warn(alert);
+        alerts.add(alert);
+    }
+
+    /**
+     * The merged windows the later ones are compared with
+     */
+    private static class Baseline {
+
+        private final int concurrency;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private long errors;
+        private long elapsed;
+
+        Baseline(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        void add(LoadRecorder.Window window, long end) {
+            histogram.add(window.histogram());
+            errors += window.errors().sum();
+            elapsed += end - window.start();
+        }
+
+        StepResult result() {
+            return elapsed == 0 ? null : StepResult.of(concurrency, histogram, errors, Duration.ofNanos(elapsed));
+        }
+    }
+
+    private static void sleepUntil(long deadline) throws InterruptedException {
+        var remaining = deadline - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+}
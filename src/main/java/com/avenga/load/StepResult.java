@@ -0,0 +1,45 @@
+package com.avenga.load;
+
+import java.time.Duration;
+
+/**
+ * The measurements of a load step
+ *
+ * @param concurrency number of the concurrent workers
+ * @param operations number of the successful operations
+ * @param errors number of the failed operations
+ * @param throughput operations (successful and failed) per second
+ * @param p50 median latency of the successful operations
+ * @param p99 99th percentile latency of the successful operations
+ */
+public record StepResult(int concurrency, long operations, long errors, double throughput, Duration p50,
+                         Duration p99) {
+
+    /**
+     * Creates the result from the histogram of the step
+     *
+     * @param concurrency number of the concurrent workers
+     * @param histogram latencies of the successful operations
+     * @param errors number of the failed operations
+     * @param elapsed the measured duration of the step
+     * @return the {@link StepResult}
+     */
+    public static StepResult of(int concurrency, LatencyHistogram histogram, long errors, Duration elapsed) {
+        var operations = histogram.getCount();
+        var seconds = Math.max(elapsed.toNanos(), 1) / 1e9;
+
+        return new StepResult(concurrency, operations, errors, (operations + errors) / seconds,
+                histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(99));
+    }
+
+    public double errorRate() {
+        var total = operations + errors;
+        return total == 0 ? 0 : (double) errors / total;
+    }
+
+    @Override
+    public String toString() {
+        return "%4d workers %9.1f ops/s  p50 %6d ms  p99 %6d ms  errors %6.2f%%".formatted(concurrency, throughput,
+                p50.toMillis(), p99.toMillis(), errorRate() * 100);
+    }
+}
@@ -0,0 +1,12 @@
+package com.avenga.load;
+
+/**
+ * The operations of the {@link StressRun} on the shared books and authors
+ */
+public enum StressOperation {
+    UPDATE_BOOK,
+    READ_BOOK,
+    DELETE_BOOK,
+    UPDATE_AUTHOR,
+    READ_AUTHOR
+}
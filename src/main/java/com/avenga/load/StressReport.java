@@ -0,0 +1,59 @@
+package com.avenga.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The result of the {@link StressRun}
+ *
+ * @param threads the number of the concurrent workers
+ * @param entities the number of the shared entities
+ * @param duration the measured duration of the run
+ * @param operations the number of the executed operations by the operation
+ * @param failures the number of the failed operations by the operation
+ * @param anomalies the anomalies found by the {@link HistoryChecker}
+ * @param maxExamples max number of the anomalies listed in the report
+ */
+public record StressReport(int threads, int entities, Duration duration, Map<StressOperation, Long> operations,
+                           Map<StressOperation, Long> failures, List<Anomaly> anomalies, int maxExamples) {
+
+    /**
+     * Returns the number of the anomalies by their type
+     *
+     * @return the counts, the types that were not found are not included
+     */
+    public Map<Anomaly.Type, Long> anomalyCounts() {
+        return anomalies.stream().collect(Collectors.groupingBy(Anomaly::type, Collectors.counting()));
+    }
+
+    /**
+     * Formats the report as a text table
+     *
+     * @return the report text
+     */
+    public String format() {
+        var seconds = Math.max(1, duration.toMillis()) / 1000.0;
+        var total = operations.values().stream().mapToLong(Long::longValue).sum();
+        var report = new StringBuilder("%d workers on %d entities for %d s: %.1f ops/s%n".formatted(threads, entities,
+                duration.toSeconds(), total / seconds));
+
+        report.append("  %-15s %10s %10s %10s%n".formatted("operation", "count", "failed", "ops/s"));
+        operations.forEach((operation, count) -> report.append("  %-15s %10d %10d %10.1f%n".formatted(operation,
+                count, failures.getOrDefault(operation, 0L), count / seconds)));
+
+        var counts = anomalyCounts();
+        report.append("Anomalies: ").append(anomalies.size());
+        Arrays.stream(Anomaly.Type.values()).forEach(type -> report.append(", ").append(type).append(' ')
+                .append(counts.getOrDefault(type, 0L)));
+        anomalies.stream()
+                .limit(maxExamples)
+                .forEach(anomaly -> report.append(System.lineSeparator()).append("  ").append(anomaly));
+        if (anomalies.size() > maxExamples) {
+            report.append(System.lineSeparator()).append("  ...");
+        }
+        return report.toString();
+    }
+}
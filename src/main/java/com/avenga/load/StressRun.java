@@ -0,0 +1,281 @@
+package com.avenga.load;
+
+import com.avenga.api.dto.author.AuthorDto;
+import com.avenga.api.dto.book.BookDto;
+import com.avenga.api.service.AuthorService;
+import com.avenga.api.service.BookService;
+import com.avenga.config.TestContext;
+import com.avenga.config.TestOwnerContext;
+import com.avenga.load.HistoryEvent.Kind;
+import com.avenga.load.HistoryEvent.Outcome;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * <p>Concurrent writes to a small set of the shared books and authors</p>
+ * <p>The workers update, read and delete the same entities for the configured duration. Every write puts a unique
+ * value into the title of the book or the first name of the author, a deleted book is created again right away
+ * by the worker that deleted it. All the operations are recorded with their invocation and completion times
+ * to the {@link OperationHistory}. When the workers stop, every entity is read once more and the history is
+ * checked by the {@link HistoryChecker} for the lost updates, stale reads and resurrected deletes</p>
+ * <p>The reads run on the {@link LoadWorkers}, so they are never coalesced with a call that was sent before
+ * the write they are checked against</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StressRun {
+
+    // the workers stop starting the operations at the deadline, the grace period is for the last ones
+    private static final Duration GRACE_PERIOD = Duration.ofSeconds(60);
+
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final TestContext testContext;
+    private final LoadProperties loadProperties;
+
+    private final AtomicLong lastValue = new AtomicLong();
+
+    /**
+     * Runs the stress
+     *
+     * @return the {@link StressReport}
+     */
+    public StressReport run() {
+        var stress = loadProperties.getStress();
+        var history = new OperationHistory();
+        var mix = new Mix(stress.getMix());
+
+        log.info("Creating {} books and {} authors for the stress", stress.getBooks(), stress.getAuthors());
+        // the authors get a book of their own, the shared books are deleted while the authors are assigned
+        var authorsBook = bookService.createRandomBook();
+        var bookIds = new ArrayList<Integer>();
+        var authorIds = new ArrayList<Integer>();
+        for (var i = 0; i < stress.getBooks(); i++) {
+            var bookId = bookService.prepareRandomBookDto().getId();
+            bookIds.add(bookId);
+            writeBook(history, bookId, bookService::createBook);
+        }
+        for (var i = 0; i < stress.getAuthors(); i++) {
+            var authorId = authorService.prepareRandomAuthorDto(authorsBook).getId();
+            authorIds.add(authorId);
+            record(history, Kind.WRITE, authorKey(authorId), nextValue(), false, value -> authorService
+                    .createAuthor(authorDto(authorId, authorsBook.getId(), value)));
+        }
+
+        log.info("Running the stress with {} workers for {}", stress.getThreads(), stress.getDuration());
+        var operations = new EnumMap<StressOperation, LongAdder>(StressOperation.class);
+        var failures = new EnumMap<StressOperation, LongAdder>(StressOperation.class);
+        for (var operation : StressOperation.values()) {
+            operations.put(operation, new LongAdder());
+            failures.put(operation, new LongAdder());
+        }
+
+        var start = System.nanoTime();
+        var until = start + stress.getDuration().toNanos();
+        var executor = Executors.newFixedThreadPool(stress.getThreads(), new LoadWorkers());
+        try {
+            for (var i = 0; i < stress.getThreads(); i++) {
+                executor.execute(TestOwnerContext.wrap(() -> {
+                    var random = ThreadLocalRandom.current();
+
+                    while (System.nanoTime() < until) {
+                        var operation = mix.next(random);
+                        var outcome = execute(history, operation,
+                                bookIds.get(random.nextInt(bookIds.size())),
+                                authorIds.get(random.nextInt(authorIds.size())), authorsBook.getId());
+
+                        operations.get(operation).increment();
+                        if (outcome == Outcome.FAILED) {
+                            failures.get(operation).increment();
+                        }
+                    }
+                }));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        await(executor, until);
+        var duration = Duration.ofNanos(System.nanoTime() - start);
+
+        // the final reads run on a load worker too, so they are never served by a coalesced call
+        var finalReader = Executors.newSingleThreadExecutor(new LoadWorkers());
+        finalReader.execute(TestOwnerContext.wrap(() -> {
+            bookIds.forEach(bookId -> record(history, Kind.READ, bookKey(bookId), null, true,
+                    value -> bookService.getBook(bookId).getTitle()));
+            authorIds.forEach(authorId -> record(history, Kind.READ, authorKey(authorId), null, true,
+                    value -> authorService.getAuthor(authorId).getFirstName()));
+        }));
+        finalReader.shutdown();
+        await(finalReader, System.nanoTime());
+
+        var report = new StressReport(stress.getThreads(), bookIds.size() + authorIds.size(), duration,
+                totals(operations), totals(failures), HistoryChecker.check(history.events()), stress.getMaxExamples());
+        log.info("Stress finished{}{}", System.lineSeparator(), report.format());
+        return report;
+    }
+
+    private Outcome execute(OperationHistory history, StressOperation operation, int bookId, int authorId,
+                            int authorsBookId) {
+        return switch (operation) {
+            case UPDATE_BOOK -> writeBook(history, bookId, bookService::updateBook);
+            case READ_BOOK -> record(history, Kind.READ, bookKey(bookId), null, false,
+                    value -> bookService.getBook(bookId).getTitle());
+            case DELETE_BOOK -> deleteBook(history, bookId);
+            case UPDATE_AUTHOR -> record(history, Kind.WRITE, authorKey(authorId), nextValue(), false,
+                    value -> authorService.updateAuthor(authorDto(authorId, authorsBookId, value)));
+            case READ_AUTHOR -> record(history, Kind.READ, authorKey(authorId), null, false,
+                    value -> authorService.getAuthor(authorId).getFirstName());
+        };
+    }
+
+    private Outcome deleteBook(OperationHistory history, int bookId) {
+        var outcome = record(history, Kind.DELETE, bookKey(bookId), null, false, value -> {
+            var book = bookDto(bookId, null);
+            bookService.deleteBook(book);
+            testContext.removeFromCleanUpList(book);
+            return null;
+        });
+
+        // the book is created again, so the other workers keep operating on it
+        writeBook(history, bookId, bookService::createBook);
+        return outcome;
+    }
+
+    private Outcome writeBook(OperationHistory history, int bookId, Function<BookDto, BookDto> write) {
+        return record(history, Kind.WRITE, bookKey(bookId), nextValue(), false,
+                value -> write.apply(bookDto(bookId, value)));
+    }
+
+    /**
+     * Executes the operation and records it to the history
+     *
+     * @param history the {@link OperationHistory}
+     * @param kind the kind of the operation
+     * @param key the entity
+     * @param value the value written, {@code null} for the reads and deletes
+     * @param quiescent {@code true} for the final reads
+     * @param call the operation, gets the written value and returns the observed one
+     * @return the outcome of the operation
+     */
+    private Outcome record(OperationHistory history, Kind kind, String key, String value, boolean quiescent,
+                           Function<String, Object> call) {
+        var start = System.nanoTime();
+        Object observed = null;
+        Outcome outcome;
+        try {
+            observed = call.apply(value);
+            outcome = Outcome.OK;
+        } catch (FeignException.NotFound e) {
+            outcome = Outcome.NOT_FOUND;
+        } catch (Exception e) {
+            outcome = Outcome.FAILED;
+            log.debug("The {} of {} failed: {}", kind, key, e.toString());
+        }
+
+        history.record(new HistoryEvent(key, kind, kind == Kind.READ ? (String) observed : value, start,
+                System.nanoTime(), outcome, quiescent, Thread.currentThread().getName()));
+        return outcome;
+    }
+
+    private String nextValue() {
+        return "stress-" + lastValue.incrementAndGet();
+    }
+
+    private BookDto bookDto(int bookId, String title) {
+        return BookDto.builder()
+                .id(bookId)
+                .title(title)
+                .pageCount(100)
+                .publishDate(LocalDateTime.now().toString())
+                .build();
+    }
+
+    private AuthorDto authorDto(int authorId, int bookId, String firstName) {
+        return AuthorDto.builder()
+                .id(authorId)
+                .bookId(bookId)
+                .firstName(firstName)
+                .lastName("Stress")
+                .build();
+    }
+
+    private static String bookKey(int bookId) {
+        return "Book#" + bookId;
+    }
+
+    private static String authorKey(int authorId) {
+        return "Author#" + authorId;
+    }
+
+    private static Map<StressOperation, Long> totals(Map<StressOperation, LongAdder> counters) {
+        var totals = new EnumMap<StressOperation, Long>(StressOperation.class);
+        counters.forEach((operation, counter) -> {
+            if (counter.sum() > 0) {
+                totals.put(operation, counter.sum());
+            }
+        });
+        return totals;
+    }
+
+    private static void await(ExecutorService executor, long until) {
+        var timeout = Math.max(0, until - System.nanoTime()) + GRACE_PERIOD.toNanos();
+        try {
+            if (!executor.awaitTermination(timeout, TimeUnit.NANOSECONDS)) {
+                log.warn("The stress workers did not finish in time");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The weighted choice of the operations
+     */
+    private static class Mix {
+
+        private final List<StressOperation> operations = new ArrayList<>();
+        private final List<Integer> cumulativeWeights = new ArrayList<>();
+
+        Mix(Map<StressOperation, Integer> weights) {
+            var cumulative = 0;
+            for (var weight : weights.entrySet()) {
+                if (weight.getValue() != null && weight.getValue() > 0) {
+                    cumulative += weight.getValue();
+                    operations.add(weight.getKey());
+                    cumulativeWeights.add(cumulative);
+                }
+            }
+            if (operations.isEmpty()) {
+                throw new IllegalArgumentException("The stress mix has no operations with a positive weight");
+            }
+        }
+
+        StressOperation next(ThreadLocalRandom random) {
+            var point = random.nextInt(cumulativeWeights.get(cumulativeWeights.size() - 1));
+            var index = 0;
+            while (cumulativeWeights.get(index) <= point) {
+                index++;
+            }
+            return operations.get(index);
+        }
+    }
+}
@@ -3,14 +3,21 @@ package com.avenga;
 import com.avenga.api.dto.author.AuthorDto;
 import com.avenga.api.dto.author.AuthorField;
 import com.avenga.api.dto.book.BookDto;
+import com.avenga.combinatorial.NegativeCase;
+import com.avenga.combinatorial.RequestBodyVariants;
+import com.avenga.fixture.FixtureLease;
 import io.qameta.allure.Description;
 import org.assertj.core.api.Assertions;
 import org.springframework.http.HttpStatus;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.Iterator;
+
 import static com.avenga.api.dto.author.AuthorField.*;
+import static com.avenga.assertion.IndexedListAssert.assertThatAuthors;
 import static com.avenga.constants.AssertionMessage.*;
 import static com.avenga.constants.TestGroup.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -21,6 +28,8 @@ public class AuthorTest extends BaseTest {
 
     private static final String AUTHOR = "author";
 
+    private FixtureLease firstFixture;
+    private FixtureLease secondFixture;
     private BookDto firstBook;
     private BookDto secondBook;
     private AuthorDto firstAuthor;
@@ -28,16 +37,31 @@ public class AuthorTest extends BaseTest {
 
     @BeforeClass
     public void setUp() {
-        firstBook = bookService.createRandomBook();
-        secondBook = bookService.createRandomBook();
-        firstAuthor = authorService.createRandomAuthor(firstBook);
-        secondAuthor = authorService.createRandomAuthor(secondBook);
+        // the tests update the first author and delete the second one, so both are leased for the class
+        firstFixture = fixturePool.exclusive();
+        secondFixture = fixturePool.exclusive();
+        firstBook = firstFixture.book();
+        secondBook = secondFixture.book();
+        firstAuthor = firstFixture.author();
+        secondAuthor = secondFixture.author();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void releaseFixtures() {
+        if (firstFixture != null) {
+            firstFixture.update(firstAuthor);
+            firstFixture.close();
+        }
+        if (secondFixture != null) {
+            secondFixture.discard();
+            secondFixture.close();
+        }
     }
 
     @Test(description = "Get all authors Test", groups = SMOKE)
     @Description("Verifies that it's possible to retrieve all the authors")
     public void getAllAuthorsTest() {
-        // The least expected amount of authors is 2 as we created 2 authors before the test
+        // The least expected amount of authors is 2 as we took 2 pooled authors before the test
         var leastExpectedListSize = 2;
         var authorList = authorService.getAuthors();
 
@@ -49,9 +73,9 @@ public class AuthorTest extends BaseTest {
             softAssertion.assertThat(authorList)
                     .as(ITEMS_LIST_SIZE_IS_NOT_AS_EXPECTED.formatted(AUTHOR))
                     .hasSizeGreaterThanOrEqualTo(leastExpectedListSize);
-            softAssertion.assertThat(authorList)
+            softAssertion.check(() -> assertThatAuthors(authorList)
                     .as(ITEMS_LIST_IS_NOT_AS_EXPECTED.formatted(AUTHOR))
-                    .contains(firstAuthor, secondAuthor);
+                    .containsById(firstAuthor, secondAuthor));
         });
     }
 
@@ -199,6 +223,22 @@ public class AuthorTest extends BaseTest {
         verifyResponseError(errorResponse, HttpStatus.BAD_REQUEST, "Invalid data");
     }
 
+    @DataProvider(parallel = true)
+    public Iterator<Object[]> invalidAuthorProvider() {
+        return RequestBodyVariants.AUTHOR.generate(negativeCaseStrength,
+                () -> authorService.prepareRandomAuthorDto(firstBook));
+    }
+
+    @Test(description = "Create an author with missing or invalid fields Test", dataProvider = "invalidAuthorProvider")
+    @Description("Verifies that an error is returned for the generated combinations of the missing and invalid "
+            + "values of the author fields")
+    public void createAuthorWithInvalidFieldsTest(NegativeCase<AuthorField> negativeCase, AuthorDto authorDto) {
+        var authorJson = negativeCase.apply(authorDto, AuthorField::getJsonName);
+        var errorResponse = authorService.createAuthorRaw(authorJson);
+
+        verifyResponseError(errorResponse, negativeCase.expectedStatus(), negativeCase.expectedMessage());
+    }
+
     @Test(description = "Delete a book that is assigned to an author Test")
     @Description("Verifies that an error is returned in case of an attempt to delete a book " +
             "that is currently assigned to an author")
@@ -2,15 +2,27 @@ package com.avenga;
 
 import com.avenga.api.dto.ErrorResponseDto;
 import com.avenga.api.service.AuthorService;
+import com.avenga.api.service.BackgroundCleanUpService;
 import com.avenga.api.service.CleanUpService;
+import com.avenga.combinatorial.Strength;
+import com.avenga.config.environment.TargetEnvironments;
+import com.avenga.config.feign.baseline.LatencyBaseline;
 import com.avenga.config.listener.TestNGExecutionListener;
+import com.avenga.config.report.SuiteReport;
+import com.avenga.fixture.FixturePool;
 import com.avenga.api.service.BookService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.testng.AbstractTestNGSpringContextTests;
 import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Listeners;
+import org.testng.annotations.Optional;
+import org.testng.annotations.Parameters;
 
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
 
@@ -27,12 +39,79 @@ public abstract class BaseTest extends AbstractTestNGSpringContextTests {
     @Autowired
     protected AuthorService authorService;
 
+    @Autowired
+    protected FixturePool fixturePool;
+
+    /**
+     * The pool of the default environment, the {@link #fixturePool} is replaced by the one of the target environment
+     */
+    @Autowired
+    private FixturePool defaultFixturePool;
+
     @Autowired
     private CleanUpService cleanUpService;
 
+    @Autowired
+    private BackgroundCleanUpService backgroundCleanUpService;
+
+    @Autowired
+    private TargetEnvironments targetEnvironments;
+
+    @Autowired
+    private ObjectProvider<SuiteReport> suiteReports;
+
+    @Autowired
+    private ObjectProvider<LatencyBaseline> latencyBaseline;
+
+    /**
+     * The coverage of the generated negative cases of the create operations
+     */
+    @Value("${app.negative.strength:pairwise}")
+    protected Strength negativeCaseStrength;
+
+    private String environment;
+
+    /**
+     * Switches the services of the test class to the target environment of the {@code <test>}
+     * (see {@code suite/Environments.xml}). The default services are used if no environment is set
+     *
+     * @param environment name of the environment as configured in {@code app.environments}
+     */
+    @BeforeClass(alwaysRun = true)
+    @Parameters("environment")
+    public void bindEnvironment(@Optional String environment) {
+        if (environment == null) {
+            return;
+        }
+
+        var targetEnvironment = targetEnvironments.get(environment);
+        this.environment = environment;
+        bookService = targetEnvironment.bookService();
+        authorService = targetEnvironment.authorService();
+        cleanUpService = targetEnvironment.cleanUpService();
+        fixturePool = targetEnvironment.fixturePool();
+    }
+
     @AfterClass(alwaysRun = true)
     public void cleanUpTestData() {
-        cleanUpService.cleanUp(this.getClass().getSimpleName());
+        var className = this.getClass().getSimpleName();
+
+        if (backgroundCleanUpService.isEnabled()) {
+            backgroundCleanUpService.submit(environment == null ? className : environment + "/" + className,
+                    className, cleanUpService);
+        } else {
+            cleanUpService.cleanUp(className);
+        }
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void finishSuite() {
+        // the test classes may have assigned their authors to the pooled books, so the pools go after them
+        backgroundCleanUpService.awaitCleanUps();
+        defaultFixturePool.tearDown();
+        targetEnvironments.created().forEach(environment -> environment.fixturePool().tearDown());
+        suiteReports.orderedStream().forEach(SuiteReport::report);
+        latencyBaseline.ifAvailable(LatencyBaseline::verify);
     }
 
     protected void verifyResponseError(ErrorResponseDto response, HttpStatus expectedStatus, String expectedMessage) {
@@ -2,15 +2,24 @@ package com.avenga;
 
 import com.avenga.api.dto.book.BookField;
 import com.avenga.api.dto.book.BookDto;
+import com.avenga.combinatorial.NegativeCase;
+import com.avenga.combinatorial.RequestBodyVariants;
+import com.avenga.config.feign.streaming.ContentSource;
+import com.avenga.fixture.FixtureLease;
 import feign.FeignException;
 import io.qameta.allure.Description;
 import org.assertj.core.api.Assertions;
 import org.springframework.http.HttpStatus;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.Iterator;
+import java.util.Map;
+
 import static com.avenga.api.dto.book.BookField.*;
+import static com.avenga.assertion.IndexedListAssert.assertThatBooks;
 import static com.avenga.constants.AssertionMessage.*;
 import static com.avenga.constants.TestGroup.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -20,20 +29,32 @@ import static org.assertj.core.api.SoftAssertions.assertSoftly;
 public class BookTest extends BaseTest {
 
     private static final String BOOK = "book";
+    private static final int LARGE_FIELD_LENGTH = 2 * 1024 * 1024;
 
+    private FixtureLease firstFixture;
     private BookDto firstBook;
     private BookDto secondBook;
 
     @BeforeClass
     public void setUp() {
-        firstBook = bookService.createRandomBook();
-        secondBook = bookService.createRandomBook();
+        // the first book is updated by the tests, so it is leased for the class
+        firstFixture = fixturePool.exclusive();
+        firstBook = firstFixture.book();
+        secondBook = fixturePool.shared().book();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void releaseFixtures() {
+        if (firstFixture != null) {
+            firstFixture.update(firstBook);
+            firstFixture.close();
+        }
     }
 
     @Test(description = "Get all books Test", groups = SMOKE)
     @Description("Verifies that it's possible to retrieve all the books")
     public void getAllBooksTest() {
-        // The least expected amount of books is 2 as we created 2 books before the test
+        // The least expected amount of books is 2 as we took 2 pooled books before the test
         var leastExpectedListSize = 2;
         var booksList = bookService.getBooks();
 
@@ -45,9 +66,9 @@ public class BookTest extends BaseTest {
             softAssertion.assertThat(booksList)
                     .as(ITEMS_LIST_SIZE_IS_NOT_AS_EXPECTED.formatted(BOOK))
                     .hasSizeGreaterThanOrEqualTo(leastExpectedListSize);
-            softAssertion.assertThat(booksList)
+            softAssertion.check(() -> assertThatBooks(booksList)
                     .as(ITEMS_LIST_IS_NOT_AS_EXPECTED.formatted(BOOK))
-                    .contains(firstBook, secondBook);
+                    .containsById(firstBook, secondBook));
         });
     }
 
@@ -81,6 +102,19 @@ public class BookTest extends BaseTest {
         verifyBook(bookDto, createdBook, actualBook);
     }
 
+    @Test(description = "Create a book with a large excerpt Test")
+    @Description("Verifies that a book with a multi-megabyte excerpt can be successfully created")
+    public void createBookWithLargeExcerptTest() {
+        var bookDto = bookService.prepareRandomBookDto(ID, TITLE, DESCRIPTION, PAGE_COUNT, PUBLISH_DATE);
+        var excerpt = ContentSource.generated(LARGE_FIELD_LENGTH, bookDto.getId());
+        var createdBook = bookService.createLargeBook(bookDto, Map.of(EXCERPT, excerpt));
+        var actualBook = bookService.getBook(bookDto.getId());
+
+        var expectedBook = new BookDto(bookDto.getId(), bookDto.getTitle(), bookDto.getDescription(),
+                bookDto.getPageCount(), excerpt.asString(), bookDto.getPublishDate());
+        verifyBook(expectedBook, createdBook, actualBook);
+    }
+
     @Test(description = "Update a book Test")
     @Description("Verifies that an existing book can be successfully updated")
     public void updateBookTest() {
@@ -150,6 +184,21 @@ public class BookTest extends BaseTest {
         verifyResponseError(errorResponse, HttpStatus.BAD_REQUEST, "Invalid data");
     }
 
+    @DataProvider(parallel = true)
+    public Iterator<Object[]> invalidBookProvider() {
+        return RequestBodyVariants.BOOK.generate(negativeCaseStrength, bookService::prepareRandomBookDto);
+    }
+
+    @Test(description = "Create a book with missing or invalid fields Test", dataProvider = "invalidBookProvider")
+    @Description("Verifies that an error is returned for the generated combinations of the missing and invalid "
+            + "values of the book fields")
+    public void createBookWithInvalidFieldsTest(NegativeCase<BookField> negativeCase, BookDto bookDto) {
+        var bookJson = negativeCase.apply(bookDto, BookField::getJsonName);
+        var errorResponse = bookService.createBookRaw(bookJson);
+
+        verifyResponseError(errorResponse, negativeCase.expectedStatus(), negativeCase.expectedMessage());
+    }
+
     /**
      * Verifies an expected book object against the object returned by the service (create/update)
      * and against the actual book object returned by the GET operation
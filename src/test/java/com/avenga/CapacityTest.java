@@ -0,0 +1,30 @@
+package com.avenga;
+
+import com.avenga.load.CapacitySearch;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.testng.annotations.Test;
+
+import static com.avenga.constants.TestGroup.CAPACITY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Test(groups = CAPACITY, testName = "Capacity Test")
+public class CapacityTest extends BaseTest {
+
+    @Autowired
+    private CapacitySearch capacitySearch;
+
+    @Test(description = "Capacity search Test")
+    @Description("Ramps the concurrency of the operation mix until the latency SLO breaks "
+            + "and reports the highest throughput that still meets it")
+    public void capacitySearchTest() {
+        var report = capacitySearch.search();
+
+        Allure.addAttachment("Capacity report", report.format());
+
+        assertThat(report.best())
+                .as("No load step met the SLO: %s", report.slo())
+                .isNotNull();
+    }
+}
@@ -0,0 +1,150 @@
+package com.avenga;
+
+import com.avenga.config.listener.TestNGExecutionListener;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static com.avenga.constants.TestGroup.REPLAY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the {@link BookTest} in a fresh JVM recording the cassette, then in another one replaying it
+ * against an unreachable server, and compares the results of the tests of both runs
+ */
+@Slf4j
+@Listeners(TestNGExecutionListener.class)
+@Test(groups = REPLAY, testName = "Cassette Replay Test")
+public class CassetteReplayTest {
+
+    private static final String UNREACHABLE_URL = "http://127.0.0.1:9/api/v1";
+    private static final long RUN_TIMEOUT_MINUTES = 15;
+    private static final Pattern IDENTITY_HASH = Pattern.compile("@\\p{XDigit}+");
+
+    @Test(description = "Record and replay the books Test")
+    @Description("Records the books tests to a cassette and replays them without network, "
+            + "every test has the recorded result")
+    public void recordAndReplayBookTest() throws Exception {
+        var directory = buildDirectory().resolve("cassette-replay");
+        var cassette = directory.resolve("books.cassette");
+        Files.createDirectories(directory);
+        Files.deleteIfExists(cassette);
+
+        var recorded = run("record", directory, cassette, List.of());
+        var replayed = run("replay", directory, cassette, List.of("-Dapp.url=" + UNREACHABLE_URL));
+
+        Allure.addAttachment("Recorded results", recorded.toString());
+        Allure.addAttachment("Replayed results", replayed.toString());
+        assertThat(recorded)
+                .as("The recording run has no test results")
+                .isNotEmpty();
+        assertThat(replayed)
+                .as("The replayed results differ from the recorded ones")
+                .isEqualTo(recorded);
+    }
+
+    /**
+     * Runs the {@link BookTest} in a fresh JVM with the classpath and the agents of this one
+     *
+     * @param mode the cassette mode
+     * @param directory the directory of the cassette, the logs and the TestNG output
+     * @param cassette the cassette file
+     * @param properties the additional system properties
+     * @return the sorted statuses of the test invocations by the test name and the parameters
+     */
+    private Map<String, List<String>> run(String mode, Path directory, Path cassette, List<String> properties)
+            throws IOException, InterruptedException, ParserConfigurationException, SAXException {
+        var output = directory.resolve(mode);
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .filter(argument -> argument.startsWith("-javaagent:") || argument.startsWith("--enable-preview"))
+                .forEach(command::add);
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"),
+                "-Dbuild.directory=" + buildDirectory(),
+                "-Dlog.file=" + directory.resolve(mode + ".log"),
+                "-Dallure.results.directory=" + output.resolve("allure-results"),
+                "-Dapp.feign.cassette.mode=" + mode,
+                "-Dapp.feign.cassette.path=" + cassette,
+                "-Dapp.feign.accounting.report-path=" + output.resolve("http-calls.csv"),
+                "-Dapp.feign.phases.report-path=" + output.resolve("http-phases.csv"),
+                "-Dapp.cleanup.journal.enabled=false",
+                "-Dapp.feign.baseline.enabled=false"));
+        command.addAll(properties);
+        command.addAll(List.of("org.testng.TestNG", "-d", output.toString(), "-testclass", BookTest.class.getName()));
+
+        log.info("Running the books tests in the {} mode", mode);
+        var process = new ProcessBuilder(command)
+                .directory(new File(System.getProperty("user.dir")))
+                .redirectErrorStream(true)
+                .redirectOutput(directory.resolve(mode + ".out").toFile())
+                .start();
+        if (!process.waitFor(RUN_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("The books tests did not finish in the " + mode + " mode");
+        }
+
+        return results(output.resolve("testng-results.xml"));
+    }
+
+    /**
+     * Reads the status of the test methods (the configuration methods are left out) from the TestNG XML report
+     *
+     * @param report the {@code testng-results.xml} file
+     * @return the sorted statuses of the test invocations by the test name and the parameters
+     */
+    private Map<String, List<String>> results(Path report) throws IOException, ParserConfigurationException, SAXException {
+        if (!Files.exists(report)) {
+            throw new IllegalStateException("The books tests wrote no results to " + report);
+        }
+
+        var results = new TreeMap<String, List<String>>();
+        var methods = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(report.toFile())
+                .getElementsByTagName("test-method");
+        for (var i = 0; i < methods.getLength(); i++) {
+            var method = (Element) methods.item(i);
+            if (Boolean.parseBoolean(method.getAttribute("is-config"))) {
+                continue;
+            }
+
+            var values = method.getElementsByTagName("value");
+            var parameters = new ArrayList<String>();
+            for (var j = 0; j < values.getLength(); j++) {
+                // the parameters without toString(), e.g. the arrays, differ by the identity hash code only
+                parameters.add(IDENTITY_HASH.matcher(values.item(j).getTextContent().strip()).replaceAll(""));
+            }
+            results.computeIfAbsent(method.getAttribute("name") + parameters, k -> new ArrayList<>())
+                    .add(method.getAttribute("status"));
+        }
+        results.values().forEach(statuses -> statuses.sort(null));
+        return results;
+    }
+
+    /**
+     * Returns the build directory passed by surefire, or target/ of the working directory outside Maven
+     *
+     * @return the directory the runs write their output to
+     */
+    private Path buildDirectory() {
+        var buildDirectory = System.getProperty("build.directory");
+        return buildDirectory == null ? Path.of(System.getProperty("user.dir"), "target") : Path.of(buildDirectory);
+    }
+}
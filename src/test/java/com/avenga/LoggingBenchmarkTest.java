@@ -0,0 +1,161 @@
+package com.avenga;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.avenga.benchmark.Benchmark;
+import com.avenga.config.feign.CustomFeignLogger;
+import com.avenga.config.listener.TestNGExecutionListener;
+import feign.Feign;
+import feign.Headers;
+import feign.RequestLine;
+import feign.Response;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.avenga.constants.TestGroup.BENCHMARK;
+
+/**
+ * Measures the per-call overhead of the Feign request/response logging against a stub transport
+ */
+@Slf4j
+@Listeners(TestNGExecutionListener.class)
+@Test(groups = BENCHMARK, testName = "Logging Benchmark")
+public class LoggingBenchmarkTest {
+
+    private static final int WARM_UP_ITERATIONS = 5_000;
+    private static final int ITERATIONS = 20_000;
+    private static final String BOOK_JSON = """
+            {"id":1,"title":"Book 1","description":"%1$s","pageCount":100,"excerpt":"%1$s",\
+            "publishDate":"2024-01-01T00:00:00"}""".formatted("Lorem ipsum dolor sit amet. ".repeat(20));
+
+    @Test(description = "Feign logging overhead benchmark")
+    @Description("Compares the overhead per HTTP call of the synchronous logging of the bodies "
+            + "with the asynchronous logging and with the bodies logged at the disabled DEBUG level")
+    public void feignLoggingOverheadTest() {
+        var loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        var feignLogger = loggerContext.getLogger(CustomFeignLogger.class);
+        var level = feignLogger.getLevel();
+        var additive = feignLogger.isAdditive();
+
+        var results = new ArrayList<Benchmark.Result>();
+        try {
+            feignLogger.setAdditive(false);
+            // the first run compiles the Feign pipeline, its result is not representative
+            benchmark("JIT warm-up", feign.Logger.Level.NONE, feignLogger, Level.OFF, null);
+            results.add(benchmark("no logging", feign.Logger.Level.NONE, feignLogger, Level.OFF, null));
+            results.add(benchmark("sync appender, bodies logged (before)", feign.Logger.Level.BASIC, feignLogger,
+                    Level.DEBUG, fileAppender(loggerContext, "sync")));
+            results.add(benchmark("async appender, bodies logged", feign.Logger.Level.BASIC, feignLogger,
+                    Level.DEBUG, asyncAppender(loggerContext, fileAppender(loggerContext, "async"))));
+            results.add(benchmark("async appender, bodies at disabled DEBUG (after)", feign.Logger.Level.BASIC,
+                    feignLogger, Level.INFO, asyncAppender(loggerContext, fileAppender(loggerContext, "after"))));
+        } finally {
+            feignLogger.setLevel(level);
+            feignLogger.setAdditive(additive);
+        }
+
+        var table = Benchmark.format(results);
+        log.info("Feign logging overhead per call:{}{}", System.lineSeparator(), table);
+        Allure.addAttachment("Feign logging overhead", table);
+    }
+
+    private Benchmark.Result benchmark(String name, feign.Logger.Level feignLevel, Logger feignLogger, Level level,
+                                       Appender<ILoggingEvent> appender) {
+        feignLogger.setLevel(level);
+        if (appender != null) {
+            feignLogger.addAppender(appender);
+        }
+
+        var client = Feign.builder()
+                .client((request, options) -> Response.builder()
+                        .status(200)
+                        .reason("OK")
+                        .request(request)
+                        .headers(Map.of("Content-Type", List.of("application/json; charset=utf-8")))
+                        .body(BOOK_JSON, StandardCharsets.UTF_8)
+                        .build())
+                .logger(new CustomFeignLogger())
+                .logLevel(feignLevel)
+                .target(BenchmarkClient.class, "http://localhost");
+        try {
+            return Benchmark.run(name, WARM_UP_ITERATIONS, ITERATIONS, () -> client.createBook(BOOK_JSON));
+        } finally {
+            if (appender != null) {
+                feignLogger.detachAppender(appender);
+                appender.stop();
+            }
+        }
+    }
+
+    private Appender<ILoggingEvent> fileAppender(LoggerContext loggerContext, String name) {
+        var encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+
+        var appender = new FileAppender<ILoggingEvent>();
+        appender.setContext(loggerContext);
+        appender.setName(name);
+        appender.setFile(buildDirectory().resolve("benchmark").resolve("logging-" + name + ".log").toString());
+        appender.setAppend(false);
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+
+    private Appender<ILoggingEvent> asyncAppender(LoggerContext loggerContext, Appender<ILoggingEvent> delegate) {
+        var appender = new AsyncAppender() {
+
+            @Override
+            public void stop() {
+                super.stop();
+                delegate.stop();
+            }
+        };
+        appender.setContext(loggerContext);
+        appender.setName("async-" + delegate.getName());
+        appender.setQueueSize(8192);
+        // every event is written, so the asynchronous case measures the same logging as the synchronous one
+        appender.setDiscardingThreshold(0);
+        appender.setNeverBlock(false);
+        // the queue is flushed completely when the case is finished
+        appender.setMaxFlushTime(0);
+        appender.setIncludeCallerData(false);
+        appender.addAppender(delegate);
+        appender.start();
+        return appender;
+    }
+
+    /**
+     * Returns the build directory passed by surefire, or target/ of the working directory outside Maven
+     *
+     * @return the build directory
+     */
+    private Path buildDirectory() {
+        var buildDirectory = System.getProperty("build.directory");
+        return buildDirectory == null ? Path.of(System.getProperty("user.dir"), "target") : Path.of(buildDirectory);
+    }
+
+    interface BenchmarkClient {
+
+        @RequestLine("POST /api/v1/Books")
+        @Headers("Content-Type: application/json")
+        String createBook(String book);
+    }
+}
@@ -0,0 +1,167 @@
+package com.avenga;
+
+import com.avenga.api.dto.book.BookDto;
+import com.avenga.benchmark.Benchmark;
+import com.avenga.config.feign.CustomFeignLogger;
+import com.avenga.config.feign.streaming.ContentSource;
+import com.avenga.config.feign.streaming.LargePayload;
+import com.avenga.config.feign.streaming.StreamingCapability;
+import com.avenga.config.listener.TestNGExecutionListener;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.Headers;
+import feign.RequestLine;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+import feign.httpclient.ApacheHttpClient;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.avenga.constants.TestGroup.BENCHMARK;
+
+/**
+ * Measures the throughput and the client heap allocations of the buffered and the streamed request bodies
+ * of the growing size against a local HTTP server discarding them
+ */
+@Slf4j
+@Listeners(TestNGExecutionListener.class)
+@Test(groups = BENCHMARK, testName = "Payload Benchmark")
+public class PayloadBenchmarkTest {
+
+    private static final int[] PAYLOAD_SIZES = {1024, 64 * 1024, 1024 * 1024, 10 * 1024 * 1024, 50 * 1024 * 1024};
+    // the number of the iterations is chosen to send about this many bytes per benchmark
+    private static final long BYTES_PER_BENCHMARK = 256L * 1024 * 1024;
+    private static final double MEGABYTE = 1024 * 1024;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test(description = "Request payload size scaling benchmark")
+    @Description("Compares the throughput and the client heap allocations of the request bodies serialized into "
+            + "a byte array with the bodies streamed to the connection, from 1 KB to 50 MB")
+    public void payloadSizeScalingTest() throws IOException {
+        var server = sinkServer();
+        var measurements = new ArrayList<Measurement>();
+
+        try (var httpClient = HttpClients.custom().disableContentCompression().build()) {
+            var url = "http://127.0.0.1:" + server.getAddress().getPort();
+            var bufferedClient = client(httpClient, url, null);
+            // the threshold of 1 byte streams every DTO body
+            var streamingClient = client(httpClient, url, new StreamingCapability(httpClient, OBJECT_MAPPER, 1));
+
+            for (var size : PAYLOAD_SIZES) {
+                var excerpt = ContentSource.generated(size, size);
+                var bookDto = bookDto().excerpt(excerpt.asString()).build();
+                var payload = LargePayload.of(bookDto().build()).with("excerpt", excerpt);
+
+                var iterations = (int) Math.max(3, Math.min(1_000, BYTES_PER_BENCHMARK / size));
+                var warmUpIterations = Math.max(1, iterations / 5);
+
+                measurements.add(new Measurement(size, Benchmark.run("buffered DTO (before)", warmUpIterations,
+                        iterations, () -> bufferedClient.createBook(bookDto))));
+                measurements.add(new Measurement(size, Benchmark.run("streamed DTO", warmUpIterations,
+                        iterations, () -> streamingClient.createBook(bookDto))));
+                measurements.add(new Measurement(size, Benchmark.run("streamed generated content",
+                        warmUpIterations, iterations, () -> streamingClient.createBook(payload))));
+            }
+        } finally {
+            server.stop(0);
+        }
+
+        var table = format(measurements);
+        log.info("Request payload size scaling:{}{}", System.lineSeparator(), table);
+        Allure.addAttachment("Request payload size scaling", table);
+    }
+
+    private BenchmarkClient client(CloseableHttpClient httpClient, String url, StreamingCapability streaming) {
+        var builder = Feign.builder()
+                .client(new ApacheHttpClient(httpClient))
+                .encoder(jsonEncoder())
+                .logger(new CustomFeignLogger())
+                .logLevel(feign.Logger.Level.BASIC);
+
+        if (streaming != null) {
+            builder.addCapability(streaming);
+        }
+        return builder.target(BenchmarkClient.class, url);
+    }
+
+    /**
+     * The encoder serializing the body into a byte array like the Spring one
+     *
+     * @return an {@link Encoder}
+     */
+    private Encoder jsonEncoder() {
+        return (object, bodyType, template) -> {
+            try {
+                template.body(OBJECT_MAPPER.writeValueAsBytes(object), StandardCharsets.UTF_8);
+            } catch (JsonProcessingException e) {
+                throw new EncodeException("Failed to serialize the body", e);
+            }
+        };
+    }
+
+    private BookDto.BookDtoBuilder bookDto() {
+        return BookDto.builder()
+                .id(1)
+                .title("Book 1")
+                .description("Description 1")
+                .pageCount(100)
+                .publishDate("2024-01-01T00:00:00");
+    }
+
+    private HttpServer sinkServer() throws IOException {
+        var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+
+        server.createContext("/", exchange -> {
+            try {
+                exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+                exchange.sendResponseHeaders(200, -1);
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private String format(List<Measurement> measurements) {
+        var table = new StringBuilder("%-30s %10s %12s %12s %16s%n".formatted("benchmark", "payload", "ms/op", "MB/s",
+                "allocated MB/op"));
+
+        measurements.forEach(measurement -> {
+            var result = measurement.result();
+            table.append("%-30s %10s %12.2f %12.1f %16.2f%n".formatted(result.name(), size(measurement.size()),
+                    result.nanosPerOp() / 1_000_000, measurement.size() / MEGABYTE / (result.nanosPerOp() / 1e9),
+                    result.bytesPerOp() / MEGABYTE));
+        });
+        return table.toString();
+    }
+
+    private String size(int bytes) {
+        return bytes < MEGABYTE ? bytes / 1024 + " KB" : (int) (bytes / MEGABYTE) + " MB";
+    }
+
+    private record Measurement(int size, Benchmark.Result result) {
+    }
+
+    interface BenchmarkClient {
+
+        @RequestLine("POST /api/v1/Books")
+        @Headers("Content-Type: application/json")
+        void createBook(Object book);
+    }
+}
@@ -0,0 +1,30 @@
+package com.avenga;
+
+import com.avenga.load.SoakRun;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.testng.annotations.Test;
+
+import static com.avenga.constants.TestGroup.SOAK;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Test(groups = SOAK, testName = "Soak Test")
+public class SoakTest extends BaseTest {
+
+    @Autowired
+    private SoakRun soakRun;
+
+    @Test(description = "Soak Test")
+    @Description("Runs the operation mix for a long time and verifies that neither the latency drifts "
+            + "past the baseline nor the client leaks heap, threads or connections")
+    public void soakTest() {
+        var report = soakRun.run();
+
+        Allure.addAttachment("Soak report", report.format());
+
+        assertThat(report.alerts())
+                .as("The soak raised alerts")
+                .isEmpty();
+    }
+}
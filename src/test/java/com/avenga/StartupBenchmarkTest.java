@@ -0,0 +1,171 @@
+package com.avenga;
+
+import com.avenga.benchmark.StartupProbe;
+import com.avenga.config.listener.TestNGExecutionListener;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.avenga.constants.TestGroup.BENCHMARK;
+
+/**
+ * Compares the time from the JVM start to the first response of the Spring application context
+ * and of the Spring-free {@link com.avenga.config.standalone.StandaloneContext} against a local HTTP server
+ */
+@Slf4j
+@Listeners(TestNGExecutionListener.class)
+@Test(groups = BENCHMARK, testName = "Startup Benchmark")
+public class StartupBenchmarkTest {
+
+    private static final List<String> MODES = List.of("spring", "standalone");
+    private static final int RUNS = 5;
+    private static final long PROBE_TIMEOUT_SECONDS = 120;
+
+    @Test(description = "Startup time benchmark")
+    @Description("Starts the services in fresh JVMs with the Spring context and with the standalone bootstrap "
+            + "and compares the time until the first book is read")
+    public void startupTimeTest() throws Exception {
+        var server = stubServer();
+        var results = new LinkedHashMap<String, List<long[]>>();
+
+        try {
+            var url = "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1";
+            // the first JVM of each mode is not measured, it warms up the OS file cache
+            for (var mode : MODES) {
+                probe(mode, url);
+            }
+            for (var run = 0; run < RUNS; run++) {
+                for (var mode : MODES) {
+                    results.computeIfAbsent(mode, m -> new ArrayList<>()).add(probe(mode, url));
+                }
+            }
+        } finally {
+            server.stop(0);
+        }
+
+        var table = format(results);
+        log.info("Startup time:{}{}", System.lineSeparator(), table);
+        Allure.addAttachment("Startup time", table);
+    }
+
+    /**
+     * Runs the {@link StartupProbe} in a fresh JVM with the classpath and the agents of this one
+     *
+     * @param mode the startup mode
+     * @param url the base URL of the stub server
+     * @return the bootstrap and the uptime milliseconds
+     */
+    private long[] probe(String mode, String url) throws IOException, InterruptedException {
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .filter(argument -> argument.startsWith("-javaagent:") || argument.startsWith("--enable-preview"))
+                .forEach(command::add);
+        var buildDirectory = buildDirectory();
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"),
+                "-Dbuild.directory=" + buildDirectory,
+                "-Dlog.file=" + buildDirectory.resolve("startup-probe-" + mode + ".log"),
+                "-Dapp.url=" + url,
+                "-Dapp.cleanup.journal.enabled=false",
+                "-Dapp.fixtures.shared=0",
+                "-Dapp.fixtures.exclusive=0",
+                "-Dapp.feign.baseline.enabled=false",
+                StartupProbe.class.getName(), mode));
+
+        var process = new ProcessBuilder(command)
+                .directory(new File(System.getProperty("user.dir")))
+                .redirectErrorStream(true)
+                .start();
+        String result = null;
+        try (var output = new BufferedReader(new InputStreamReader(process.getInputStream(),
+                StandardCharsets.UTF_8))) {
+            for (var line = output.readLine(); line != null; line = output.readLine()) {
+                if (line.startsWith(StartupProbe.RESULT_PREFIX)) {
+                    result = line.substring(StartupProbe.RESULT_PREFIX.length());
+                }
+            }
+        }
+
+        if (!process.waitFor(PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+        if (result == null) {
+            throw new IllegalStateException("The " + mode + " startup probe exited with " + process.exitValue()
+                    + " without a result");
+        }
+
+        var values = new LinkedHashMap<String, Long>();
+        for (var pair : result.split(" ")) {
+            var separator = pair.indexOf('=');
+            values.put(pair.substring(0, separator), Long.parseLong(pair.substring(separator + 1)));
+        }
+        return new long[]{values.get("bootstrap_ms"), values.get("uptime_ms")};
+    }
+
+    /**
+     * Returns the build directory passed by surefire, or target/ of the working directory outside Maven
+     *
+     * @return the directory the probe JVMs write their logs to
+     */
+    private Path buildDirectory() {
+        var buildDirectory = System.getProperty("build.directory");
+        return buildDirectory == null ? Path.of(System.getProperty("user.dir"), "target") : Path.of(buildDirectory);
+    }
+
+    /**
+     * Serves the books and the authors the services read when they are created
+     *
+     * @return the started {@link HttpServer}
+     */
+    private HttpServer stubServer() throws IOException {
+        var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+
+        server.createContext("/api/v1/Books", exchange -> respond(exchange,
+                exchange.getRequestURI().getPath().endsWith("/Books") ? "[{\"id\":1,\"title\":\"Book 1\"}]"
+                        : "{\"id\":1,\"title\":\"Book 1\"}"));
+        server.createContext("/api/v1/Authors", exchange -> respond(exchange, "[{\"id\":1,\"idBook\":1}]"));
+        server.start();
+        return server;
+    }
+
+    private void respond(HttpExchange exchange, String json) throws IOException {
+        try (exchange) {
+            var body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    private String format(Map<String, List<long[]>> results) {
+        var table = new StringBuilder("%-12s %18s %18s %16s %16s%n".formatted("mode", "bootstrap p50 ms",
+                "bootstrap min ms", "uptime p50 ms", "uptime min ms"));
+
+        results.forEach((mode, runs) -> {
+            var bootstrap = runs.stream().mapToLong(run -> run[0]).sorted().toArray();
+            var uptime = runs.stream().mapToLong(run -> run[1]).sorted().toArray();
+            table.append("%-12s %18d %18d %16d %16d%n".formatted(mode, bootstrap[bootstrap.length / 2],
+                    bootstrap[0], uptime[uptime.length / 2], uptime[0]));
+        });
+        return table.toString();
+    }
+}
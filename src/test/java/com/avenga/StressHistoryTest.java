@@ -0,0 +1,185 @@
+package com.avenga;
+
+import com.avenga.api.client.BookClient;
+import com.avenga.api.dto.book.BookDto;
+import com.avenga.config.feign.coalescing.CoalescingCapability;
+import com.avenga.config.feign.coalescing.RequestCoalescer;
+import com.avenga.config.listener.TestNGExecutionListener;
+import com.avenga.config.standalone.JsonCodec;
+import com.avenga.load.HistoryChecker;
+import com.avenga.load.HistoryEvent;
+import com.avenga.load.HistoryEvent.Kind;
+import com.avenga.load.HistoryEvent.Outcome;
+import com.avenga.load.LoadWorkers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Client;
+import feign.Feign;
+import feign.Request;
+import feign.Response;
+import feign.Retryer;
+import io.qameta.allure.Description;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.avenga.constants.TestGroup.ALL;
+import static com.avenga.constants.TestGroup.STRESS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that a write followed by a read of the same book on one thread is never reported by
+ * the {@link HistoryChecker}, even when the coalescing is enabled and a read of another thread sent before
+ * the write is still in flight. The book client runs against an in-memory transport
+ */
+@Listeners(TestNGExecutionListener.class)
+@Test(groups = {ALL, STRESS}, testName = "Stress History Test")
+public class StressHistoryTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String KEY = "Book#1";
+
+    private final AtomicReference<String> title = new AtomicReference<>();
+    private final AtomicBoolean holdNextRead = new AtomicBoolean();
+    private CountDownLatch heldReadSent;
+    private CountDownLatch releaseHeldRead;
+
+    private BookClient bookClient;
+    private ExecutorService executor;
+
+    @BeforeMethod
+    public void createClient() {
+        title.set("initial");
+        heldReadSent = new CountDownLatch(1);
+        releaseHeldRead = new CountDownLatch(1);
+
+        var codec = new JsonCodec(OBJECT_MAPPER);
+        bookClient = Feign.builder()
+                .client(transport())
+                .contract(new SpringMvcContract())
+                .encoder(codec)
+                .decoder(codec)
+                .retryer(Retryer.NEVER_RETRY)
+                .addCapability(new CoalescingCapability(new RequestCoalescer(OBJECT_MAPPER), Set.of("BookClient#getBook")))
+                .target(BookClient.class, "http://stub/api/v1");
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void releaseReads() {
+        releaseHeldRead.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test(description = "Write then read on a load worker Test")
+    @Description("A load worker updates the book and reads it while a read of the old title is in flight, "
+            + "the history has no anomalies")
+    public void writeThenReadOnLoadWorkerTest() throws Exception {
+        var worker = Executors.newSingleThreadExecutor(new LoadWorkers());
+        try {
+            verifyWriteThenRead(worker);
+        } finally {
+            worker.shutdownNow();
+        }
+    }
+
+    @Test(description = "Write then read on a test thread Test")
+    @Description("A test thread updates the book and reads it while a read of the old title is in flight, "
+            + "the history has no anomalies")
+    public void writeThenReadOnTestThreadTest() throws Exception {
+        verifyWriteThenRead(executor);
+    }
+
+    private void verifyWriteThenRead(ExecutorService writer) throws Exception {
+        var events = new ArrayList<HistoryEvent>();
+
+        holdNextRead.set(true);
+        var heldRead = executor.submit(() -> bookClient.getBook(1));
+        assertThat(heldReadSent.await(5, TimeUnit.SECONDS))
+                .as("The read of the old title was not sent")
+                .isTrue();
+
+        writer.submit(() -> {
+            var start = System.nanoTime();
+            bookClient.updateBook(1, BookDto.builder().id(1).title("written").build());
+            events.add(event(Kind.WRITE, "written", start));
+
+            start = System.nanoTime();
+            var observed = bookClient.getBook(1).getTitle();
+            events.add(event(Kind.READ, observed, start));
+        }).get(5, TimeUnit.SECONDS);
+
+        releaseHeldRead.countDown();
+        assertThat(heldRead.get(5, TimeUnit.SECONDS).getTitle())
+                .as("The held read should observe the title before the write")
+                .isEqualTo("initial");
+
+        var history = new ArrayList<HistoryEvent>();
+        history.add(event(Kind.WRITE, "initial", Long.MIN_VALUE + 1, Long.MIN_VALUE + 2));
+        history.addAll(events);
+        assertThat(HistoryChecker.check(history))
+                .as("The write followed by the read is reported")
+                .isEmpty();
+    }
+
+    private HistoryEvent event(Kind kind, String value, long start) {
+        return event(kind, value, start, System.nanoTime());
+    }
+
+    private HistoryEvent event(Kind kind, String value, long start, long end) {
+        return new HistoryEvent(KEY, kind, value, start, end, Outcome.OK, false, Thread.currentThread().getName());
+    }
+
+    /**
+     * Serves a single book, the first read after {@link #holdNextRead} is set takes the current title
+     * and waits for {@link #releaseHeldRead} before responding
+     *
+     * @return the in-memory {@link Client}
+     */
+    private Client transport() {
+        return (request, options) -> {
+            if (request.httpMethod() == Request.HttpMethod.PUT) {
+                title.set(OBJECT_MAPPER.readValue(request.body(), BookDto.class).getTitle());
+                return response(request, request.body());
+            }
+
+            var observed = title.get();
+            if (holdNextRead.compareAndSet(true, false)) {
+                heldReadSent.countDown();
+                await(releaseHeldRead);
+            }
+            return response(request, OBJECT_MAPPER.writeValueAsBytes(BookDto.builder().id(1).title(observed).build()));
+        };
+    }
+
+    private Response response(Request request, byte[] body) {
+        return Response.builder()
+                .request(request)
+                .status(200)
+                .headers(Map.of("Content-Type", List.of("application/json")))
+                .body(body)
+                .build();
+    }
+
+    private void await(CountDownLatch latch) throws IOException {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while holding the read", e);
+        }
+    }
+}
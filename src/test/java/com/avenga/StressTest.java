@@ -0,0 +1,36 @@
+package com.avenga;
+
+import com.avenga.load.LoadProperties;
+import com.avenga.load.StressRun;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.testng.annotations.Test;
+
+import static com.avenga.constants.TestGroup.STRESS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Test(groups = STRESS, testName = "Stress Test")
+public class StressTest extends BaseTest {
+
+    @Autowired
+    private StressRun stressRun;
+
+    @Autowired
+    private LoadProperties loadProperties;
+
+    @Test(description = "Stress Test")
+    @Description("Runs the concurrent updates, reads and deletes of the shared books and authors and verifies "
+            + "that the history has no lost updates, stale reads or resurrected deletes")
+    public void stressTest() {
+        var report = stressRun.run();
+
+        Allure.addAttachment("Stress report", report.format());
+
+        if (loadProperties.getStress().isFailOnAnomalies()) {
+            assertThat(report.anomalies())
+                    .as("The stress found anomalies")
+                    .isEmpty();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.avenga.assertion;
+
+import com.avenga.api.dto.author.AuthorDto;
+import com.avenga.api.dto.book.BookDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * <p>Compares DTOs field by field using the plain getters (no reflection)
+ * and describes the fields that differ</p>
+ *
+ * @param <T> type of the DTO
+ */
+public final class DtoComparator<T> {
+
+    public static final DtoComparator<BookDto> BOOK = new DtoComparator<>(List.of(
+            new Field<>("id", BookDto::getId),
+            new Field<>("title", BookDto::getTitle),
+            new Field<>("description", BookDto::getDescription),
+            new Field<>("pageCount", BookDto::getPageCount),
+            new Field<>("excerpt", BookDto::getExcerpt),
+            new Field<>("publishDate", BookDto::getPublishDate)));
+
+    public static final DtoComparator<AuthorDto> AUTHOR = new DtoComparator<>(List.of(
+            new Field<>("id", AuthorDto::getId),
+            new Field<>("bookId", AuthorDto::getBookId),
+            new Field<>("firstName", AuthorDto::getFirstName),
+            new Field<>("lastName", AuthorDto::getLastName)));
+
+    private final List<Field<T>> fields;
+
+    private DtoComparator(List<Field<T>> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Returns the description of the fields that differ
+     *
+     * @param expected the expected DTO
+     * @param actual the actual DTO
+     * @return list of the differences, empty if the DTOs are equal
+     */
+    public List<String> differences(T expected, T actual) {
+        var differences = new ArrayList<String>();
+
+        fields.forEach(field -> {
+            var expectedValue = field.getter().apply(expected);
+            var actualValue = field.getter().apply(actual);
+
+            if (!Objects.equals(expectedValue, actualValue)) {
+                differences.add("%s: expected <%s> but was <%s>".formatted(field.name(), expectedValue, actualValue));
+            }
+        });
+        return differences;
+    }
+
+    private record Field<T>(String name, Function<T, Object> getter) {
+    }
+}
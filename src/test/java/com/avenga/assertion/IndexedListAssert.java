@@ -0,0 +1,75 @@
+package com.avenga.assertion;
+
+import com.avenga.api.dto.author.AuthorDto;
+import com.avenga.api.dto.book.BookDto;
+import org.assertj.core.api.AbstractAssert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * <p>Assertions for the large lists of DTOs</p>
+ * <p>Instead of comparing every expected element against the whole list, the actual list is indexed by id
+ * once and every expected element is looked up and compared field by field with a {@link DtoComparator}.
+ * The verification time is linear in the list size</p>
+ *
+ * @param <T> type of the list elements
+ */
+public class IndexedListAssert<T> extends AbstractAssert<IndexedListAssert<T>, List<T>> {
+
+    private final Function<T, Integer> idGetter;
+    private final DtoComparator<T> comparator;
+
+    private IndexedListAssert(List<T> actual, Function<T, Integer> idGetter, DtoComparator<T> comparator) {
+        super(actual, IndexedListAssert.class);
+        this.idGetter = idGetter;
+        this.comparator = comparator;
+    }
+
+    public static IndexedListAssert<BookDto> assertThatBooks(List<BookDto> actual) {
+        return new IndexedListAssert<>(actual, BookDto::getId, DtoComparator.BOOK);
+    }
+
+    public static IndexedListAssert<AuthorDto> assertThatAuthors(List<AuthorDto> actual) {
+        return new IndexedListAssert<>(actual, AuthorDto::getId, DtoComparator.AUTHOR);
+    }
+
+    /**
+     * Verifies that the actual list contains the elements with the same ids and equal fields
+     *
+     * @param expected the expected elements
+     * @return this assertion object
+     */
+    @SafeVarargs
+    public final IndexedListAssert<T> containsById(T... expected) {
+        isNotNull();
+
+        var index = new IntIndex<T>(actual.size());
+        actual.forEach(item -> {
+            var id = idGetter.apply(item);
+            if (id != null) {
+                index.putIfAbsent(id, item);
+            }
+        });
+
+        var errors = new ArrayList<String>();
+        for (var expectedItem : expected) {
+            var id = idGetter.apply(expectedItem);
+            var actualItem = id == null ? null : index.get(id);
+
+            if (actualItem == null) {
+                errors.add("  %s%n    was not found by id %s".formatted(expectedItem, id));
+            } else if (!expectedItem.equals(actualItem)) {
+                errors.add("  %s%n    differs from the actual item with the same id:%n      %s".formatted(expectedItem,
+                        String.join("%n      ".formatted(), comparator.differences(expectedItem, actualItem))));
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            failWithMessage("%nExpecting the list of %s items to contain:%n%s", actual.size(),
+                    String.join("%n".formatted(), errors));
+        }
+        return myself;
+    }
+}
@@ -0,0 +1,73 @@
+package com.avenga.assertion;
+
+/**
+ * <p>A minimal open addressing hash map with primitive int keys</p>
+ * <p>Used for indexing large lists by id without boxing the keys. The first value put for a key is kept</p>
+ *
+ * @param <T> type of the values
+ */
+class IntIndex<T> {
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    IntIndex(int expectedSize) {
+        var capacity = Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    void putIfAbsent(int key, T value) {
+        if (size * 2 >= keys.length) {
+            resize();
+        }
+
+        var slot = slot(key);
+        if (values[slot] == null) {
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(int key) {
+        return (T) values[slot(key)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slot(int key) {
+        var slot = mix(key) & mask;
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        var oldKeys = keys;
+        var oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new Object[oldValues.length * 2];
+        mask = keys.length - 1;
+
+        for (var i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                var slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        var hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
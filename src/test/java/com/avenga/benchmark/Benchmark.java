@@ -0,0 +1,104 @@
+package com.avenga.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>A minimal micro-benchmark runner for the harness internals</p>
+ * <p>The action is run for the warm-up iterations first, then the time and the bytes allocated per iteration
+ * are measured. The action runs on a fresh thread that does not inherit the inheritable thread locals,
+ * so it is not attributed to the running Allure test (no steps or attachments are recorded)</p>
+ */
+public final class Benchmark {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Benchmark() {
+    }
+
+    /**
+     * Runs the benchmark
+     *
+     * @param name the name of the benchmark
+     * @param warmUpIterations number of the unmeasured iterations
+     * @param iterations number of the measured iterations
+     * @param action the benchmarked action
+     * @return the {@link Result}
+     */
+    public static Result run(String name, int warmUpIterations, int iterations, Action action) {
+        var result = new AtomicReference<Result>();
+        var failure = new AtomicReference<Exception>();
+
+        var thread = new Thread(null, () -> {
+            try {
+                for (var i = 0; i < warmUpIterations; i++) {
+                    action.run();
+                }
+
+                var allocatedBefore = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+                var start = System.nanoTime();
+                for (var i = 0; i < iterations; i++) {
+                    action.run();
+                }
+                var elapsed = System.nanoTime() - start;
+                var allocated = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+                result.set(new Result(name, iterations, (double) elapsed / iterations,
+                        (double) allocated / iterations));
+            } catch (Exception e) {
+                failure.set(e);
+            }
+        }, "benchmark", 0, false);
+
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The benchmark " + name + " was interrupted", e);
+        }
+
+        if (failure.get() != null) {
+            throw new IllegalStateException("The benchmark " + name + " failed", failure.get());
+        }
+        return result.get();
+    }
+
+    /**
+     * Formats the results as a text table, the overhead is relative to the first result
+     *
+     * @param results the results, the baseline first
+     * @return the table text
+     */
+    public static String format(List<Result> results) {
+        var baseline = results.get(0);
+        var table = new StringBuilder("%-50s %12s %12s %12s%n".formatted("benchmark", "ns/op", "overhead ns",
+                "bytes/op"));
+
+        results.forEach(result -> table.append("%-50s %12.0f %12.0f %12.0f%n".formatted(result.name(),
+                result.nanosPerOp(), result.nanosPerOp() - baseline.nanosPerOp(), result.bytesPerOp())));
+        return table.toString();
+    }
+
+    /**
+     * The benchmarked action
+     */
+    @FunctionalInterface
+    public interface Action {
+
+        void run() throws Exception;
+    }
+
+    /**
+     * The measurements of a benchmark
+     *
+     * @param name the name of the benchmark
+     * @param iterations number of the measured iterations
+     * @param nanosPerOp average time of an iteration in nanoseconds
+     * @param bytesPerOp average bytes allocated by an iteration
+     */
+    public record Result(String name, int iterations, double nanosPerOp, double bytesPerOp) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.avenga.benchmark;
+
+import com.avenga.OnlineBookstoreTestApp;
+import com.avenga.api.service.BookService;
+import com.avenga.config.standalone.StandaloneContext;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * <p>Starts the services in a fresh JVM and prints the time until the first book is read</p>
+ * <p>The {@code spring} mode boots the Spring application context, the {@code standalone} mode builds the
+ * {@link StandaloneContext}. The result line is {@code STARTUP bootstrap_ms=<from main> uptime_ms=<from the JVM
+ * start>}</p>
+ */
+public final class StartupProbe {
+
+    public static final String RESULT_PREFIX = "STARTUP ";
+
+    private StartupProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var start = System.nanoTime();
+
+        switch (args[0]) {
+            case "spring" -> {
+                try (var context = new SpringApplicationBuilder(OnlineBookstoreTestApp.class)
+                        .web(WebApplicationType.NONE)
+                        .logStartupInfo(false)
+                        .run()) {
+                    context.getBean(BookService.class).getBook(1);
+                    print(start);
+                }
+            }
+            case "standalone" -> {
+                try (var context = StandaloneContext.start()) {
+                    context.getBookService().getBook(1);
+                    print(start);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown startup mode: " + args[0]);
+        }
+    }
+
+    private static void print(long start) {
+        System.out.println(RESULT_PREFIX + "bootstrap_ms=" + (System.nanoTime() - start) / 1_000_000
+                + " uptime_ms=" + ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+}
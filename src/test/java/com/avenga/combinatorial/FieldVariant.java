@@ -0,0 +1,36 @@
+package com.avenga.combinatorial;
+
+/**
+ * A variant of a field of a generated request body
+ *
+ * @param name the name shown in the case description
+ * @param kind the kind of the variant
+ * @param value the JSON value of an invalid variant
+ */
+public record FieldVariant(String name, Kind kind, Object value) {
+
+    public static final FieldVariant VALID = new FieldVariant("valid", Kind.VALID, null);
+    public static final FieldVariant MISSING = new FieldVariant("missing", Kind.MISSING, null);
+
+    public static FieldVariant invalid(String name, Object value) {
+        return new FieldVariant(name, Kind.INVALID, value);
+    }
+
+    public enum Kind {
+
+        /**
+         * The random valid value of the prepared DTO is kept
+         */
+        VALID,
+
+        /**
+         * The field is left out of the body
+         */
+        MISSING,
+
+        /**
+         * The field is replaced with a value of a wrong type or format
+         */
+        INVALID
+    }
+}
@@ -0,0 +1,60 @@
+package com.avenga.combinatorial;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A generated combination of the field variants of a request body that the API is expected to reject
+ *
+ * @param variants the variant of every field
+ * @param expectedStatus the expected error status
+ * @param expectedMessage the expected part of the error message
+ * @param <F> the field enum
+ */
+public record NegativeCase<F extends Enum<F>>(Map<F, FieldVariant> variants, HttpStatus expectedStatus,
+                                              String expectedMessage) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<LinkedHashMap<String, Object>> JSON_FIELDS = new TypeReference<>() {
+    };
+
+    /**
+     * Builds the request body: the fields of the valid DTO are removed or replaced according to the variants
+     *
+     * @param dto the DTO with the random valid values of all the fields
+     * @param jsonName the JSON name of a field
+     * @return the JSON fields of the body by their names
+     */
+    public Map<String, Object> apply(Object dto, Function<F, String> jsonName) {
+        var body = OBJECT_MAPPER.convertValue(dto, JSON_FIELDS);
+
+        variants.forEach((field, variant) -> {
+            switch (variant.kind()) {
+                case VALID -> {
+                }
+                case MISSING -> body.remove(jsonName.apply(field));
+                case INVALID -> body.put(jsonName.apply(field), variant.value());
+            }
+        });
+        return body;
+    }
+
+    /**
+     * Describes the fields that are not valid, the description is the name of the test case
+     *
+     * @return e.g. {@code ID=missing, PAGE_COUNT=string}
+     */
+    @Override
+    public String toString() {
+        return variants.entrySet().stream()
+                .filter(entry -> entry.getValue().kind() != FieldVariant.Kind.VALID)
+                .map(entry -> entry.getKey() + "=" + entry.getValue().name())
+                .collect(Collectors.joining(", "));
+    }
+}
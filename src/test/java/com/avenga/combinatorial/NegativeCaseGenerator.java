@@ -0,0 +1,185 @@
+package com.avenga.combinatorial;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * <p>Generates the negative test cases from the variants of the fields of a request body</p>
+ * <p>The variant combinations are enumerated either fully or pairwise. The pairwise combinations are built
+ * greedily: a case starts from an uncovered pair of the variants and every other field takes the variant
+ * covering the most of the remaining pairs. The cases the API should accept (every field valid or
+ * an optional field missing) are left out. The generation is deterministic</p>
+ *
+ * @param <F> the field enum
+ */
+public class NegativeCaseGenerator<F extends Enum<F>> {
+
+    /**
+     * The error message of a body without a required field
+     */
+    public static final String MISSING_FIELD_MESSAGE = "Invalid data";
+
+    /**
+     * The error message of a body that cannot be bound to the model (a value of a wrong type or format)
+     */
+    public static final String INVALID_VALUE_MESSAGE = "One or more validation errors occurred";
+
+    private final List<F> fields;
+    private final List<List<FieldVariant>> variants = new ArrayList<>();
+    private final Set<F> requiredFields;
+
+    /**
+     * Creates the generator
+     *
+     * @param variants the variants of every field, the fields without variants are always valid
+     * @param requiredFields the fields the API rejects a body without
+     */
+    public NegativeCaseGenerator(Map<F, List<FieldVariant>> variants, Set<F> requiredFields) {
+        this.fields = List.copyOf(variants.keySet());
+        this.fields.forEach(field -> this.variants.add(List.copyOf(variants.get(field))));
+        this.requiredFields = requiredFields;
+    }
+
+    /**
+     * Generates the negative cases
+     *
+     * @param strength the coverage of the combinations
+     * @return the cases in the generation order
+     */
+    public List<NegativeCase<F>> generate(Strength strength) {
+        var rows = strength == Strength.FULL ? allCombinations() : pairwiseCombinations();
+
+        return rows.stream()
+                .map(this::toCase)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Generates the negative cases with a request body for every case, as the data provider parameters.
+     * The bodies are prepared here in the case order rather than by the parallel tests, so that every run gives
+     * a case the same id (e.g. when the cassette is replayed)
+     *
+     * @param strength the coverage of the combinations
+     * @param body prepares a valid request body the case is applied to
+     * @return the case and the body pairs in the generation order
+     */
+    public Iterator<Object[]> generate(Strength strength, Supplier<?> body) {
+        return generate(strength).stream()
+                .map(negativeCase -> new Object[] {negativeCase, body.get()})
+                .toList()
+                .iterator();
+    }
+
+    private List<int[]> allCombinations() {
+        var rows = new ArrayList<int[]>();
+        var row = new int[fields.size()];
+
+        while (true) {
+            rows.add(row.clone());
+
+            var field = fields.size() - 1;
+            while (field >= 0 && ++row[field] == variants.get(field).size()) {
+                row[field--] = 0;
+            }
+            if (field < 0) {
+                return rows;
+            }
+        }
+    }
+
+    private List<int[]> pairwiseCombinations() {
+        var uncovered = new LinkedHashSet<Pair>();
+        for (var first = 0; first < fields.size(); first++) {
+            for (var second = first + 1; second < fields.size(); second++) {
+                for (var firstVariant = 0; firstVariant < variants.get(first).size(); firstVariant++) {
+                    for (var secondVariant = 0; secondVariant < variants.get(second).size(); secondVariant++) {
+                        uncovered.add(new Pair(first, firstVariant, second, secondVariant));
+                    }
+                }
+            }
+        }
+
+        var rows = new ArrayList<int[]>();
+        while (!uncovered.isEmpty()) {
+            var seed = uncovered.iterator().next();
+            var row = new int[fields.size()];
+            var assigned = new boolean[fields.size()];
+
+            row[seed.first()] = seed.firstVariant();
+            row[seed.second()] = seed.secondVariant();
+            assigned[seed.first()] = true;
+            assigned[seed.second()] = true;
+
+            for (var field = 0; field < fields.size(); field++) {
+                if (!assigned[field]) {
+                    row[field] = bestVariant(field, row, assigned, uncovered);
+                    assigned[field] = true;
+                }
+            }
+
+            for (var first = 0; first < fields.size(); first++) {
+                for (var second = first + 1; second < fields.size(); second++) {
+                    uncovered.remove(new Pair(first, row[first], second, row[second]));
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private int bestVariant(int field, int[] row, boolean[] assigned, Set<Pair> uncovered) {
+        var bestVariant = 0;
+        var bestCovered = -1;
+
+        for (var variant = 0; variant < variants.get(field).size(); variant++) {
+            var covered = 0;
+            for (var other = 0; other < fields.size(); other++) {
+                if (assigned[other] && other != field && uncovered.contains(other < field
+                        ? new Pair(other, row[other], field, variant)
+                        : new Pair(field, variant, other, row[other]))) {
+                    covered++;
+                }
+            }
+            if (covered > bestCovered) {
+                bestVariant = variant;
+                bestCovered = covered;
+            }
+        }
+        return bestVariant;
+    }
+
+    private NegativeCase<F> toCase(int[] row) {
+        var caseVariants = new EnumMap<F, FieldVariant>(fields.get(0).getDeclaringClass());
+        var invalid = false;
+        var missingRequired = false;
+
+        for (var field = 0; field < fields.size(); field++) {
+            var variant = variants.get(field).get(row[field]);
+            caseVariants.put(fields.get(field), variant);
+
+            invalid |= variant.kind() == FieldVariant.Kind.INVALID;
+            missingRequired |= variant.kind() == FieldVariant.Kind.MISSING
+                    && requiredFields.contains(fields.get(field));
+        }
+
+        if (invalid) {
+            return new NegativeCase<>(caseVariants, HttpStatus.BAD_REQUEST, INVALID_VALUE_MESSAGE);
+        }
+        return missingRequired
+                ? new NegativeCase<>(caseVariants, HttpStatus.BAD_REQUEST, MISSING_FIELD_MESSAGE)
+                : null;
+    }
+
+    private record Pair(int first, int firstVariant, int second, int secondVariant) {
+    }
+}
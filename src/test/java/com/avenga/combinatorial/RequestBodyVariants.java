@@ -0,0 +1,44 @@
+package com.avenga.combinatorial;
+
+import com.avenga.api.dto.author.AuthorField;
+import com.avenga.api.dto.book.BookField;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.avenga.combinatorial.FieldVariant.MISSING;
+import static com.avenga.combinatorial.FieldVariant.VALID;
+import static com.avenga.combinatorial.FieldVariant.invalid;
+
+/**
+ * The variants of the fields of the request bodies of the create operations and the negative case generators
+ * over them
+ */
+public final class RequestBodyVariants {
+
+    private static final FieldVariant STRING_NUMBER = invalid("string", "abc");
+    private static final FieldVariant INT_OVERFLOW = invalid("int overflow", 1L + Integer.MAX_VALUE);
+    private static final FieldVariant ARRAY_TEXT = invalid("array", List.of("text"));
+
+    public static final NegativeCaseGenerator<BookField> BOOK = new NegativeCaseGenerator<>(new EnumMap<>(Map.of(
+            BookField.ID, List.of(VALID, MISSING, STRING_NUMBER, INT_OVERFLOW),
+            BookField.TITLE, List.of(VALID, MISSING, ARRAY_TEXT),
+            BookField.DESCRIPTION, List.of(VALID, MISSING, ARRAY_TEXT),
+            BookField.EXCERPT, List.of(VALID, MISSING, ARRAY_TEXT),
+            BookField.PAGE_COUNT, List.of(VALID, MISSING, STRING_NUMBER, INT_OVERFLOW),
+            BookField.PUBLISH_DATE, List.of(VALID, MISSING, invalid("malformed date", "not a date"),
+                    invalid("number", 20240101)))),
+            Set.of(BookField.ID, BookField.PAGE_COUNT, BookField.PUBLISH_DATE));
+
+    public static final NegativeCaseGenerator<AuthorField> AUTHOR = new NegativeCaseGenerator<>(new EnumMap<>(Map.of(
+            AuthorField.ID, List.of(VALID, MISSING, STRING_NUMBER, INT_OVERFLOW),
+            AuthorField.BOOK_ID, List.of(VALID, MISSING, STRING_NUMBER, INT_OVERFLOW),
+            AuthorField.FIRST_NAME, List.of(VALID, MISSING, ARRAY_TEXT),
+            AuthorField.LAST_NAME, List.of(VALID, MISSING, ARRAY_TEXT))),
+            Set.of(AuthorField.ID, AuthorField.BOOK_ID));
+
+    private RequestBodyVariants() {
+    }
+}
@@ -0,0 +1,17 @@
+package com.avenga.combinatorial;
+
+/**
+ * The coverage of the field variant combinations generated by the {@link NegativeCaseGenerator}
+ */
+public enum Strength {
+
+    /**
+     * Every pair of the variants of any two fields occurs in at least one case
+     */
+    PAIRWISE,
+
+    /**
+     * Every combination of the variants of all the fields
+     */
+    FULL
+}